@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of the scratch buffers {@link IOUtils} and {@link FileUtils} use to copy, compare and skip data.
+ * <p>
+ * Methods that do not take a buffer from the caller borrow one from the {@link #getDefault() default pool}
+ * and return it when they are done, instead of allocating a new array on every call. The default pool keeps
+ * a couple of buffers per thread. Applications can install a {@link #bounded(int, int) bounded shared pool},
+ * an {@link #unpooled(int) unpooled} one, or their own subclass with {@link #setDefault(BufferPool)}.
+ * </p>
+ * <p>
+ * A pool only ever hands out buffers of its {@link #getBufferSize() buffer size}. Borrowed buffers are not
+ * cleared, and must not be used after they have been returned.
+ * </p>
+ * <p>
+ * Subclasses implement the four <code>poll</code> and <code>offer</code> methods, which must be thread-safe;
+ * counting hits and misses and allocating on a miss is done here.
+ * </p>
+ *
+ * @since 2.7
+ */
+public abstract class BufferPool {
+
+    /**
+     * The buffer size ({@value}) of the initial default pool.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 4;
+
+    private static volatile BufferPool defaultPool = threadLocal(DEFAULT_BUFFER_SIZE);
+
+    /**
+     * Gets the pool used by {@link IOUtils} and {@link FileUtils}.
+     *
+     * @return the default pool, never null
+     */
+    public static BufferPool getDefault() {
+        return defaultPool;
+    }
+
+    /**
+     * Sets the pool used by {@link IOUtils} and {@link FileUtils}.
+     * <p>
+     * Buffers borrowed from the previous pool are still returned to it.
+     * </p>
+     *
+     * @param pool the new default pool, must not be null
+     * @throws NullPointerException if the pool is null
+     */
+    public static void setDefault(final BufferPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("Pool must not be null");
+        }
+        defaultPool = pool;
+    }
+
+    /**
+     * Creates a pool that keeps up to two byte and two char buffers for each thread.
+     * <p>
+     * Borrowing and returning never contend with other threads. Only arrays of the JDK are stored in the
+     * thread-local, so a thread outliving the class loader of this library does not keep it alive.
+     * </p>
+     *
+     * @param bufferSize the size of the buffers
+     * @return a new thread-local pool
+     * @throws IllegalArgumentException if the buffer size is not positive
+     */
+    public static BufferPool threadLocal(final int bufferSize) {
+        return new ThreadLocalBufferPool(bufferSize);
+    }
+
+    /**
+     * Creates a pool shared by all threads that keeps at most <code>capacity</code> buffers of each kind.
+     * Buffers returned to a full pool are dropped.
+     *
+     * @param bufferSize the size of the buffers
+     * @param capacity the maximum number of byte buffers, and of char buffers, to keep
+     * @return a new bounded pool
+     * @throws IllegalArgumentException if the buffer size or capacity is not positive
+     */
+    public static BufferPool bounded(final int bufferSize, final int capacity) {
+        return new BoundedBufferPool(bufferSize, capacity);
+    }
+
+    /**
+     * Creates a pool that keeps nothing and allocates a new buffer on every borrow,
+     * which is how this library behaved before pooling.
+     *
+     * @param bufferSize the size of the buffers
+     * @return a new unpooled pool
+     * @throws IllegalArgumentException if the buffer size is not positive
+     */
+    public static BufferPool unpooled(final int bufferSize) {
+        return new UnpooledBufferPool(bufferSize);
+    }
+
+    private final int bufferSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a pool of buffers of the given size.
+     *
+     * @param bufferSize the size of the buffers
+     * @throws IllegalArgumentException if the buffer size is not positive
+     */
+    protected BufferPool(final int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Gets the size of the buffers of this pool.
+     *
+     * @return the buffer size
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Gets the number of borrows served by a pooled buffer.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of borrows that had to allocate a new buffer.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Borrows a byte buffer of {@link #getBufferSize()} bytes.
+     *
+     * @return a pooled or new buffer
+     */
+    public byte[] borrowBytes() {
+        final byte[] buffer = pollBytes();
+        if (buffer != null) {
+            hits.increment();
+            return buffer;
+        }
+        misses.increment();
+        return new byte[bufferSize];
+    }
+
+    /**
+     * Returns a byte buffer borrowed from this pool.
+     *
+     * @param buffer the buffer, buffers of another size and null are ignored
+     */
+    public void returnBytes(final byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            offerBytes(buffer);
+        }
+    }
+
+    /**
+     * Borrows a char buffer of {@link #getBufferSize()} chars.
+     *
+     * @return a pooled or new buffer
+     */
+    public char[] borrowChars() {
+        final char[] buffer = pollChars();
+        if (buffer != null) {
+            hits.increment();
+            return buffer;
+        }
+        misses.increment();
+        return new char[bufferSize];
+    }
+
+    /**
+     * Returns a char buffer borrowed from this pool.
+     *
+     * @param buffer the buffer, buffers of another size and null are ignored
+     */
+    public void returnChars(final char[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            offerChars(buffer);
+        }
+    }
+
+    /**
+     * Removes a byte buffer from the pool.
+     *
+     * @return a buffer of {@link #getBufferSize()} bytes, or null if the pool has none
+     */
+    protected abstract byte[] pollBytes();
+
+    /**
+     * Adds a byte buffer to the pool, or drops it if the pool is full.
+     *
+     * @param buffer a buffer of {@link #getBufferSize()} bytes
+     */
+    protected abstract void offerBytes(byte[] buffer);
+
+    /**
+     * Removes a char buffer from the pool.
+     *
+     * @return a buffer of {@link #getBufferSize()} chars, or null if the pool has none
+     */
+    protected abstract char[] pollChars();
+
+    /**
+     * Adds a char buffer to the pool, or drops it if the pool is full.
+     *
+     * @param buffer a buffer of {@link #getBufferSize()} chars
+     */
+    protected abstract void offerChars(char[] buffer);
+
+    /**
+     * Provides a String representation of this pool.
+     *
+     * @return a String representation
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[bufferSize=" + bufferSize + ", hits=" + getHits() + ", misses="
+                + getMisses() + "]";
+    }
+
+    /**
+     * Keeps a few buffers in thread-local slots.
+     */
+    private static final class ThreadLocalBufferPool extends BufferPool {
+
+        /** Enough for the methods that need two buffers at once, such as contentEquals. */
+        private static final int SLOTS = 2;
+
+        private final ThreadLocal<byte[][]> bytes = new ThreadLocal<>();
+        private final ThreadLocal<char[][]> chars = new ThreadLocal<>();
+
+        ThreadLocalBufferPool(final int bufferSize) {
+            super(bufferSize);
+        }
+
+        @Override
+        protected byte[] pollBytes() {
+            final byte[][] slots = bytes.get();
+            if (slots != null) {
+                // most recently returned first
+                for (int i = SLOTS - 1; i >= 0; i--) {
+                    final byte[] buffer = slots[i];
+                    if (buffer != null) {
+                        slots[i] = null;
+                        return buffer;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected void offerBytes(final byte[] buffer) {
+            byte[][] slots = bytes.get();
+            if (slots == null) {
+                slots = new byte[SLOTS][];
+                bytes.set(slots);
+            }
+            for (int i = 0; i < SLOTS; i++) {
+                if (slots[i] == null) {
+                    slots[i] = buffer;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        protected char[] pollChars() {
+            final char[][] slots = chars.get();
+            if (slots != null) {
+                // most recently returned first
+                for (int i = SLOTS - 1; i >= 0; i--) {
+                    final char[] buffer = slots[i];
+                    if (buffer != null) {
+                        slots[i] = null;
+                        return buffer;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected void offerChars(final char[] buffer) {
+            char[][] slots = chars.get();
+            if (slots == null) {
+                slots = new char[SLOTS][];
+                chars.set(slots);
+            }
+            for (int i = 0; i < SLOTS; i++) {
+                if (slots[i] == null) {
+                    slots[i] = buffer;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps a bounded number of buffers shared by all threads.
+     */
+    private static final class BoundedBufferPool extends BufferPool {
+
+        private final BlockingQueue<byte[]> bytes;
+        private final BlockingQueue<char[]> chars;
+
+        BoundedBufferPool(final int bufferSize, final int capacity) {
+            super(bufferSize);
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+            }
+            bytes = new ArrayBlockingQueue<>(capacity);
+            chars = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        protected byte[] pollBytes() {
+            return bytes.poll();
+        }
+
+        @Override
+        protected void offerBytes(final byte[] buffer) {
+            bytes.offer(buffer);
+        }
+
+        @Override
+        protected char[] pollChars() {
+            return chars.poll();
+        }
+
+        @Override
+        protected void offerChars(final char[] buffer) {
+            chars.offer(buffer);
+        }
+    }
+
+    /**
+     * Keeps nothing.
+     */
+    private static final class UnpooledBufferPool extends BufferPool {
+
+        UnpooledBufferPool(final int bufferSize) {
+            super(bufferSize);
+        }
+
+        @Override
+        protected byte[] pollBytes() {
+            return null;
+        }
+
+        @Override
+        protected void offerBytes(final byte[] buffer) {
+            // dropped
+        }
+
+        @Override
+        protected char[] pollChars() {
+            return null;
+        }
+
+        @Override
+        protected void offerChars(final char[] buffer) {
+            // dropped
+        }
+    }
+}
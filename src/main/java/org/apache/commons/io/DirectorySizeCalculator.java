@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the size of a directory recursively, as {@link FileUtils#sizeOfDirectory(File)} does,
+ * for very large trees.
+ * <p>
+ * Each directory is listed with {@link Files#walkFileTree(Path, java.util.Set, int, java.nio.file.FileVisitor)},
+ * so the type and length of each entry come from the one set of {@link BasicFileAttributes} read by the
+ * listing. Symbolic links are not followed or counted, and the contents of a directory that cannot be read
+ * are not counted, as with {@link FileUtils#sizeOfDirectory(File)}.
+ * </p>
+ * <p>
+ * Given a {@link ForkJoinPool}, subdirectories are measured in parallel. A calculator may also count each
+ * file with several hard links once, by its {@link BasicFileAttributes#fileKey() file key}; this keeps the
+ * key of every file measured in memory until the count is finished. Files without a key, as on Windows, are
+ * always counted.
+ * </p>
+ * <p>
+ * For long runs, a subclass can override {@link #handleProgress(long, long)}:
+ * </p>
+ * <pre>
+ *  DirectorySizeCalculator calculator = new DirectorySizeCalculator(ForkJoinPool.commonPool(), true) {
+ *      protected void handleProgress(long files, long bytes) {
+ *          ...
+ *      }
+ *  };
+ *  BigInteger used = calculator.sizeOfAsBigInteger(volume);
+ * </pre>
+ * <p>
+ * A calculator has no state between counts and can be used by several threads at once.
+ * </p>
+ *
+ * @see FileUtils#sizeOfDirectory(File)
+ * @since 2.7
+ */
+public class DirectorySizeCalculator {
+
+    private final ForkJoinPool pool;
+    private final boolean countHardLinksOnce;
+
+    /**
+     * Constructs a calculator that counts on the calling thread and counts every link to a file.
+     */
+    public DirectorySizeCalculator() {
+        this(null, false);
+    }
+
+    /**
+     * Constructs a calculator.
+     *
+     * @param pool the pool to measure subdirectories on, null to count on the calling thread
+     * @param countHardLinksOnce whether to count a file with several hard links in the tree once
+     */
+    public DirectorySizeCalculator(final ForkJoinPool pool, final boolean countHardLinksOnce) {
+        this.pool = pool;
+        this.countHardLinksOnce = countHardLinksOnce;
+    }
+
+    /**
+     * Counts the size of a directory recursively (sum of the length of all files).
+     *
+     * @param directory directory to inspect, must not be {@code null}
+     * @return size of directory in bytes, 0 if directory is security restricted, a negative number when the real
+     * total is greater than {@link Long#MAX_VALUE}.
+     * @throws NullPointerException if the directory is {@code null}
+     * @throws IllegalArgumentException if the directory does not exist or is not a directory
+     */
+    public long sizeOf(final File directory) {
+        final Total total = measure(directory);
+        return total.high == 0 ? total.low : -1L;
+    }
+
+    /**
+     * Counts the size of a directory recursively (sum of the length of all files).
+     *
+     * @param directory directory to inspect, must not be {@code null}
+     * @return size of directory in bytes, 0 if directory is security restricted.
+     * @throws NullPointerException if the directory is {@code null}
+     * @throws IllegalArgumentException if the directory does not exist or is not a directory
+     */
+    public BigInteger sizeOfAsBigInteger(final File directory) {
+        return measure(directory).toBigInteger();
+    }
+
+    /**
+     * Overridable callback method invoked after each directory has been listed, with the running
+     * totals of the count.
+     * <p>
+     * When subdirectories are measured in parallel, this method is called from the threads of the
+     * pool, so it must be thread-safe, and should return quickly.
+     * This implementation does nothing.
+     * </p>
+     *
+     * @param files the number of files counted so far
+     * @param bytes the sum of their lengths, which may overflow
+     */
+    protected void handleProgress(final long files, final long bytes) {
+        // do nothing - overridable by subclass
+    }
+
+    private Total measure(final File directory) {
+        if (!directory.exists()) {
+            throw new IllegalArgumentException(directory + " does not exist");
+        }
+        if (!directory.isDirectory()) {
+            throw new IllegalArgumentException(directory + " is not a directory");
+        }
+        final Count count = new Count();
+        Path start = directory.toPath();
+        if (Files.isSymbolicLink(start)) {
+            // the links below the start are skipped, but not the start itself
+            try {
+                start = start.toRealPath();
+            } catch (final IOException e) {
+                return count.total;
+            }
+        }
+        if (pool == null) {
+            count.measure(start, count.total);
+            return count.total;
+        }
+        final Count.Task task = count.new Task(start);
+        pool.invoke(task);
+        return task.total;
+    }
+
+    /**
+     * The state of one count.
+     */
+    private final class Count {
+
+        /** The total of a count on the calling thread. */
+        final Total total = new Total();
+        /** The keys of the files counted, null to count every link. */
+        final Set<Object> fileKeys = countHardLinksOnce ? ConcurrentHashMap.newKeySet() : null;
+        final AtomicLong files = new AtomicLong();
+        final AtomicLong bytes = new AtomicLong();
+
+        /**
+         * Adds the size of a directory to a total.
+         *
+         * @param directory the directory
+         * @param total the total to add to
+         */
+        void measure(final Path directory, final Total total) {
+            final Listing listing = new Listing(directory);
+            try {
+                Files.walkFileTree(directory, Collections.<FileVisitOption>emptySet(), 1, listing);
+            } catch (final IOException e) {
+                // security restricted, as when File.listFiles() returns null
+            }
+            total.add(listing.size);
+            if (listing.files > 0) {
+                handleProgress(files.addAndGet(listing.files), bytes.addAndGet(listing.size.low));
+            }
+            if (listing.subdirectories == null) {
+                return;
+            }
+            if (pool == null) {
+                for (final Path subdirectory : listing.subdirectories) {
+                    measure(subdirectory, total);
+                }
+            } else {
+                final List<Task> tasks = new ArrayList<>(listing.subdirectories.size());
+                for (final Path subdirectory : listing.subdirectories) {
+                    tasks.add(new Task(subdirectory));
+                }
+                RecursiveAction.invokeAll(tasks);
+                for (final Task task : tasks) {
+                    total.add(task.total);
+                }
+            }
+        }
+
+        /**
+         * Measures a directory on a pool.
+         */
+        final class Task extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+
+            private final Path directory;
+            final Total total = new Total();
+
+            Task(final Path directory) {
+                this.directory = directory;
+            }
+
+            @Override
+            protected void compute() {
+                measure(directory, total);
+            }
+        }
+
+        /**
+         * Sums the files of a directory and collects its subdirectories.
+         */
+        private final class Listing extends SimpleFileVisitor<Path> {
+
+            private final Path start;
+            final Total size = new Total();
+            long files;
+            List<Path> subdirectories;
+
+            Listing(final Path start) {
+                this.start = start;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                if (attrs.isSymbolicLink() || file.equals(start)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (attrs.isDirectory()) {
+                    if (subdirectories == null) {
+                        subdirectories = new ArrayList<>();
+                    }
+                    subdirectories.add(file);
+                } else {
+                    final Object key = attrs.fileKey();
+                    if (fileKeys == null || key == null || fileKeys.add(key)) {
+                        files++;
+                        size.add(attrs.size());
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                // vanished or unreadable, as File.length() returning 0
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        }
+    }
+
+    /**
+     * An unsigned 128 bit sum, so that totals beyond {@link Long#MAX_VALUE} are exact.
+     */
+    private static final class Total {
+
+        long low;
+        long high;
+
+        void add(final long value) {
+            final long sum = low + value;
+            if (Long.compareUnsigned(sum, low) < 0) {
+                high++;
+            }
+            low = sum;
+        }
+
+        void add(final Total other) {
+            add(other.low);
+            high += other.high;
+        }
+
+        BigInteger toBigInteger() {
+            BigInteger value = BigInteger.valueOf(low & Long.MAX_VALUE);
+            if (low < 0) {
+                value = value.setBit(Long.SIZE - 1);
+            }
+            return high == 0 ? value : BigInteger.valueOf(high).shiftLeft(Long.SIZE).or(value);
+        }
+    }
+}
@@ -19,7 +19,21 @@
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
@@ -44,6 +58,8 @@
  *          {@link FileFilter}(s) with <code>DirectoryWalker</code>.</li>
  *      <li><a href="#cancel">3. Cancellation</a> - how to implement cancellation
  *          behaviour.</li>
+ *      <li><a href="#nio">4. NIO and Parallel Walks</a> - walking with
+ *          <code>java.nio.file</code> and a {@link ForkJoinPool}.</li>
  *   </ul>
  *
  * <h2 id="example">1. Example Implementation</h2>
@@ -261,6 +277,43 @@
  *  }
  * </pre>
  *
+ * <h2 id="nio">4. NIO and Parallel Walks</h2>
+ *
+ * <p>
+ * Subclasses may call <code>walkFileTree()</code> instead of <code>walk()</code>.
+ * It emits the same events, but lists each directory with
+ * {@link Files#walkFileTree(Path, java.util.Set, int, java.nio.file.FileVisitor)}
+ * and takes the directory flag of each child from the attributes read by the listing,
+ * so a child the filter and {@link #filterDirectoryContents} leave in place is not
+ * examined again with {@link File#isDirectory()}. An {@link IOFileFilter} is given the
+ * same attributes through {@link IOFileFilter#accept(Path, BasicFileAttributes)}.
+ * </p>
+ * <p>
+ * Given a {@link ForkJoinPool}, <code>walkFileTree()</code> walks subdirectories
+ * in parallel. The events of one directory still arrive in the usual order, from
+ * <code>handleDirectory()</code> to <code>handleDirectoryEnd()</code> after all its
+ * subdirectories, but events from different directories are interleaved and may
+ * arrive on different threads. The callback methods must therefore be thread-safe;
+ * the results collection passed to them is synchronized. A {@link CancelException}
+ * thrown on any thread stops all workers and is passed to
+ * <code>handleCancelled()</code> on the calling thread.
+ * </p>
+ *
+ * <pre>
+ *  public class ParallelFinder extends DirectoryWalker&lt;File&gt; {
+ *
+ *    public List&lt;File&gt; find(File startDirectory) throws IOException {
+ *      List&lt;File&gt; results = new ArrayList&lt;&gt;();
+ *      walkFileTree(startDirectory, results, ForkJoinPool.commonPool());
+ *      return results;
+ *    }
+ *
+ *    protected void handleFile(File file, int depth, Collection&lt;File&gt; results) {
+ *      results.add(file);
+ *    }
+ *  }
+ * </pre>
+ *
  * @since 1.3
  *
  */
@@ -395,6 +448,251 @@ private void walk(final File directory, final int depth, final Collection<T> res
         checkIfCancelled(directory, depth, results);
     }
 
+    /**
+     * Internal method that walks the directory hierarchy in a depth-first manner,
+     * listing directories with {@link Files#walkFileTree}.
+     * <p>
+     * This method emits the same events in the same order as {@link #walk(File, Collection)},
+     * but does not call {@link File#isDirectory()} on the files listed.
+     * See <a href="#nio">NIO and Parallel Walks</a>.
+     * </p>
+     *
+     * @param startDirectory  the directory to start from, not null
+     * @param results  the collection of result objects, may be updated
+     * @throws NullPointerException if the start directory is null
+     * @throws IOException if an I/O Error occurs
+     * @since 2.7
+     */
+    protected final void walkFileTree(final File startDirectory, final Collection<T> results) throws IOException {
+        walkFileTree(startDirectory, results, null);
+    }
+
+    /**
+     * Internal method that walks the directory hierarchy, listing directories with
+     * {@link Files#walkFileTree} and walking subdirectories in parallel on a pool.
+     * <p>
+     * The callback methods are invoked from the threads of the pool and receive a
+     * synchronized view of the results. See <a href="#nio">NIO and Parallel Walks</a>.
+     * </p>
+     *
+     * @param startDirectory  the directory to start from, not null
+     * @param results  the collection of result objects, may be updated
+     * @param pool  the pool to walk subdirectories on, null to walk on the calling thread
+     * @throws NullPointerException if the start directory is null
+     * @throws IOException if an I/O Error occurs
+     * @since 2.7
+     */
+    protected final void walkFileTree(final File startDirectory, final Collection<T> results,
+            final ForkJoinPool pool) throws IOException {
+        if (startDirectory == null) {
+            throw new NullPointerException("Start Directory is null");
+        }
+        final Collection<T> shared = pool == null ? results : Collections.synchronizedCollection(results);
+        try {
+            handleStart(startDirectory, shared);
+            if (pool == null) {
+                walkFileTree(startDirectory, 0, shared, null);
+            } else {
+                final AtomicReference<IOException> failure = new AtomicReference<>();
+                pool.invoke(new WalkTask(startDirectory, 0, shared, failure));
+                final IOException e = failure.get();
+                if (e != null) {
+                    throw e;
+                }
+            }
+            handleEnd(shared);
+        } catch(final CancelException cancel) {
+            handleCancelled(startDirectory, shared, cancel);
+        }
+    }
+
+    /**
+     * Recursive method to examine the directory hierarchy with NIO.
+     *
+     * @param directory  the directory to examine, not null
+     * @param depth  the directory level (starting directory = 0)
+     * @param results  the collection of result objects, may be updated
+     * @param failure  the first failure of a parallel walk, null for a sequential walk
+     * @throws IOException if an I/O Error occurs
+     */
+    private void walkFileTree(final File directory, final int depth, final Collection<T> results,
+            final AtomicReference<IOException> failure) throws IOException {
+        checkFailure(failure);
+        checkIfCancelled(directory, depth, results);
+        if (handleDirectory(directory, depth, results)) {
+            handleDirectoryStart(directory, depth, results);
+            final int childDepth = depth + 1;
+            if (depthLimit < 0 || childDepth <= depthLimit) {
+                checkIfCancelled(directory, depth, results);
+                final Listing listing = list(directory);
+                File[] childFiles = listing == null ? null : listing.files;
+                childFiles = filterDirectoryContents(directory, depth, childFiles);
+                if (childFiles == null) {
+                    handleRestricted(directory, childDepth, results);
+                } else {
+                    // the flags are only known to match if the array came back unchanged
+                    final boolean[] dirs = listing != null && childFiles == listing.files ? listing.directories : null;
+                    List<WalkTask> tasks = null;
+                    for (int i = 0; i < childFiles.length; i++) {
+                        final File childFile = childFiles[i];
+                        if (dirs != null ? dirs[i] : childFile.isDirectory()) {
+                            if (failure == null) {
+                                walkFileTree(childFile, childDepth, results, null);
+                            } else {
+                                if (tasks == null) {
+                                    tasks = new ArrayList<>();
+                                }
+                                tasks.add(new WalkTask(childFile, childDepth, results, failure));
+                            }
+                        } else {
+                            checkIfCancelled(childFile, childDepth, results);
+                            handleFile(childFile, childDepth, results);
+                            checkIfCancelled(childFile, childDepth, results);
+                        }
+                    }
+                    if (tasks != null) {
+                        RecursiveAction.invokeAll(tasks);
+                        checkFailure(failure);
+                    }
+                }
+            }
+            handleDirectoryEnd(directory, depth, results);
+        }
+        checkIfCancelled(directory, depth, results);
+    }
+
+    /**
+     * Rethrows the failure of another worker of a parallel walk, if any.
+     *
+     * @param failure  the first failure of a parallel walk, null for a sequential walk
+     * @throws IOException the failure
+     */
+    private static void checkFailure(final AtomicReference<IOException> failure) throws IOException {
+        if (failure != null) {
+            final IOException e = failure.get();
+            if (e != null) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Lists a directory, applying the filter.
+     *
+     * @param directory  the directory to list
+     * @return the listing, null if the directory cannot be listed
+     */
+    private Listing list(final File directory) {
+        final Listing listing = new Listing(directory.toPath());
+        try {
+            Files.walkFileTree(listing.start, EnumSet.of(FileVisitOption.FOLLOW_LINKS), 1, listing);
+        } catch (final IOException e) {
+            return null;
+        }
+        if (listing.failed) {
+            return null;
+        }
+        listing.files = Arrays.copyOf(listing.files, listing.size);
+        return listing;
+    }
+
+    /**
+     * Collects the children of a directory with their directory flags.
+     */
+    private final class Listing extends SimpleFileVisitor<Path> {
+
+        /** The directory being listed. */
+        final Path start;
+        File[] files = new File[16];
+        boolean[] directories = new boolean[16];
+        int size;
+        /** Whether the directory could not be listed. */
+        boolean failed;
+
+        Listing(final Path start) {
+            this.start = start;
+        }
+
+        @Override
+        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+            if (file.equals(start)) {
+                // not a directory
+                failed = true;
+            } else if (filter instanceof IOFileFilter) {
+                if (((IOFileFilter) filter).accept(file, attrs)) {
+                    add(file.toFile(), attrs.isDirectory());
+                }
+            } else {
+                addIfAccepted(file.toFile(), attrs.isDirectory());
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+            if (file.equals(start)) {
+                failed = true;
+            } else {
+                // as File.isDirectory() would answer
+                addIfAccepted(file.toFile(), false);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) {
+            if (exc != null) {
+                failed = true;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        private void addIfAccepted(final File file, final boolean directory) {
+            if (filter == null || filter.accept(file)) {
+                add(file, directory);
+            }
+        }
+
+        private void add(final File file, final boolean directory) {
+            if (size == files.length) {
+                files = Arrays.copyOf(files, size << 1);
+                directories = Arrays.copyOf(directories, size << 1);
+            }
+            files[size] = file;
+            directories[size++] = directory;
+        }
+    }
+
+    /**
+     * Walks a subdirectory of a parallel walk, recording the first failure of any worker.
+     */
+    private final class WalkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final File directory;
+        private final int depth;
+        private final Collection<T> results;
+        private final AtomicReference<IOException> failure;
+
+        WalkTask(final File directory, final int depth, final Collection<T> results,
+                final AtomicReference<IOException> failure) {
+            this.directory = directory;
+            this.depth = depth;
+            this.results = results;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                walkFileTree(directory, depth, results, failure);
+            } catch (final IOException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Checks whether the walk has been cancelled by calling {@link #handleIsCancelled},
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.File;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Options controlling how {@link FileUtils} copies files.
+ * <p>
+ * Instances are immutable, the <code>with</code> methods return a modified copy:
+ * </p>
+ * <pre>
+ * FileCopyOptions options = FileCopyOptions.DEFAULT.withVerification(FileCopyOptions.Verification.CHECKSUM);
+ * FileUtils.copyFile(srcFile, destFile, options);
+ * </pre>
+ *
+ * @see FileUtils#copyFile(File, File, FileCopyOptions)
+ * @since 2.7
+ */
+public final class FileCopyOptions {
+
+    /**
+     * How a copied file is checked against its source.
+     */
+    public enum Verification {
+
+        /**
+         * The copy is not checked.
+         */
+        NONE,
+
+        /**
+         * The length of the copy is compared with the length of the source.
+         */
+        SIZE,
+
+        /**
+         * A CRC32 of the source is computed while it is copied and compared with a CRC32 of the copy.
+         * The data is copied through the JVM rather than by {@link java.nio.file.Files#copy}, and the
+         * copy is read back once.
+         */
+        CHECKSUM
+    }
+
+    /**
+     * Verifies the size of the copy and preserves attributes. This is the behavior of
+     * {@link FileUtils#copyFile(File, File)}.
+     */
+    public static final FileCopyOptions DEFAULT = new FileCopyOptions(Verification.SIZE, true);
+
+    private final Verification verification;
+    private final boolean preserveAttributes;
+
+    private FileCopyOptions(final Verification verification, final boolean preserveAttributes) {
+        this.verification = verification;
+        this.preserveAttributes = preserveAttributes;
+    }
+
+    /**
+     * Gets how a copied file is checked against its source.
+     *
+     * @return the verification, never null
+     */
+    public Verification getVerification() {
+        return verification;
+    }
+
+    /**
+     * Tests whether the attributes of the source are copied.
+     * <p>
+     * Attributes are copied by {@link StandardCopyOption#COPY_ATTRIBUTES} as part of the copy, which
+     * always includes the last modified time and, depending on the platform, other times and permissions.
+     * With {@link Verification#CHECKSUM} only the last modified, last access and creation times are copied.
+     * </p>
+     *
+     * @return true if attributes are preserved
+     */
+    public boolean isPreserveAttributes() {
+        return preserveAttributes;
+    }
+
+    /**
+     * Returns options with the given verification.
+     *
+     * @param verification how a copied file is checked against its source, must not be null
+     * @return options with the given verification
+     * @throws NullPointerException if verification is null
+     */
+    public FileCopyOptions withVerification(final Verification verification) {
+        if (verification == null) {
+            throw new NullPointerException("Verification must not be null");
+        }
+        return verification == this.verification ? this : new FileCopyOptions(verification, preserveAttributes);
+    }
+
+    /**
+     * Returns options that do or do not preserve attributes.
+     *
+     * @param preserveAttributes whether to copy the attributes of the source
+     * @return options with the given attribute handling
+     */
+    public FileCopyOptions withPreserveAttributes(final boolean preserveAttributes) {
+        return preserveAttributes == this.preserveAttributes ? this
+                : new FileCopyOptions(verification, preserveAttributes);
+    }
+
+    /**
+     * Provides a String representation of these options.
+     *
+     * @return a String representation
+     */
+    @Override
+    public String toString() {
+        return "FileCopyOptions[verification=" + verification + ", preserveAttributes=" + preserveAttributes + "]";
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.io.filefilter.IOFileFilter;
+
+/**
+ * Lazily walks a directory tree depth-first, in the order of
+ * {@link FileUtils#listFiles(File, IOFileFilter, IOFileFilter)}.
+ * <p>
+ * Directories are read on demand with a {@link DirectoryStream}. The frontier holds one open
+ * stream for each directory between the start directory and the current file, so its size is
+ * bounded by the depth of the tree rather than by the number of files. The streams are closed
+ * as each directory is finished, and all at once by {@link #close()}. As with
+ * {@link File#listFiles()}, a directory that cannot be read is treated as empty.
+ * </p>
+ * <p>
+ * The attributes of each entry are read once and passed to
+ * {@link IOFileFilter#accept(Path, BasicFileAttributes)}, so the filters need not read them again.
+ * </p>
+ *
+ * @since 2.7
+ */
+final class FileTreeIterator implements Iterator<File>, Closeable {
+
+    private final IOFileFilter fileFilter;
+    /** The filter of the directories to descend into, null to stay in the start directory. */
+    private final IOFileFilter dirFilter;
+    private final boolean includeDirs;
+
+    private final Deque<DirectoryStream<Path>> streams = new ArrayDeque<>();
+    private final Deque<Iterator<Path>> frontier = new ArrayDeque<>();
+
+    /** The next path to return, null if not found yet. */
+    private Path nextPath;
+    private File nextFile;
+
+    /**
+     * Creates an iterator.
+     *
+     * @param directory the directory to walk, not null
+     * @param fileFilter the filter of the files to return, not null
+     * @param dirFilter the filter of the subdirectories to walk, null for none
+     * @param includeDirs whether to return the start directory and the subdirectories walked
+     */
+    FileTreeIterator(final File directory, final IOFileFilter fileFilter, final IOFileFilter dirFilter,
+            final boolean includeDirs) {
+        this.fileFilter = fileFilter;
+        this.dirFilter = dirFilter;
+        this.includeDirs = includeDirs;
+        final Path start = directory.toPath();
+        if (includeDirs) {
+            nextPath = start;
+            nextFile = directory;
+        }
+        open(start);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextPath != null || advance();
+    }
+
+    @Override
+    public File next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final File file = nextFile;
+        nextPath = null;
+        nextFile = null;
+        return file;
+    }
+
+    /**
+     * Gets a view of this iterator that returns paths.
+     *
+     * @return the paths of the files returned by this iterator
+     */
+    Iterator<Path> paths() {
+        return new Iterator<Path>() {
+            @Override
+            public boolean hasNext() {
+                return FileTreeIterator.this.hasNext();
+            }
+
+            @Override
+            public Path next() {
+                if (!FileTreeIterator.this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Path path = nextPath;
+                nextPath = null;
+                nextFile = null;
+                return path;
+            }
+        };
+    }
+
+    /**
+     * Closes the directory streams still open, ending the iteration.
+     *
+     * @throws UncheckedIOException if a stream cannot be closed
+     */
+    @Override
+    public void close() {
+        nextPath = null;
+        nextFile = null;
+        frontier.clear();
+        IOException failure = null;
+        while (!streams.isEmpty()) {
+            try {
+                streams.pop().close();
+            } catch (final IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    /**
+     * Finds the next file to return, reading directories as needed.
+     *
+     * @return true if a file was found, false if the walk is finished
+     */
+    private boolean advance() {
+        while (!frontier.isEmpty()) {
+            final Iterator<Path> entries = frontier.peek();
+            final Path path;
+            try {
+                if (!entries.hasNext()) {
+                    finishDirectory();
+                    continue;
+                }
+                path = entries.next();
+            } catch (final DirectoryIteratorException e) {
+                // as File.listFiles() ignores what it cannot read
+                finishDirectory();
+                continue;
+            }
+            final BasicFileAttributes attributes = attributes(path);
+            if (attributes == null) {
+                // vanished since it was listed
+                continue;
+            }
+            if (attributes.isDirectory()) {
+                if (dirFilter != null && dirFilter.accept(path, attributes)) {
+                    open(path);
+                    if (includeDirs) {
+                        nextPath = path;
+                        nextFile = path.toFile();
+                        return true;
+                    }
+                }
+            } else if (fileFilter.accept(path, attributes)) {
+                nextPath = path;
+                nextFile = path.toFile();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the attributes of a file once, for both the walk and the filters, following links
+     * as {@link File#isDirectory()} does.
+     *
+     * @param path the file
+     * @return the attributes, those of the link itself for a broken link, null if the file is gone
+     */
+    private static BasicFileAttributes attributes(final Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (final IOException e2) {
+                return null;
+            }
+        }
+    }
+
+    private void open(final Path directory) {
+        final DirectoryStream<Path> stream;
+        try {
+            stream = Files.newDirectoryStream(directory);
+        } catch (final IOException e) {
+            // unreadable, as File.listFiles() returning null
+            return;
+        }
+        streams.push(stream);
+        frontier.push(stream.iterator());
+    }
+
+    private void finishDirectory() {
+        frontier.pop();
+        try {
+            streams.pop().close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -31,16 +31,28 @@
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.CopyOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.zip.CRC32;
 import java.util.zip.CheckedInputStream;
 import java.util.zip.Checksum;
@@ -175,6 +187,28 @@ public FileUtils() {
      */
     public static final File[] EMPTY_FILE_ARRAY = new File[0];
 
+    /**
+     * Files shorter than this ({@value}) are compared by streaming rather than by mapping.
+     */
+    private static final long CONTENT_EQUALS_MAP_THRESHOLD = ONE_MB;
+
+    /**
+     * The size ({@value}) of the window mapped from each file when comparing large files.
+     * Java 8 cannot unmap a buffer explicitly, so a large window keeps the number of live mappings small.
+     */
+    private static final long CONTENT_EQUALS_MAP_SIZE = ONE_MB * 128;
+
+    /**
+     * Options for {@link Files#copy(Path, Path, CopyOption...)} when attributes are preserved.
+     */
+    private static final CopyOption[] COPY_ATTRIBUTES_OPTIONS = {
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES };
+
+    /**
+     * Options for {@link Files#copy(Path, Path, CopyOption...)} when attributes are not preserved.
+     */
+    private static final CopyOption[] REPLACE_OPTIONS = { StandardCopyOption.REPLACE_EXISTING };
+
     //-----------------------------------------------------------------------
     /**
      * Construct a file from the set of name elements.
@@ -629,6 +663,8 @@ private static Collection<File> innerListFilesOrDirectories(
      * All files found are filtered by an IOFileFilter. This method is
      * based on {@link #listFiles(File, IOFileFilter, IOFileFilter)},
      * which supports Iterable ('foreach' loop).
+     * Use {@link #streamFiles(File, IOFileFilter, IOFileFilter)} to read
+     * the directories lazily instead.
      * </p>
      *
      * @param directory  the directory to search in
@@ -653,6 +689,8 @@ public static Iterator<File> iterateFiles(
      * All files found are filtered by an IOFileFilter. This method is
      * based on {@link #listFilesAndDirs(File, IOFileFilter, IOFileFilter)},
      * which supports Iterable ('foreach' loop).
+     * Use {@link #streamFilesAndDirs(File, IOFileFilter, IOFileFilter)} to read
+     * the directories lazily instead.
      * </p>
      * <p>
      * The resulting iterator includes the subdirectories themselves.
@@ -673,6 +711,73 @@ public static Iterator<File> iterateFilesAndDirs(final File directory, final IOF
         return listFilesAndDirs(directory, fileFilter, dirFilter).iterator();
     }
 
+    /**
+     * Streams the files in given directory (and optionally its subdirectories).
+     * <p>
+     * The stream contains the files of {@link #listFiles(File, IOFileFilter, IOFileFilter)},
+     * in the same order. Directories are read lazily as the stream is consumed, with at most
+     * one open directory handle for each level of the tree. The handles are released when the
+     * stream is closed, so the stream should be used in a try-with-resources statement:
+     * </p>
+     * <pre>
+     * try (Stream&lt;Path&gt; paths = FileUtils.streamFiles(dir, fileFilter, TrueFileFilter.INSTANCE)) {
+     *     paths.forEach(...);
+     * }
+     * </pre>
+     *
+     * @param directory  the directory to search in
+     * @param fileFilter filter to apply when finding files.
+     * @param dirFilter  optional filter to apply when finding subdirectories.
+     *                   If this parameter is {@code null}, subdirectories will not be included in the
+     *                   search. Use TrueFileFilter.INSTANCE to match all directories.
+     * @return a sequential stream of the paths of the matching files
+     * @throws IllegalArgumentException if {@code directory} is not a directory
+     * @throws NullPointerException if {@code fileFilter} is null
+     * @see #iterateFiles(File, IOFileFilter, IOFileFilter)
+     * @since 2.7
+     */
+    public static Stream<Path> streamFiles(final File directory, final IOFileFilter fileFilter,
+                                           final IOFileFilter dirFilter) {
+        validateListFilesParameters(directory, fileFilter);
+        return stream(new FileTreeIterator(directory, fileFilter, dirFilter, false));
+    }
+
+    /**
+     * Streams the files in given directory (and optionally its subdirectories),
+     * including the directory and the subdirectories themselves.
+     * <p>
+     * The stream contains the files of {@link #listFilesAndDirs(File, IOFileFilter, IOFileFilter)},
+     * in the same order, and must be closed as described in
+     * {@link #streamFiles(File, IOFileFilter, IOFileFilter)}.
+     * </p>
+     *
+     * @param directory  the directory to search in
+     * @param fileFilter filter to apply when finding files.
+     * @param dirFilter  optional filter to apply when finding subdirectories.
+     *                   If this parameter is {@code null}, subdirectories will not be included in the
+     *                   search. Use TrueFileFilter.INSTANCE to match all directories.
+     * @return a sequential stream of the paths of the matching files and directories
+     * @throws IllegalArgumentException if {@code directory} is not a directory
+     * @throws NullPointerException if {@code fileFilter} is null
+     * @since 2.7
+     */
+    public static Stream<Path> streamFilesAndDirs(final File directory, final IOFileFilter fileFilter,
+                                                  final IOFileFilter dirFilter) {
+        validateListFilesParameters(directory, fileFilter);
+        return stream(new FileTreeIterator(directory, fileFilter, dirFilter, true));
+    }
+
+    /**
+     * Creates a stream of the paths of a tree iterator, which closes the iterator.
+     *
+     * @param iterator the iterator
+     * @return the stream
+     */
+    private static Stream<Path> stream(final FileTreeIterator iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator.paths(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false).onClose(iterator::close);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Converts an array of file extensions to suffixes for use
@@ -702,14 +807,7 @@ private static String[] toSuffixes(final String[] extensions) {
      */
     public static Collection<File> listFiles(
             final File directory, final String[] extensions, final boolean recursive) {
-        IOFileFilter filter;
-        if (extensions == null) {
-            filter = TrueFileFilter.INSTANCE;
-        } else {
-            final String[] suffixes = toSuffixes(extensions);
-            filter = new SuffixFileFilter(suffixes);
-        }
-        return listFiles(directory, filter,
+        return listFiles(directory, extensionFilter(extensions),
                 recursive ? TrueFileFilter.INSTANCE : FalseFileFilter.INSTANCE);
     }
 
@@ -731,13 +829,28 @@ public static Iterator<File> iterateFiles(
         return listFiles(directory, extensions, recursive).iterator();
     }
 
+    /**
+     * Creates a filter of files with the given extensions.
+     *
+     * @param extensions an array of extensions, null for all files
+     * @return the filter
+     */
+    private static IOFileFilter extensionFilter(final String[] extensions) {
+        return extensions == null ? TrueFileFilter.INSTANCE : new SuffixFileFilter(toSuffixes(extensions));
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Compares the contents of two files to determine if they are equal or not.
      * <p>
      * This method checks to see if the two files are different lengths
-     * or if they point to the same file, before resorting to byte-by-byte
-     * comparison of the contents.
+     * or if they point to the same file, before resorting to comparison of
+     * the contents.
+     * </p>
+     * <p>
+     * Small files are compared with {@link IOUtils#contentEquals(InputStream, InputStream)}.
+     * Larger files are mapped into memory a window at a time with {@link FileChannel#map}
+     * and each pair of windows is compared in bulk.
      * </p>
      * <p>
      * Code origin: Avalon
@@ -765,20 +878,58 @@ public static boolean contentEquals(final File file1, final File file2) throws I
             throw new IOException("Can't compare directories, only files");
         }
 
-        if (file1.length() != file2.length()) {
+        final long length = file1.length();
+        if (length != file2.length()) {
             // lengths differ, cannot be equal
             return false;
         }
 
-        if (file1.getCanonicalFile().equals(file2.getCanonicalFile())) {
+        final Path path1 = file1.toPath();
+        final Path path2 = file2.toPath();
+        if (Files.isSameFile(path1, path2)) {
             // same file
             return true;
         }
 
-        try (InputStream input1 = new FileInputStream(file1);
-             InputStream input2 = new FileInputStream(file2)) {
-            return IOUtils.contentEquals(input1, input2);
+        if (length < CONTENT_EQUALS_MAP_THRESHOLD) {
+            try (InputStream input1 = new FileInputStream(file1);
+                 InputStream input2 = new FileInputStream(file2)) {
+                return IOUtils.contentEquals(input1, input2);
+            }
+        }
+
+        try (FileChannel channel1 = FileChannel.open(path1, StandardOpenOption.READ);
+             FileChannel channel2 = FileChannel.open(path2, StandardOpenOption.READ)) {
+            return contentEquals(channel1, channel2);
+        }
+    }
+
+    /**
+     * Compares the contents of two open file channels a mapped window at a time.
+     * The sizes are taken from the channels in case either file changed since it was checked.
+     *
+     * @param channel1 the first channel
+     * @param channel2 the second channel
+     * @return true if the content of the channels are equal
+     * @throws IOException in case of an I/O error
+     */
+    private static boolean contentEquals(final FileChannel channel1, final FileChannel channel2)
+            throws IOException {
+        final long size = channel1.size();
+        if (size != channel2.size()) {
+            return false;
+        }
+        long position = 0;
+        while (position < size) {
+            final long windowSize = Math.min(size - position, CONTENT_EQUALS_MAP_SIZE);
+            final MappedByteBuffer window1 = channel1.map(MapMode.READ_ONLY, position, windowSize);
+            final MappedByteBuffer window2 = channel2.map(MapMode.READ_ONLY, position, windowSize);
+            if (!window1.equals(window2)) {
+                return false;
+            }
+            position += windowSize;
         }
+        return true;
     }
 
     //-----------------------------------------------------------------------
@@ -974,7 +1125,7 @@ public static URL[] toURLs(final File[] files) throws IOException {
      * </p>
      * <p>
      * <strong>Note:</strong> This method tries to preserve the file's last
-     * modified date/times using {@link File#setLastModified(long)}, however
+     * modified date/times using {@link StandardCopyOption#COPY_ATTRIBUTES}, however
      * it is not guaranteed that the operation will succeed.
      * If the modification operation fails, no indication is provided.
      * </p>
@@ -1002,7 +1153,7 @@ public static void copyFileToDirectory(final File srcFile, final File destDir) t
      * <p>
      * <strong>Note:</strong> Setting <code>preserveFileDate</code> to
      * {@code true} tries to preserve the file's last modified
-     * date/times using {@link File#setLastModified(long)}, however it is
+     * date/times using {@link StandardCopyOption#COPY_ATTRIBUTES}, however it is
      * not guaranteed that the operation will succeed.
      * If the modification operation fails, no indication is provided.
      * </p>
@@ -1042,7 +1193,7 @@ public static void copyFileToDirectory(final File srcFile, final File destDir, f
      * </p>
      * <p>
      * <strong>Note:</strong> This method tries to preserve the file's last
-     * modified date/times using {@link File#setLastModified(long)}, however
+     * modified date/times using {@link StandardCopyOption#COPY_ATTRIBUTES}, however
      * it is not guaranteed that the operation will succeed.
      * If the modification operation fails, no indication is provided.
      * </p>
@@ -1073,7 +1224,7 @@ public static void copyFile(final File srcFile, final File destFile) throws IOEx
      * <p>
      * <strong>Note:</strong> Setting <code>preserveFileDate</code> to
      * {@code true} tries to preserve the file's last modified
-     * date/times using {@link File#setLastModified(long)}, however it is
+     * date/times using {@link StandardCopyOption#COPY_ATTRIBUTES}, however it is
      * not guaranteed that the operation will succeed.
      * If the modification operation fails, no indication is provided.
      * </p>
@@ -1089,11 +1240,45 @@ public static void copyFile(final File srcFile, final File destFile) throws IOEx
      * @throws IOException          if the output file length is not the same as the input file length after the copy
      * completes
      * @see #copyFileToDirectory(File, File, boolean)
-     * @see #doCopyFile(File, File, boolean)
+     * @see #copyFile(File, File, FileCopyOptions)
      */
     public static void copyFile(final File srcFile, final File destFile,
                                 final boolean preserveFileDate) throws IOException {
+        copyFile(srcFile, destFile, toFileCopyOptions(preserveFileDate));
+    }
+
+    /**
+     * Copies a file to a new location with the given options.
+     * <p>
+     * This method copies the contents of the specified source file
+     * to the specified destination file.
+     * The directory holding the destination file is created if it does not exist.
+     * If the destination file exists, then this method will overwrite it.
+     * </p>
+     * <p>
+     * The options choose how the copy is checked against the source and
+     * whether the attributes of the source are copied with it. Skipping
+     * verification saves two metadata calls per file, which matters
+     * when copying many small files over a network file system.
+     * </p>
+     *
+     * @param srcFile  an existing file to copy, must not be {@code null}
+     * @param destFile the new file, must not be {@code null}
+     * @param options  how to copy the file, must not be {@code null}
+     *
+     * @throws NullPointerException if source, destination or options is {@code null}
+     * @throws IOException          if source or destination is invalid
+     * @throws IOException          if an IO error occurs during copying
+     * @throws IOException          if the copy fails the verification requested by the options
+     * @see FileCopyOptions#DEFAULT
+     * @since 2.7
+     */
+    public static void copyFile(final File srcFile, final File destFile,
+                                final FileCopyOptions options) throws IOException {
         checkFileRequirements(srcFile, destFile);
+        if (options == null) {
+            throw new NullPointerException("Options must not be null");
+        }
         if (srcFile.isDirectory()) {
             throw new IOException("Source '" + srcFile + "' exists but is a directory");
         }
@@ -1109,7 +1294,7 @@ public static void copyFile(final File srcFile, final File destFile,
         if (destFile.exists() && destFile.canWrite() == false) {
             throw new IOException("Destination '" + destFile + "' exists but is read-only");
         }
-        doCopyFile(srcFile, destFile, preserveFileDate);
+        doCopyFile(srcFile, destFile, options);
     }
 
     /**
@@ -1139,32 +1324,87 @@ public static long copyFile(final File input, final OutputStream output) throws
      * It may also fail with "IllegalArgumentException: Negative size" if the input file is truncated part way
      * through copying the data and the new file size is less than the current position.
      *
-     * @param srcFile          the validated source file, must not be {@code null}
-     * @param destFile         the validated destination file, must not be {@code null}
-     * @param preserveFileDate whether to preserve the file date
+     * @param srcFile  the validated source file, must not be {@code null}
+     * @param destFile the validated destination file, must not be {@code null}
+     * @param options  how to copy the file, must not be {@code null}
      * @throws IOException              if an error occurs
-     * @throws IOException              if the output file length is not the same as the input file length after the
-     * copy completes
+     * @throws IOException              if the copy fails the verification requested by the options
      * @throws IllegalArgumentException "Negative size" if the file is truncated so that the size is less than the
      * position
      */
-    private static void doCopyFile(final File srcFile, final File destFile, final boolean preserveFileDate)
+    static void doCopyFile(final File srcFile, final File destFile, final FileCopyOptions options)
             throws IOException {
-        if (destFile.exists() && destFile.isDirectory()) {
+        if (destFile.isDirectory()) {
             throw new IOException("Destination '" + destFile + "' exists but is a directory");
         }
 
         final Path srcPath = srcFile.toPath();
         final Path destPath = destFile.toPath();
-        final long newLastModifed = preserveFileDate ? srcFile.lastModified() : destFile.lastModified();
-        Files.copy(srcPath, destPath, StandardCopyOption.REPLACE_EXISTING);
+        switch (options.getVerification()) {
+        case CHECKSUM:
+            doCopyFileWithChecksum(srcFile, destFile, options.isPreserveAttributes());
+            break;
+        case SIZE:
+            Files.copy(srcPath, destPath, toNioCopyOptions(options));
+            checkEqualSizes(srcFile, destFile, srcFile.length(), destFile.length());
+            break;
+        default:
+            Files.copy(srcPath, destPath, toNioCopyOptions(options));
+            break;
+        }
+    }
+
+    /**
+     * Copies a file through the JVM, computing the CRC32 of the source as it is read, then checks
+     * it against the CRC32 of the copy.
+     *
+     * @param srcFile            the validated source file, must not be {@code null}
+     * @param destFile           the validated destination file, must not be {@code null}
+     * @param preserveAttributes whether to copy the times of the source
+     * @throws IOException if an error occurs or the checksums differ
+     */
+    private static void doCopyFileWithChecksum(final File srcFile, final File destFile,
+            final boolean preserveAttributes) throws IOException {
+        final Path srcPath = srcFile.toPath();
+        final Path destPath = destFile.toPath();
+        // read before copying, the copy itself may update the access time
+        final BasicFileAttributes srcAttributes = preserveAttributes
+                ? Files.readAttributes(srcPath, BasicFileAttributes.class) : null;
+        final Checksum srcChecksum = new CRC32();
+        try (InputStream input = new CheckedInputStream(Files.newInputStream(srcPath), srcChecksum);
+             OutputStream output = Files.newOutputStream(destPath)) {
+            IOUtils.copyLarge(input, output);
+        }
+        final long expected = srcChecksum.getValue();
+        final long actual = checksumCRC32(destFile);
+        if (expected != actual) {
+            throw new IOException("Failed to copy full contents from '" + srcFile + "' to '" + destFile
+                    + "' Expected CRC32: " + expected + " Actual: " + actual);
+        }
+        if (srcAttributes != null) {
+            Files.getFileAttributeView(destPath, BasicFileAttributeView.class).setTimes(
+                    srcAttributes.lastModifiedTime(), srcAttributes.lastAccessTime(), srcAttributes.creationTime());
+        }
+    }
 
-        // TODO IO-386: Do we still need this check?
-        checkEqualSizes(srcFile, destFile, Files.size(srcPath), Files.size(destPath));
-        // TODO IO-386: Do we still need this check?
-        checkEqualSizes(srcFile, destFile, srcFile.length(), destFile.length());
+    /**
+     * Converts the legacy <code>preserveFileDate</code> flag to copy options.
+     *
+     * @param preserveFileDate whether to preserve the file date
+     * @return the matching copy options
+     */
+    private static FileCopyOptions toFileCopyOptions(final boolean preserveFileDate) {
+        return FileCopyOptions.DEFAULT.withPreserveAttributes(preserveFileDate);
+    }
 
-        destFile.setLastModified(newLastModifed);
+    /**
+     * Converts copy options to the options of {@link Files#copy(Path, Path, CopyOption...)}.
+     *
+     * @param options the copy options
+     * @return the NIO copy options
+     */
+    private static CopyOption[] toNioCopyOptions(final FileCopyOptions options) {
+        return options.isPreserveAttributes() ? COPY_ATTRIBUTES_OPTIONS : REPLACE_OPTIONS;
     }
 
     /**
@@ -1393,6 +1633,132 @@ public static void copyDirectory(final File srcDir, final File destDir,
      */
     public static void copyDirectory(final File srcDir, final File destDir,
                                      final FileFilter filter, final boolean preserveFileDate) throws IOException {
+        copyDirectory(srcDir, destDir, filter, toFileCopyOptions(preserveFileDate));
+    }
+
+    /**
+     * Copies a filtered directory to a new location with the given file copy options.
+     * <p>
+     * This method behaves like {@link #copyDirectory(File, File, FileFilter, boolean)},
+     * copying each file as {@link #copyFile(File, File, FileCopyOptions)} does.
+     * When the options preserve attributes, the last modified date of each
+     * directory is copied as well.
+     * </p>
+     *
+     * @param srcDir  an existing directory to copy, must not be {@code null}
+     * @param destDir the new directory, must not be {@code null}
+     * @param filter  the filter to apply, null means copy all directories and files
+     * @param options how to copy each file, must not be {@code null}
+     *
+     * @throws NullPointerException if source, destination or options is {@code null}
+     * @throws IOException          if source or destination is invalid
+     * @throws IOException          if an IO error occurs during copying
+     * @since 2.7
+     */
+    public static void copyDirectory(final File srcDir, final File destDir,
+                                     final FileFilter filter, final FileCopyOptions options) throws IOException {
+        if (options == null) {
+            throw new NullPointerException("Options must not be null");
+        }
+        final List<String> exclusionList = checkDirectoryRequirements(srcDir, destDir, filter);
+        doCopyDirectory(srcDir, destDir, filter, options, exclusionList);
+    }
+
+    /**
+     * Copies a filtered directory to a new location, copying subdirectories and
+     * files concurrently on the given executor.
+     * <p>
+     * This method behaves like {@link #copyDirectory(File, File, FileFilter, boolean)},
+     * except that the tree is copied by many tasks at once: one per directory,
+     * which lists it and creates its destination, and one per file. This keeps
+     * fast or high-latency devices busy when copying many small files.
+     * Tasks never wait for each other, so any executor can be used; with a
+     * {@link java.util.concurrent.ForkJoinPool} idle workers steal pending
+     * subtrees from busy ones. This method returns once every task has finished.
+     * </p>
+     * <p>
+     * Unlike the sequential copy, a file or directory that cannot be copied does
+     * not stop the copy. The rest of the tree is still copied, and the failures
+     * are then thrown together as an {@link IOExceptionList}.
+     * </p>
+     * <p>
+     * <strong>Note:</strong> Setting <code>preserveFileDate</code> to
+     * {@code true} tries to preserve the files' last modified
+     * date/times using {@link File#setLastModified(long)}, however it is
+     * not guaranteed that those operations will succeed.
+     * If the modification operation fails, no indication is provided.
+     * </p>
+     * <b>Example: Copy on eight threads</b>
+     * <pre>
+     *  ForkJoinPool pool = new ForkJoinPool(8);
+     *  try {
+     *      FileUtils.copyDirectory(srcDir, destDir, null, true, pool);
+     *  } finally {
+     *      pool.shutdown();
+     *  }
+     *  </pre>
+     *
+     * @param srcDir           an existing directory to copy, must not be {@code null}
+     * @param destDir          the new directory, must not be {@code null}
+     * @param filter           the filter to apply, null means copy all directories and files
+     * @param preserveFileDate true if the file date of the copy
+     *                         should be the same as the original
+     * @param executor         the executor to run the copy tasks on, must not be {@code null}
+     *
+     * @throws NullPointerException    if source, destination or executor is {@code null}
+     * @throws IOException             if source or destination is invalid
+     * @throws IOExceptionList         if one or more files or directories could not be copied
+     * @throws java.io.InterruptedIOException if the calling thread is interrupted while waiting for the copy
+     * @since 2.7
+     */
+    public static void copyDirectory(final File srcDir, final File destDir, final FileFilter filter,
+                                     final boolean preserveFileDate, final Executor executor) throws IOException {
+        copyDirectory(srcDir, destDir, filter, toFileCopyOptions(preserveFileDate), executor);
+    }
+
+    /**
+     * Copies a filtered directory to a new location with the given file copy options,
+     * copying subdirectories and files concurrently on the given executor.
+     * <p>
+     * This method behaves like {@link #copyDirectory(File, File, FileFilter, boolean, Executor)},
+     * copying each file as {@link #copyFile(File, File, FileCopyOptions)} does.
+     * </p>
+     *
+     * @param srcDir   an existing directory to copy, must not be {@code null}
+     * @param destDir  the new directory, must not be {@code null}
+     * @param filter   the filter to apply, null means copy all directories and files
+     * @param options  how to copy each file, must not be {@code null}
+     * @param executor the executor to run the copy tasks on, must not be {@code null}
+     *
+     * @throws NullPointerException    if source, destination, options or executor is {@code null}
+     * @throws IOException             if source or destination is invalid
+     * @throws IOExceptionList         if one or more files or directories could not be copied
+     * @throws java.io.InterruptedIOException if the calling thread is interrupted while waiting for the copy
+     * @since 2.7
+     */
+    public static void copyDirectory(final File srcDir, final File destDir, final FileFilter filter,
+                                     final FileCopyOptions options, final Executor executor) throws IOException {
+        if (options == null) {
+            throw new NullPointerException("Options must not be null");
+        }
+        if (executor == null) {
+            throw new NullPointerException("Executor must not be null");
+        }
+        final List<String> exclusionList = checkDirectoryRequirements(srcDir, destDir, filter);
+        new ParallelDirectoryCopier(filter, options, exclusionList, executor).copy(srcDir, destDir);
+    }
+
+    /**
+     * Checks requirements for directory copy.
+     *
+     * @param srcDir  the source directory
+     * @param destDir the destination directory
+     * @param filter  the filter to apply, null means copy all directories and files
+     * @return the canonical paths to exclude from the copy, or null if there are none
+     * @throws IOException if source or destination is invalid
+     */
+    private static List<String> checkDirectoryRequirements(final File srcDir, final File destDir,
+                                                           final FileFilter filter) throws IOException {
         checkFileRequirements(srcDir, destDir);
         if (!srcDir.isDirectory()) {
             throw new IOException("Source '" + srcDir + "' exists but is not a directory");
@@ -1413,7 +1779,7 @@ public static void copyDirectory(final File srcDir, final File destDir,
                 }
             }
         }
-        doCopyDirectory(srcDir, destDir, filter, preserveFileDate, exclusionList);
+        return exclusionList;
     }
 
     /**
@@ -1441,13 +1807,13 @@ private static void checkFileRequirements(final File src, final File dest) throw
      * @param srcDir           the validated source directory, must not be {@code null}
      * @param destDir          the validated destination directory, must not be {@code null}
      * @param filter           the filter to apply, null means copy all directories and files
-     * @param preserveFileDate whether to preserve the file date
+     * @param options          how to copy each file
      * @param exclusionList    List of files and directories to exclude from the copy, may be null
      * @throws IOException if an error occurs
      * @since 1.1
      */
     private static void doCopyDirectory(final File srcDir, final File destDir, final FileFilter filter,
-                                        final boolean preserveFileDate, final List<String> exclusionList)
+                                        final FileCopyOptions options, final List<String> exclusionList)
             throws IOException {
         // recurse
         final File[] srcFiles = filter == null ? srcDir.listFiles() : srcDir.listFiles(filter);
@@ -1470,15 +1836,15 @@ private static void doCopyDirectory(final File srcDir, final File destDir, final
             final File dstFile = new File(destDir, srcFile.getName());
             if (exclusionList == null || !exclusionList.contains(srcFile.getCanonicalPath())) {
                 if (srcFile.isDirectory()) {
-                    doCopyDirectory(srcFile, dstFile, filter, preserveFileDate, exclusionList);
+                    doCopyDirectory(srcFile, dstFile, filter, options, exclusionList);
                 } else {
-                    doCopyFile(srcFile, dstFile, preserveFileDate);
+                    doCopyFile(srcFile, dstFile, options);
                 }
             }
         }
 
         // Do this last, as the above has probably affected directory metadata
-        if (preserveFileDate) {
+        if (options.isPreserveAttributes()) {
             destDir.setLastModified(srcDir.lastModified());
         }
     }
@@ -1633,7 +1999,7 @@ public static void copyToDirectory(final File src, final File destDir) throws IO
      * </p>
      * <p>
      * <strong>Note:</strong> This method tries to preserve the file's last
-     * modified date/times using {@link File#setLastModified(long)}, however
+     * modified date/times using {@link StandardCopyOption#COPY_ATTRIBUTES}, however
      * it is not guaranteed that the operation will succeed.
      * If the modification operation fails, no indication is provided.
      * </p>
@@ -2662,6 +3028,7 @@ public static BigInteger sizeOfAsBigInteger(final File file) {
      * @return size of directory in bytes, 0 if directory is security restricted, a negative number when the real total
      * is greater than {@link Long#MAX_VALUE}.
      * @throws NullPointerException if the directory is {@code null}
+     * @see DirectorySizeCalculator
      */
     public static long sizeOfDirectory(final File directory) {
         checkDirectory(directory);
@@ -2714,6 +3081,7 @@ private static long sizeOf0(final File file) {
      * @param directory directory to inspect, must not be {@code null}
      * @return size of directory in bytes, 0 if directory is security restricted.
      * @throws NullPointerException if the directory is {@code null}
+     * @see DirectorySizeCalculator
      * @since 2.4
      */
     public static BigInteger sizeOfDirectoryAsBigInteger(final File directory) {
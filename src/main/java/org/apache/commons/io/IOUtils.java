@@ -25,6 +25,8 @@
 import java.io.Closeable;
 import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -41,8 +43,10 @@
 import java.net.URLConnection;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.Selector;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -50,8 +54,8 @@
 import java.util.Objects;
 
 import org.apache.commons.io.output.AppendableWriter;
-import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.apache.commons.io.output.StringBuilderWriter;
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
 
 /**
  * General IO stream manipulation utilities.
@@ -85,11 +89,13 @@
  * <li>{@link #copyLarge(Reader, Writer, long, long, char[])}</li>
  * </ul>
  * For example, {@link #copy(InputStream, OutputStream)} calls {@link #copyLarge(InputStream, OutputStream)}
- * which calls {@link #copy(InputStream, OutputStream, int)} which creates the buffer and calls
+ * which borrows a buffer from the {@link BufferPool#getDefault() default buffer pool} and calls
  * {@link #copyLarge(InputStream, OutputStream, byte[])}.
  * <p>
- * Applications can re-use buffers by using the underlying methods directly.
- * This may improve performance for applications that need to do a lot of copying.
+ * Methods that need a scratch buffer and do not take one as a parameter borrow it from the
+ * default {@link BufferPool}, which by default keeps buffers per thread, so repeated calls do not
+ * allocate. Applications can install another pool with {@link BufferPool#setDefault(BufferPool)},
+ * or re-use their own buffers by using the underlying methods directly.
  * <p>
  * Wherever possible, the methods in this class do <em>not</em> flush or close
  * the stream. This is to avoid making non-portable assumptions about the
@@ -149,23 +155,9 @@ public class IOUtils {
     private static final int DEFAULT_BUFFER_SIZE = 1024 * 4;
 
     /**
-     * The default buffer size to use for the skip() methods.
+     * The maximum number of bytes ({@value}) to ask {@link FileChannel#transferFrom} for at a time.
      */
-    private static final int SKIP_BUFFER_SIZE = 2048;
-
-    // Allocated in the relevant skip method if necessary.
-    /*
-     * These buffers are static and are shared between threads.
-     * This is possible because the buffers are write-only - the contents are never read.
-     *
-     * N.B. there is no need to synchronize when creating these because:
-     * - we don't care if the buffer is created multiple times (the data is ignored)
-     * - we always use the same size buffer, so if it it is recreated it will still be OK
-     * (if the buffer size were variable, we would need to synch. to ensure some other thread
-     * did not create a smaller one)
-     */
-    private static char[] SKIP_CHAR_BUFFER;
-    private static byte[] SKIP_BYTE_BUFFER;
+    private static final long TRANSFER_SIZE = 1024 * 1024 * 8;
 
     /**
      * Returns the given InputStream if it is already a {@link BufferedInputStream}, otherwise creates a
@@ -682,8 +674,9 @@ public static void closeQuietly(final Writer output) {
      * Compares the contents of two Streams to determine if they are equal or
      * not.
      * <p>
-     * This method buffers the input internally using
-     * <code>BufferedInputStream</code> if they are not already buffered.
+     * This method reads both streams a block at a time into buffers borrowed
+     * from the {@link BufferPool#getDefault() default pool}, so there is no need to use a
+     * <code>BufferedInputStream</code>.
      *
      * @param input1 the first stream
      * @param input2 the second stream
@@ -691,38 +684,82 @@ public static void closeQuietly(final Writer output) {
      * exist, false otherwise
      * @throws NullPointerException if either input is null
      * @throws IOException          if an I/O error occurs
+     * @see #contentEquals(InputStream, InputStream, byte[], byte[])
      */
-    public static boolean contentEquals(InputStream input1, InputStream input2)
+    public static boolean contentEquals(final InputStream input1, final InputStream input2)
             throws IOException {
         if (input1 == input2) {
             return true;
         }
-        if (!(input1 instanceof BufferedInputStream)) {
-            input1 = new BufferedInputStream(input1);
-        }
-        if (!(input2 instanceof BufferedInputStream)) {
-            input2 = new BufferedInputStream(input2);
+        final BufferPool pool = BufferPool.getDefault();
+        final byte[] buffer1 = pool.borrowBytes();
+        final byte[] buffer2 = pool.borrowBytes();
+        try {
+            return contentEquals(input1, input2, buffer1, buffer2);
+        } finally {
+            pool.returnBytes(buffer2);
+            pool.returnBytes(buffer1);
         }
+    }
 
-        int ch = input1.read();
-        while (EOF != ch) {
-            final int ch2 = input2.read();
-            if (ch != ch2) {
+    /**
+     * Compares the contents of two Streams to determine if they are equal or
+     * not, using the given buffers.
+     * <p>
+     * Both streams are read a block at a time, the block size being the length
+     * of the shorter buffer, and whole blocks are compared. Reading stops at
+     * the first block that differs. When both streams know their exact remaining
+     * length up front (a <code>ByteArrayInputStream</code>), streams of
+     * different lengths are rejected without reading them.
+     * </p>
+     * <p>
+     * Applications comparing many streams can re-use the buffers between calls.
+     * </p>
+     *
+     * @param input1 the first stream
+     * @param input2 the second stream
+     * @param buffer1 the buffer to read the first stream into
+     * @param buffer2 the buffer to read the second stream into
+     * @return true if the content of the streams are equal or they both don't
+     * exist, false otherwise
+     * @throws NullPointerException     if either input or buffer is null
+     * @throws IllegalArgumentException if either buffer is empty
+     * @throws IOException              if an I/O error occurs
+     * @since 2.7
+     */
+    public static boolean contentEquals(final InputStream input1, final InputStream input2, final byte[] buffer1,
+            final byte[] buffer2) throws IOException {
+        if (input1 == input2) {
+            return true;
+        }
+        final int blockSize = Math.min(buffer1.length, buffer2.length);
+        if (blockSize == 0) {
+            throw new IllegalArgumentException("Buffers must not be empty");
+        }
+        if (input1 instanceof ByteArrayInputStream && input2 instanceof ByteArrayInputStream
+                && input1.available() != input2.available()) {
+            return false;
+        }
+        while (true) {
+            final int count1 = read(input1, buffer1, 0, blockSize);
+            final int count2 = read(input2, buffer2, 0, blockSize);
+            if (count1 != count2 || !regionEquals(buffer1, buffer2, count1)) {
                 return false;
             }
-            ch = input1.read();
+            if (count1 < blockSize) {
+                // both streams are at EOF
+                return true;
+            }
         }
-
-        final int ch2 = input2.read();
-        return ch2 == EOF;
     }
 
     /**
      * Compares the contents of two Readers to determine if they are equal or
      * not.
      * <p>
-     * This method buffers the input internally using
-     * <code>BufferedReader</code> if they are not already buffered.
+     * This method reads both readers a block at a time into buffers borrowed
+     * from the {@link BufferPool#getDefault() default pool}, so there is no need to use a
+     * <code>BufferedReader</code>.
      *
      * @param input1 the first reader
      * @param input2 the second reader
@@ -730,42 +767,84 @@ public static boolean contentEquals(InputStream input1, InputStream input2)
      * exist, false otherwise
      * @throws NullPointerException if either input is null
      * @throws IOException          if an I/O error occurs
+     * @see #contentEquals(Reader, Reader, char[], char[])
      * @since 1.1
      */
-    public static boolean contentEquals(Reader input1, Reader input2)
+    public static boolean contentEquals(final Reader input1, final Reader input2)
             throws IOException {
         if (input1 == input2) {
             return true;
         }
+        final BufferPool pool = BufferPool.getDefault();
+        final char[] buffer1 = pool.borrowChars();
+        final char[] buffer2 = pool.borrowChars();
+        try {
+            return contentEquals(input1, input2, buffer1, buffer2);
+        } finally {
+            pool.returnChars(buffer2);
+            pool.returnChars(buffer1);
+        }
+    }
 
-        input1 = toBufferedReader(input1);
-        input2 = toBufferedReader(input2);
-
-        int ch = input1.read();
-        while (EOF != ch) {
-            final int ch2 = input2.read();
-            if (ch != ch2) {
+    /**
+     * Compares the contents of two Readers to determine if they are equal or
+     * not, using the given buffers.
+     * <p>
+     * Both readers are read a block at a time, the block size being the length
+     * of the shorter buffer, and whole blocks are compared. Reading stops at
+     * the first block that differs.
+     * </p>
+     * <p>
+     * Applications comparing many readers can re-use the buffers between calls.
+     * </p>
+     *
+     * @param input1 the first reader
+     * @param input2 the second reader
+     * @param buffer1 the buffer to read the first reader into
+     * @param buffer2 the buffer to read the second reader into
+     * @return true if the content of the readers are equal or they both don't
+     * exist, false otherwise
+     * @throws NullPointerException     if either input or buffer is null
+     * @throws IllegalArgumentException if either buffer is empty
+     * @throws IOException              if an I/O error occurs
+     * @since 2.7
+     */
+    public static boolean contentEquals(final Reader input1, final Reader input2, final char[] buffer1,
+            final char[] buffer2) throws IOException {
+        if (input1 == input2) {
+            return true;
+        }
+        final int blockSize = Math.min(buffer1.length, buffer2.length);
+        if (blockSize == 0) {
+            throw new IllegalArgumentException("Buffers must not be empty");
+        }
+        while (true) {
+            final int count1 = read(input1, buffer1, 0, blockSize);
+            final int count2 = read(input2, buffer2, 0, blockSize);
+            if (count1 != count2 || !regionEquals(buffer1, buffer2, count1)) {
                 return false;
             }
-            ch = input1.read();
+            if (count1 < blockSize) {
+                // both readers are at EOF
+                return true;
+            }
         }
-
-        final int ch2 = input2.read();
-        return ch2 == EOF;
     }
 
     /**
      * Compares the contents of two Readers to determine if they are equal or
      * not, ignoring EOL characters.
      * <p>
-     * This method buffers the input internally using
-     * <code>BufferedReader</code> if they are not already buffered.
+     * This method reads both readers a block at a time into buffers borrowed
+     * from the {@link BufferPool#getDefault() default pool}, so there is no need to use a
+     * <code>BufferedReader</code>.
      *
      * @param input1 the first reader
      * @param input2 the second reader
      * @return true if the content of the readers are equal (ignoring EOL differences),  false otherwise
      * @throws NullPointerException if either input is null
      * @throws IOException          if an I/O error occurs
+     * @see #contentEqualsIgnoreEOL(Reader, Reader, char[], char[])
      * @since 2.2
      */
     public static boolean contentEqualsIgnoreEOL(final Reader input1, final Reader input2)
@@ -773,16 +852,80 @@ public static boolean contentEqualsIgnoreEOL(final Reader input1, final Reader i
         if (input1 == input2) {
             return true;
         }
-        final BufferedReader br1 = toBufferedReader(input1);
-        final BufferedReader br2 = toBufferedReader(input2);
+        final BufferPool pool = BufferPool.getDefault();
+        final char[] buffer1 = pool.borrowChars();
+        final char[] buffer2 = pool.borrowChars();
+        try {
+            return contentEqualsIgnoreEOL(input1, input2, buffer1, buffer2);
+        } finally {
+            pool.returnChars(buffer2);
+            pool.returnChars(buffer1);
+        }
+    }
+
+    /**
+     * Compares the contents of two Readers to determine if they are equal or
+     * not, ignoring EOL characters, using the given buffers.
+     * <p>
+     * The comparison is line based in the same way as {@link BufferedReader#readLine()}:
+     * <code>"\n"</code>, <code>"\r"</code> and <code>"\r\n"</code> are equivalent line
+     * terminators, and a terminator at the very end of the input is optional.
+     * No line <code>String</code>s are created.
+     * </p>
+     *
+     * @param input1 the first reader
+     * @param input2 the second reader
+     * @param buffer1 the buffer to read the first reader into
+     * @param buffer2 the buffer to read the second reader into
+     * @return true if the content of the readers are equal (ignoring EOL differences),  false otherwise
+     * @throws NullPointerException     if either input or buffer is null
+     * @throws IllegalArgumentException if either buffer is empty
+     * @throws IOException              if an I/O error occurs
+     * @since 2.7
+     */
+    public static boolean contentEqualsIgnoreEOL(final Reader input1, final Reader input2, final char[] buffer1,
+            final char[] buffer2) throws IOException {
+        if (input1 == input2) {
+            return true;
+        }
+        if (buffer1.length == 0 || buffer2.length == 0) {
+            throw new IllegalArgumentException("Buffers must not be empty");
+        }
+        final LineEndNormalizer normalizer1 = new LineEndNormalizer(input1, buffer1);
+        final LineEndNormalizer normalizer2 = new LineEndNormalizer(input2, buffer2);
+        while (true) {
+            final int ch = normalizer1.read();
+            if (ch != normalizer2.read()) {
+                return false;
+            }
+            if (ch == EOF) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Compares the first <code>length</code> bytes of two arrays.
+     */
+    private static boolean regionEquals(final byte[] array1, final byte[] array2, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (array1[i] != array2[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        String line1 = br1.readLine();
-        String line2 = br2.readLine();
-        while (line1 != null && line1.equals(line2)) {
-            line1 = br1.readLine();
-            line2 = br2.readLine();
+    /**
+     * Compares the first <code>length</code> chars of two arrays.
+     */
+    private static boolean regionEquals(final char[] array1, final char[] array2, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (array1[i] != array2[i]) {
+                return false;
+            }
         }
-        return Objects.equals(line1, line2);
+        return true;
     }
 
     /**
@@ -1014,7 +1157,13 @@ public static void copy(final Reader input, final OutputStream output, final Str
      * @since 2.7
      */
     public static long copy(final Reader input, final Appendable output) throws IOException {
-        return copy(input, output, CharBuffer.allocate(DEFAULT_BUFFER_SIZE));
+        final BufferPool pool = BufferPool.getDefault();
+        final char[] buffer = pool.borrowChars();
+        try {
+            return copy(input, output, CharBuffer.wrap(buffer));
+        } finally {
+            pool.returnChars(buffer);
+        }
     }
 
     /**
@@ -1050,7 +1199,7 @@ public static int copy(final Reader input, final Writer output) throws IOExcepti
      * This method buffers the input internally, so there is no need to use a
      * <code>BufferedInputStream</code>.
      * <p>
-     * The buffer size is given by {@link #DEFAULT_BUFFER_SIZE}.
+     * The buffer is borrowed from the {@link BufferPool#getDefault() default pool}.
      *
      * @param input the <code>InputStream</code> to read from
      * @param output the <code>OutputStream</code> to write to
@@ -1061,7 +1210,13 @@ public static int copy(final Reader input, final Writer output) throws IOExcepti
      */
     public static long copyLarge(final InputStream input, final OutputStream output)
             throws IOException {
-        return copy(input, output, DEFAULT_BUFFER_SIZE);
+        final BufferPool pool = BufferPool.getDefault();
+        final byte[] buffer = pool.borrowBytes();
+        try {
+            return copyLarge(input, output, buffer);
+        } finally {
+            pool.returnBytes(buffer);
+        }
     }
 
     /**
@@ -1070,7 +1225,16 @@ public static long copyLarge(final InputStream input, final OutputStream output)
      * <p>
      * This method uses the provided buffer, so there is no need to use a
      * <code>BufferedInputStream</code>.
+     * </p>
      * <p>
+     * When the input is a <code>FileInputStream</code> and the output a
+     * <code>FileOutputStream</code> (the classes themselves, not subclasses),
+     * the bytes are moved by {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+     * instead, which lets the operating system copy them without passing them
+     * through the buffer. Any bytes the input has beyond the size its channel
+     * reports, as with some special files, are then copied through the buffer.
+     * All other streams are copied through the buffer.
+     * </p>
      *
      * @param input the <code>InputStream</code> to read from
      * @param output the <code>OutputStream</code> to write to
@@ -1083,6 +1247,10 @@ public static long copyLarge(final InputStream input, final OutputStream output)
     public static long copyLarge(final InputStream input, final OutputStream output, final byte[] buffer)
             throws IOException {
         long count = 0;
+        if (input.getClass() == FileInputStream.class && output.getClass() == FileOutputStream.class) {
+            count = Math.max(0, transferTo(((FileInputStream) input).getChannel(),
+                    ((FileOutputStream) output).getChannel()));
+        }
         int n;
         while (EOF != (n = input.read(buffer))) {
             output.write(buffer, 0, n);
@@ -1091,6 +1259,99 @@ public static long copyLarge(final InputStream input, final OutputStream output,
         return count;
     }
 
+    /**
+     * Copies the bytes from the current position of a <code>FileChannel</code>
+     * to its end into a <code>WritableByteChannel</code>.
+     * <p>
+     * This method uses {@link FileChannel#transferTo(long, long, WritableByteChannel)},
+     * so the operating system can copy the bytes directly, for example with
+     * <code>sendfile</code> when the output is a <code>SocketChannel</code> or
+     * <code>copy_file_range</code> when it is another <code>FileChannel</code>.
+     * The position of the input is advanced by the number of bytes copied.
+     * </p>
+     * <p>
+     * Streams that are not backed by a channel cannot use this method; copy them with
+     * {@link #copyLarge(InputStream, OutputStream, byte[])}, which goes through a buffer.
+     * </p>
+     *
+     * @param input the <code>FileChannel</code> to read from
+     * @param output the <code>WritableByteChannel</code> to write to, should be in blocking mode
+     * @return the number of bytes copied
+     * @throws NullPointerException if the input or output is null
+     * @throws IOException          if an I/O error occurs
+     * @since 2.7
+     */
+    public static long copyLarge(final FileChannel input, final WritableByteChannel output) throws IOException {
+        final long count = transferTo(input, output);
+        if (count < 0) {
+            throw new IOException("Channel " + input + " does not support positioning");
+        }
+        return count;
+    }
+
+    /**
+     * Copies all bytes from a <code>ReadableByteChannel</code> into a
+     * <code>FileChannel</code>, starting at the position of the output.
+     * <p>
+     * This method uses {@link FileChannel#transferFrom(ReadableByteChannel, long, long)},
+     * so the operating system can copy the bytes directly when the input is
+     * another <code>FileChannel</code>. The position of the output is advanced
+     * by the number of bytes copied.
+     * </p>
+     * <p>
+     * The copy stops when a transfer moves no bytes, which for a channel in
+     * blocking mode means the end of the input has been reached. Channels in
+     * non-blocking mode may stop early.
+     * </p>
+     *
+     * @param input the <code>ReadableByteChannel</code> to read from, should be in blocking mode
+     * @param output the <code>FileChannel</code> to write to
+     * @return the number of bytes copied
+     * @throws NullPointerException if the input or output is null
+     * @throws IOException          if an I/O error occurs
+     * @since 2.7
+     */
+    public static long copyLarge(final ReadableByteChannel input, final FileChannel output) throws IOException {
+        final long start = output.position();
+        long position = start;
+        long n;
+        while ((n = output.transferFrom(input, position, TRANSFER_SIZE)) > 0) {
+            position += n;
+        }
+        output.position(position);
+        return position - start;
+    }
+
+    /**
+     * Transfers the bytes from the current position of a <code>FileChannel</code> to the end
+     * it currently reports, then moves its position past them.
+     *
+     * @param input the channel to read from
+     * @param output the channel to write to
+     * @return the number of bytes copied, or {@link #EOF} if the input cannot be positioned, as with a pipe
+     * @throws IOException if an I/O error occurs
+     */
+    private static long transferTo(final FileChannel input, final WritableByteChannel output) throws IOException {
+        final long start;
+        try {
+            start = input.position();
+        } catch (final IOException e) {
+            // not seekable, for example a pipe: leave it to the buffered copy
+            return EOF;
+        }
+        long position = start;
+        long remaining;
+        while ((remaining = input.size() - position) > 0) {
+            final long n = input.transferTo(position, remaining, output);
+            if (n <= 0) {
+                break;
+            }
+            position += n;
+        }
+        input.position(position);
+        return position - start;
+    }
+
     /**
      * Copies some or all bytes from a large (over 2GB) <code>InputStream</code> to an
      * <code>OutputStream</code>, optionally skipping input bytes.
@@ -1103,7 +1364,7 @@ public static long copyLarge(final InputStream input, final OutputStream output,
      * This means that the method may be considerably less efficient than using the actual skip implementation,
      * this is done to guarantee that the correct number of characters are skipped.
      * </p>
-     * The buffer size is given by {@link #DEFAULT_BUFFER_SIZE}.
+     * The buffer is borrowed from the {@link BufferPool#getDefault() default pool}.
      *
      * @param input the <code>InputStream</code> to read from
      * @param output the <code>OutputStream</code> to write to
@@ -1117,7 +1378,13 @@ public static long copyLarge(final InputStream input, final OutputStream output,
      */
     public static long copyLarge(final InputStream input, final OutputStream output, final long inputOffset,
                                  final long length) throws IOException {
-        return copyLarge(input, output, inputOffset, length, new byte[DEFAULT_BUFFER_SIZE]);
+        final BufferPool pool = BufferPool.getDefault();
+        final byte[] buffer = pool.borrowBytes();
+        try {
+            return copyLarge(input, output, inputOffset, length, buffer);
+        } finally {
+            pool.returnBytes(buffer);
+        }
     }
 
     // read char[]
@@ -1205,7 +1472,7 @@ public static long copy(final Reader input, final Appendable output, final CharB
      * This method buffers the input internally, so there is no need to use a
      * <code>BufferedReader</code>.
      * <p>
-     * The buffer size is given by {@link #DEFAULT_BUFFER_SIZE}.
+     * The buffer is borrowed from the {@link BufferPool#getDefault() default pool}.
      *
      * @param input the <code>Reader</code> to read from
      * @param output the <code>Writer</code> to write to
@@ -1215,7 +1482,13 @@ public static long copy(final Reader input, final Appendable output, final CharB
      * @since 1.3
      */
     public static long copyLarge(final Reader input, final Writer output) throws IOException {
-        return copyLarge(input, output, new char[DEFAULT_BUFFER_SIZE]);
+        final BufferPool pool = BufferPool.getDefault();
+        final char[] buffer = pool.borrowChars();
+        try {
+            return copyLarge(input, output, buffer);
+        } finally {
+            pool.returnChars(buffer);
+        }
     }
 
     // read toString
@@ -1253,7 +1526,7 @@ public static long copyLarge(final Reader input, final Writer output, final char
      * This method buffers the input internally, so there is no need to use a
      * <code>BufferedReader</code>.
      * <p>
-     * The buffer size is given by {@link #DEFAULT_BUFFER_SIZE}.
+     * The buffer is borrowed from the {@link BufferPool#getDefault() default pool}.
      *
      * @param input the <code>Reader</code> to read from
      * @param output the <code>Writer</code> to write to
@@ -1267,7 +1540,13 @@ public static long copyLarge(final Reader input, final Writer output, final char
      */
     public static long copyLarge(final Reader input, final Writer output, final long inputOffset, final long length)
             throws IOException {
-        return copyLarge(input, output, inputOffset, length, new char[DEFAULT_BUFFER_SIZE]);
+        final BufferPool pool = BufferPool.getDefault();
+        final char[] buffer = pool.borrowChars();
+        try {
+            return copyLarge(input, output, inputOffset, length, buffer);
+        } finally {
+            pool.returnChars(buffer);
+        }
     }
 
     /**
@@ -1902,22 +2181,20 @@ public static long skip(final InputStream input, final long toSkip) throws IOExc
         if (toSkip < 0) {
             throw new IllegalArgumentException("Skip count must be non-negative, actual: " + toSkip);
         }
-        /*
-         * N.B. no need to synchronize this because: - we don't care if the buffer is created multiple times (the data
-         * is ignored) - we always use the same size buffer, so if it it is recreated it will still be OK (if the buffer
-         * size were variable, we would need to synch. to ensure some other thread did not create a smaller one)
-         */
-        if (SKIP_BYTE_BUFFER == null) {
-            SKIP_BYTE_BUFFER = new byte[SKIP_BUFFER_SIZE];
-        }
+        final BufferPool pool = BufferPool.getDefault();
+        final byte[] buffer = pool.borrowBytes();
         long remain = toSkip;
-        while (remain > 0) {
-            // See https://issues.apache.org/jira/browse/IO-203 for why we use read() rather than delegating to skip()
-            final long n = input.read(SKIP_BYTE_BUFFER, 0, (int) Math.min(remain, SKIP_BUFFER_SIZE));
-            if (n < 0) { // EOF
-                break;
+        try {
+            while (remain > 0) {
+                // See https://issues.apache.org/jira/browse/IO-203 for why we use read() rather than delegating to skip()
+                final long n = input.read(buffer, 0, (int) Math.min(remain, buffer.length));
+                if (n < 0) { // EOF
+                    break;
+                }
+                remain -= n;
             }
-            remain -= n;
+        } finally {
+            pool.returnBytes(buffer);
         }
         return toSkip - remain;
     }
@@ -1938,16 +2215,22 @@ public static long skip(final ReadableByteChannel input, final long toSkip) thro
         if (toSkip < 0) {
             throw new IllegalArgumentException("Skip count must be non-negative, actual: " + toSkip);
         }
-        final ByteBuffer skipByteBuffer = ByteBuffer.allocate((int) Math.min(toSkip, SKIP_BUFFER_SIZE));
+        final BufferPool pool = BufferPool.getDefault();
+        final byte[] buffer = pool.borrowBytes();
+        final ByteBuffer skipByteBuffer = ByteBuffer.wrap(buffer);
         long remain = toSkip;
-        while (remain > 0) {
-            skipByteBuffer.position(0);
-            skipByteBuffer.limit((int) Math.min(remain, SKIP_BUFFER_SIZE));
-            final int n = input.read(skipByteBuffer);
-            if (n == EOF) {
-                break;
+        try {
+            while (remain > 0) {
+                skipByteBuffer.position(0);
+                skipByteBuffer.limit((int) Math.min(remain, buffer.length));
+                final int n = input.read(skipByteBuffer);
+                if (n == EOF) {
+                    break;
+                }
+                remain -= n;
             }
-            remain -= n;
+        } finally {
+            pool.returnBytes(buffer);
         }
         return toSkip - remain;
     }
@@ -1977,22 +2260,20 @@ public static long skip(final Reader input, final long toSkip) throws IOExceptio
         if (toSkip < 0) {
             throw new IllegalArgumentException("Skip count must be non-negative, actual: " + toSkip);
         }
-        /*
-         * N.B. no need to synchronize this because: - we don't care if the buffer is created multiple times (the data
-         * is ignored) - we always use the same size buffer, so if it it is recreated it will still be OK (if the buffer
-         * size were variable, we would need to synch. to ensure some other thread did not create a smaller one)
-         */
-        if (SKIP_CHAR_BUFFER == null) {
-            SKIP_CHAR_BUFFER = new char[SKIP_BUFFER_SIZE];
-        }
+        final BufferPool pool = BufferPool.getDefault();
+        final char[] buffer = pool.borrowChars();
         long remain = toSkip;
-        while (remain > 0) {
-            // See https://issues.apache.org/jira/browse/IO-203 for why we use read() rather than delegating to skip()
-            final long n = input.read(SKIP_CHAR_BUFFER, 0, (int) Math.min(remain, SKIP_BUFFER_SIZE));
-            if (n < 0) { // EOF
-                break;
+        try {
+            while (remain > 0) {
+                // See https://issues.apache.org/jira/browse/IO-203 for why we use read() rather than delegating to skip()
+                final long n = input.read(buffer, 0, (int) Math.min(remain, buffer.length));
+                if (n < 0) { // EOF
+                    break;
+                }
+                remain -= n;
             }
-            remain -= n;
+        } finally {
+            pool.returnChars(buffer);
         }
         return toSkip - remain;
     }
@@ -2099,7 +2380,7 @@ public static void skipFully(final Reader input, final long toSkip) throws IOExc
      * @since 2.0
      */
     public static InputStream toBufferedInputStream(final InputStream input) throws IOException {
-        return ByteArrayOutputStream.toBufferedInputStream(input);
+        return UnsynchronizedByteArrayOutputStream.toBufferedInputStream(input);
     }
 
     /**
@@ -2125,7 +2406,7 @@ public static InputStream toBufferedInputStream(final InputStream input) throws
      * @since 2.5
      */
     public static InputStream toBufferedInputStream(final InputStream input, final int size) throws IOException {
-        return ByteArrayOutputStream.toBufferedInputStream(input, size);
+        return UnsynchronizedByteArrayOutputStream.toBufferedInputStream(input, size);
     }
 
     /**
@@ -2169,7 +2450,7 @@ public static BufferedReader toBufferedReader(final Reader reader, final int siz
      * @throws IOException          if an I/O error occurs
      */
     public static byte[] toByteArray(final InputStream input) throws IOException {
-        try (final ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+        try (final UnsynchronizedByteArrayOutputStream output = new UnsynchronizedByteArrayOutputStream()) {
             copy(input, output);
             return output.toByteArray();
         }
@@ -2275,7 +2556,7 @@ public static byte[] toByteArray(final Reader input) throws IOException {
      * @since 2.3
      */
     public static byte[] toByteArray(final Reader input, final Charset encoding) throws IOException {
-        try (final ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+        try (final UnsynchronizedByteArrayOutputStream output = new UnsynchronizedByteArrayOutputStream()) {
             copy(input, output, encoding);
             return output.toByteArray();
         }
@@ -3356,4 +3637,54 @@ public static int length(final Object[] array) {
         return array == null ? 0 : array.length;
     }
 
+    /**
+     * Reads a Reader through a buffer, translating every line terminator to <code>'\n'</code>
+     * and supplying a final <code>'\n'</code> if the last line is unterminated.
+     */
+    private static final class LineEndNormalizer {
+
+        private final Reader reader;
+        private final char[] buffer;
+        private int position;
+        private int limit;
+        private int last = EOF;
+        private boolean skipLineFeed;
+
+        LineEndNormalizer(final Reader reader, final char[] buffer) {
+            this.reader = reader;
+            this.buffer = buffer;
+        }
+
+        int read() throws IOException {
+            while (true) {
+                if (position == limit) {
+                    position = 0;
+                    limit = reader.read(buffer, 0, buffer.length);
+                    if (limit == EOF) {
+                        limit = 0;
+                        if (last != EOF && last != '\n') {
+                            last = '\n';
+                            return last;
+                        }
+                        return EOF;
+                    }
+                    continue;
+                }
+                char ch = buffer[position++];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (ch == '\n') {
+                        continue;
+                    }
+                }
+                if (ch == '\r') {
+                    skipLineFeed = true;
+                    ch = '\n';
+                }
+                last = ch;
+                return ch;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copies a directory tree by running one task per directory and one task per file on an {@link Executor}.
+ * <p>
+ * Tasks never wait for each other, so any executor works, including a single thread or a
+ * {@link java.util.concurrent.ForkJoinPool} where subtrees submitted by a worker are stolen by idle workers.
+ * Each directory counts its outstanding children; the last child to finish sets the directory's date (if
+ * requested) and reports to its own parent, so dates are still applied after the contents are written.
+ * </p>
+ * <p>
+ * A failure to list or create a directory skips that subtree, and a failure to copy a file skips that file;
+ * the rest of the tree is still copied and all failures are reported together at the end.
+ * </p>
+ *
+ * @see FileUtils#copyDirectory(File, File, FileFilter, FileCopyOptions, Executor)
+ * @since 2.7
+ */
+final class ParallelDirectoryCopier {
+
+    private final FileFilter filter;
+    private final FileCopyOptions options;
+    private final List<String> exclusionList;
+    private final Executor executor;
+    private final Queue<IOException> failures = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    /**
+     * Creates a copier.
+     *
+     * @param filter           the filter to apply, null means copy all directories and files
+     * @param options          how to copy each file
+     * @param exclusionList    canonical paths of files and directories to exclude from the copy, may be null
+     * @param executor         the executor to run the copy tasks on
+     */
+    ParallelDirectoryCopier(final FileFilter filter, final FileCopyOptions options,
+            final List<String> exclusionList, final Executor executor) {
+        this.filter = filter;
+        this.options = options;
+        this.exclusionList = exclusionList;
+        this.executor = executor;
+    }
+
+    /**
+     * Copies the validated source directory to the destination and waits for all tasks to finish.
+     *
+     * @param srcDir  the validated source directory
+     * @param destDir the validated destination directory
+     * @throws IOExceptionList         if any directory or file could not be copied
+     * @throws InterruptedIOException if the calling thread is interrupted while waiting
+     */
+    void copy(final File srcDir, final File destDir) throws IOException {
+        submit(new DirectoryTask(null, srcDir, destDir));
+        try {
+            done.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while copying '" + srcDir + "' to '" + destDir + "'");
+        }
+        if (!failures.isEmpty()) {
+            throw new IOExceptionList(new ArrayList<>(failures));
+        }
+    }
+
+    private void submit(final Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            // saturated or shut down: keep going on this thread rather than losing the subtree
+            task.run();
+        }
+    }
+
+    /**
+     * Lists a source directory, creates its destination and submits a task for each child.
+     */
+    private final class DirectoryTask implements Runnable {
+
+        private final DirectoryTask parent;
+        private final File srcDir;
+        private final File destDir;
+        /** Children still running, plus one for this task's own listing. */
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private volatile boolean created;
+
+        DirectoryTask(final DirectoryTask parent, final File srcDir, final File destDir) {
+            this.parent = parent;
+            this.srcDir = srcDir;
+            this.destDir = destDir;
+        }
+
+        @Override
+        public void run() {
+            try {
+                final File[] srcFiles = filter == null ? srcDir.listFiles() : srcDir.listFiles(filter);
+                if (srcFiles == null) {  // null if abstract pathname does not denote a directory, or if an I/O error occurs
+                    throw new IOException("Failed to list contents of " + srcDir);
+                }
+                if (destDir.exists()) {
+                    if (destDir.isDirectory() == false) {
+                        throw new IOException("Destination '" + destDir + "' exists but is not a directory");
+                    }
+                } else {
+                    if (!destDir.mkdirs() && !destDir.isDirectory()) {
+                        throw new IOException("Destination '" + destDir + "' directory cannot be created");
+                    }
+                }
+                if (destDir.canWrite() == false) {
+                    throw new IOException("Destination '" + destDir + "' cannot be written to");
+                }
+                created = true;
+                for (final File srcFile : srcFiles) {
+                    final File dstFile = new File(destDir, srcFile.getName());
+                    if (exclusionList == null || !exclusionList.contains(srcFile.getCanonicalPath())) {
+                        pending.incrementAndGet();
+                        if (srcFile.isDirectory()) {
+                            submit(new DirectoryTask(this, srcFile, dstFile));
+                        } else {
+                            submit(new FileTask(this, srcFile, dstFile));
+                        }
+                    }
+                }
+            } catch (final IOException e) {
+                failures.add(e);
+            } catch (final RuntimeException e) {
+                failures.add(new IOException("Failed to copy '" + srcDir + "' to '" + destDir + "'", e));
+            } finally {
+                childDone();
+            }
+        }
+
+        void childDone() {
+            if (pending.decrementAndGet() == 0) {
+                // Do this last, as the children have probably affected directory metadata
+                if (created && options.isPreserveAttributes()) {
+                    destDir.setLastModified(srcDir.lastModified());
+                }
+                if (parent == null) {
+                    done.countDown();
+                } else {
+                    parent.childDone();
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies a single file.
+     */
+    private final class FileTask implements Runnable {
+
+        private final DirectoryTask parent;
+        private final File srcFile;
+        private final File destFile;
+
+        FileTask(final DirectoryTask parent, final File srcFile, final File destFile) {
+            this.parent = parent;
+            this.srcFile = srcFile;
+            this.destFile = destFile;
+        }
+
+        @Override
+        public void run() {
+            try {
+                FileUtils.doCopyFile(srcFile, destFile, options);
+            } catch (final IOException e) {
+                failures.add(e);
+            } catch (final RuntimeException e) {
+                // for example "Negative size" when the source is truncated while being copied
+                failures.add(new IOException("Failed to copy '" + srcFile + "' to '" + destFile + "'", e));
+            } finally {
+                parent.childDone();
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import java.io.Serializable;
+
+/**
+ * A wildcard pattern compiled once to be matched against many file names.
+ * <p>
+ * The pattern uses the characters '?' and '*' to represent a single or multiple
+ * (zero or more) wildcard characters, as {@link FilenameUtils#wildcardMatch(String, String, IOCase)} does.
+ * The case sensitivity is resolved when the matcher is created, so a matcher created with
+ * {@link IOCase#SYSTEM} keeps the rule of the system it was created on. For a case-insensitive
+ * matcher the pattern is folded once, and characters compare equal if
+ * {@link String#equalsIgnoreCase(String)} would consider them equal.
+ * </p>
+ * <p>
+ * Matching does not allocate. It runs in linear time for patterns without '*', and in
+ * O(length of name * length of pattern) time in the worst case, which a single '*' can reach.
+ * </p>
+ * <pre>
+ * WildcardMatcher matcher = new WildcardMatcher("*.txt", IOCase.INSENSITIVE);
+ * matcher.matches("c.TXT")   --&gt; true
+ * matcher.matches("c.jpg")   --&gt; false
+ * </pre>
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @since 2.7
+ */
+public final class WildcardMatcher implements Serializable {
+
+    private static final long serialVersionUID = 3437264722361082434L;
+
+    /** The pattern as given. */
+    private final String pattern;
+    /** The pattern with its literal characters folded if insensitive. */
+    private final String folded;
+    private final boolean sensitive;
+    /** The number of characters a name must have at least, one for each character of the pattern but '*'. */
+    private final int minLength;
+    /** Whether the pattern contains a '*'. */
+    private final boolean hasStar;
+
+    /**
+     * Compiles a case-sensitive wildcard pattern.
+     *
+     * @param pattern the wildcard pattern, not null
+     * @throws IllegalArgumentException if the pattern is null
+     */
+    public WildcardMatcher(final String pattern) {
+        this(pattern, IOCase.SENSITIVE);
+    }
+
+    /**
+     * Compiles a wildcard pattern with the given case sensitivity.
+     *
+     * @param pattern the wildcard pattern, not null
+     * @param caseSensitivity how to handle case sensitivity, null means case-sensitive
+     * @throws IllegalArgumentException if the pattern is null
+     */
+    public WildcardMatcher(final String pattern, final IOCase caseSensitivity) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("The wildcard must not be null");
+        }
+        this.pattern = pattern;
+        this.sensitive = caseSensitivity == null || caseSensitivity.isCaseSensitive();
+        int stars = 0;
+        final char[] chars = pattern.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] == '*') {
+                stars++;
+            } else if (!sensitive) {
+                chars[i] = fold(chars[i]);
+            }
+        }
+        this.folded = sensitive ? pattern : new String(chars);
+        this.minLength = chars.length - stars;
+        this.hasStar = stars > 0;
+    }
+
+    /**
+     * Gets the pattern.
+     *
+     * @return the pattern given to the constructor
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets whether this matcher is case-sensitive.
+     *
+     * @return true if case-sensitive
+     */
+    public boolean isCaseSensitive() {
+        return sensitive;
+    }
+
+    /**
+     * Checks whether a file name matches the pattern.
+     *
+     * @param name the file name to match, null never matches
+     * @return true if the name matches the whole pattern
+     */
+    public boolean matches(final String name) {
+        if (name == null) {
+            return false;
+        }
+        final int length = name.length();
+        if (length < minLength || !hasStar && length != minLength) {
+            return false;
+        }
+        final String pat = folded;
+        final int patLength = pat.length();
+        int p = 0;
+        int t = 0;
+        // the position after the last '*' seen, and the text position it is trying to match from
+        int starP = -1;
+        int starT = 0;
+        while (t < length) {
+            if (p < patLength) {
+                final char pc = pat.charAt(p);
+                if (pc == '*') {
+                    starP = ++p;
+                    starT = t;
+                    continue;
+                }
+                if (pc == '?' || pc == charAt(name, t)) {
+                    p++;
+                    t++;
+                    continue;
+                }
+            }
+            if (starP < 0) {
+                return false;
+            }
+            // let the last '*' absorb one more character and retry
+            p = starP;
+            t = ++starT;
+        }
+        while (p < patLength && pat.charAt(p) == '*') {
+            p++;
+        }
+        return p == patLength;
+    }
+
+    /**
+     * Gets a character of a name, folded if insensitive.
+     *
+     * @param name the name
+     * @param index the index of the character
+     * @return the character to compare with the pattern
+     */
+    private char charAt(final String name, final int index) {
+        final char ch = name.charAt(index);
+        return sensitive ? ch : fold(ch);
+    }
+
+    /**
+     * Folds a character so that characters {@link String#regionMatches(boolean, int, String, int, int)}
+     * considers equal ignoring case fold to the same character.
+     *
+     * @param ch the character
+     * @return the folded character
+     */
+    private static char fold(final char ch) {
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    /**
+     * Provide a String representation of this matcher.
+     *
+     * @return a String representation
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + pattern + (sensitive ? ")" : ", insensitive)");
+    }
+}
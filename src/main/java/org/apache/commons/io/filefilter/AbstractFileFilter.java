@@ -17,6 +17,7 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.nio.file.Path;
 
 /**
  * An abstract class which implements the Java FileFilter and FilenameFilter
@@ -53,6 +54,31 @@ public boolean accept(final File dir, final String name) {
         return accept(new File(dir, name));
     }
 
+    /**
+     * Checks whether a filter is an instance of exactly the given class, whose
+     * {@link IOFileFilter#accept(Path, java.nio.file.attribute.BasicFileAttributes)} may be used. A subclass may
+     * have overridden {@code accept(File)} or {@code accept(File, String)}, so its paths must be accepted
+     * through {@code accept(File)} instead.
+     *
+     * @param filter  the filter
+     * @param type  the class that overrides the attribute-aware accept method
+     * @return true if the attributes may be used
+     */
+    static boolean isOwnAccept(final IOFileFilter filter, final Class<? extends IOFileFilter> type) {
+        return filter.getClass() == type;
+    }
+
+    /**
+     * Gets the name of a path as {@link File#getName()} would.
+     *
+     * @param path  the path
+     * @return the last element of the path, empty for a root
+     */
+    static String getName(final Path path) {
+        final Path name = path.getFileName();
+        return name == null ? "" : name.toString();
+    }
+
     /**
      * Provide a String representation of this file filter.
      *
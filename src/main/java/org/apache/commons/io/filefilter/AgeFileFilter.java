@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Date;
 
 import org.apache.commons.io.FileUtils;
@@ -145,6 +147,23 @@ public boolean accept(final File file) {
         return acceptOlder != newer;
     }
 
+    /**
+     * Checks to see if the last modification of the file meets the cutoff, using its attributes.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file's modification time matches the cutoff
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, AgeFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        final boolean newer = attributes.lastModifiedTime().toMillis() > cutoff;
+        return acceptOlder != newer;
+    }
+
     /**
      * Provide a String representation of this file filter.
      *
@@ -155,4 +174,16 @@ public String toString() {
         final String condition = acceptOlder ? "<=" : ">";
         return super.toString() + "(" + condition + cutoff + ")";
     }
+
+    /**
+     * Returns {@link FilterCost#METADATA}, as the attributes of the file are read.
+     *
+     * @return {@link FilterCost#METADATA}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.METADATA;
+    }
+
 }
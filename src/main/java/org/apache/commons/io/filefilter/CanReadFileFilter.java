@@ -92,4 +92,15 @@ public boolean accept(final File file) {
         return file.canRead();
     }
 
+    /**
+     * Returns {@link FilterCost#METADATA}, as the attributes of the file are read.
+     *
+     * @return {@link FilterCost#METADATA}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.METADATA;
+    }
+
 }
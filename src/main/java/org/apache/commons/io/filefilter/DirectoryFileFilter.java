@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * This filter accepts <code>File</code>s that are directories.
@@ -71,4 +73,31 @@ public boolean accept(final File file) {
         return file.isDirectory();
     }
 
+    /**
+     * Checks to see if the file is a directory, using its attributes.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file is a directory
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, DirectoryFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        return attributes.isDirectory();
+    }
+
+    /**
+     * Returns {@link FilterCost#METADATA}, as the attributes of the file are read.
+     *
+     * @return {@link FilterCost#METADATA}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.METADATA;
+    }
+
 }
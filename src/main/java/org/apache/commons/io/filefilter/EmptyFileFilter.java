@@ -17,7 +17,12 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * This filter accepts files or directories that are empty.
@@ -83,4 +88,28 @@ public boolean accept(final File file) {
         return file.length() == 0;
     }
 
+    /**
+     * Checks to see if the file is empty, using its attributes. Only a directory is opened, to look for an entry.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file is empty or the directory has no entries
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, EmptyFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        if (attributes.isDirectory()) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(path)) {
+                return !entries.iterator().hasNext();
+            } catch (final IOException e) {
+                // as File.listFiles() returning null
+                return true;
+            }
+        }
+        return attributes.size() == 0;
+    }
+
 }
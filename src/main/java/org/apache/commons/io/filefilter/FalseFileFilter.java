@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * A file filter that always returns false.
@@ -60,6 +62,22 @@ public boolean accept(final File file) {
         return false;
     }
 
+    /**
+     * Returns false.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return false
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!AbstractFileFilter.isOwnAccept(this, FalseFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        return false;
+    }
+
     /**
      * Returns false.
      *
@@ -72,4 +90,15 @@ public boolean accept(final File dir, final String name) {
         return false;
     }
 
+    /**
+     * Returns {@link FilterCost#NAME}, as no I/O is done.
+     *
+     * @return {@link FilterCost#NAME}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.NAME;
+    }
+
 }
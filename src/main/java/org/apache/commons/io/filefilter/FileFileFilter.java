@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * This filter accepts <code>File</code>s that are files (not directories).
@@ -60,4 +62,31 @@ public boolean accept(final File file) {
         return file.isFile();
     }
 
+    /**
+     * Checks to see if the file is a regular file, using its attributes.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file is a regular file
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, FileFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        return attributes.isRegularFile();
+    }
+
+    /**
+     * Returns {@link FilterCost#METADATA}, as the attributes of the file are read.
+     *
+     * @return {@link FilterCost#METADATA}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.METADATA;
+    }
+
 }
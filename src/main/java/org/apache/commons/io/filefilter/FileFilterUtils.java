@@ -470,6 +470,59 @@ public static IOFileFilter notFileFilter(final IOFileFilter filter) {
         return new NotFileFilter(filter);
     }
 
+    /**
+     * Returns a filter equivalent to the specified filter that checks cheap filters first.
+     * <p>
+     * Trees of {@link AndFileFilter}, {@link OrFileFilter} and {@link NotFileFilter} are rewritten:
+     * </p>
+     * <ul>
+     * <li>nested ANDs and nested ORs are flattened, and double negations removed,</li>
+     * <li>{@link TrueFileFilter} and {@link FalseFileFilter} operands are simplified away,
+     * as are <code>x AND NOT x</code> and <code>x OR NOT x</code>,</li>
+     * <li>repeated operands are removed, comparing filters by identity,</li>
+     * <li>the operands of each AND and OR are sorted by {@link IOFileFilter#getCost() cost},
+     * keeping the given order among filters of the same cost.</li>
+     * </ul>
+     * <p>
+     * So a name check rejects a file before a {@link SizeFileFilter} reads its attributes or a
+     * {@link MagicNumberFileFilter} opens it. The given filters are not changed; later changes to them
+     * are not seen by the optimized filter. Use {@link #explain(IOFileFilter)} to see the result.
+     * </p>
+     *
+     * @param filter  the filter to optimize, must not be null
+     * @return an equivalent filter, which may be the given filter
+     * @throws IllegalArgumentException if the filter is null
+     * @since 2.7
+     */
+    public static IOFileFilter optimize(final IOFileFilter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("The filter must not be null");
+        }
+        return FilterOptimizer.optimize(filter);
+    }
+
+    /**
+     * Describes the plan of a filter: the tree of filters in the order they are checked, one per line,
+     * each with its {@link FilterCost}. For example, for
+     * <code>explain(optimize(and(sizeFileFilter(1024), suffixFileFilter(".log"))))</code>:
+     * <pre>
+     * AndFileFilter [METADATA]
+     *   SuffixFileFilter(.log) [NAME]
+     *   SizeFileFilter(&gt;=1024) [METADATA]
+     * </pre>
+     *
+     * @param filter  the filter to describe, must not be null
+     * @return the description of the filter
+     * @throws IllegalArgumentException if the filter is null
+     * @since 2.7
+     */
+    public static String explain(final IOFileFilter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("The filter must not be null");
+        }
+        return FilterOptimizer.explain(filter);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns a filter that always returns true.
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+/**
+ * The rough cost of checking a file with an {@link IOFileFilter}, used by
+ * {@link FileFilterUtils#optimize(IOFileFilter)} to check cheap filters first.
+ * <p>
+ * The constants are declared from the cheapest to the most expensive.
+ * </p>
+ *
+ * @see IOFileFilter#getCost()
+ * @since 2.7
+ */
+public enum FilterCost {
+
+    /** The filter only looks at the name of the file, and does no I/O. */
+    NAME,
+
+    /** The filter reads the attributes of the file, such as its type, size or modification time. */
+    METADATA,
+
+    /** The filter opens the file or lists the directory, or its cost is unknown. */
+    CONTENT
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rewrites trees of {@link AndFileFilter}, {@link OrFileFilter} and {@link NotFileFilter} so that
+ * cheap filters are checked first.
+ * <p>
+ * Only these exact classes are rewritten; subclasses and all other filters are kept as they are.
+ * Filters are compared by identity, so only the same filter instance is recognized as a duplicate.
+ * </p>
+ *
+ * @see FileFilterUtils#optimize(IOFileFilter)
+ * @since 2.7
+ */
+final class FilterOptimizer {
+
+    private static final Comparator<IOFileFilter> BY_COST = new Comparator<IOFileFilter>() {
+        @Override
+        public int compare(final IOFileFilter filter1, final IOFileFilter filter2) {
+            return filter1.getCost().compareTo(filter2.getCost());
+        }
+    };
+
+    private FilterOptimizer() {
+    }
+
+    /**
+     * Optimizes a filter tree.
+     *
+     * @param filter the filter, not null
+     * @return an equivalent filter, which may be the same instance
+     */
+    static IOFileFilter optimize(final IOFileFilter filter) {
+        final Class<?> type = filter.getClass();
+        if (type == NotFileFilter.class) {
+            final IOFileFilter inner = ((NotFileFilter) filter).getFilter();
+            final IOFileFilter optimized = optimize(inner);
+            if (optimized.getClass() == NotFileFilter.class) {
+                return ((NotFileFilter) optimized).getFilter();
+            }
+            if (optimized.getClass() == TrueFileFilter.class) {
+                return FalseFileFilter.FALSE;
+            }
+            if (optimized.getClass() == FalseFileFilter.class) {
+                return TrueFileFilter.TRUE;
+            }
+            return optimized == inner ? filter : new NotFileFilter(optimized);
+        }
+        if (type == AndFileFilter.class) {
+            return combine(((AndFileFilter) filter).getFileFilters(), true);
+        }
+        if (type == OrFileFilter.class) {
+            return combine(((OrFileFilter) filter).getFileFilters(), false);
+        }
+        return filter;
+    }
+
+    /**
+     * Flattens, simplifies, deduplicates and sorts the operands of an AND or an OR.
+     *
+     * @param filters the operands
+     * @param and true for an AND, false for an OR
+     * @return the optimized filter
+     */
+    private static IOFileFilter combine(final List<IOFileFilter> filters, final boolean and) {
+        // an empty AndFileFilter accepts nothing, like an empty OrFileFilter
+        if (filters.isEmpty()) {
+            return FalseFileFilter.FALSE;
+        }
+        // the value that decides the result on its own, and the value that can be dropped
+        final IOFileFilter dominant = and ? FalseFileFilter.FALSE : TrueFileFilter.TRUE;
+        final IOFileFilter neutral = and ? TrueFileFilter.TRUE : FalseFileFilter.FALSE;
+        final Class<?> type = and ? AndFileFilter.class : OrFileFilter.class;
+        final Map<IOFileFilter, Boolean> seen = new IdentityHashMap<>();
+        final List<IOFileFilter> operands = new ArrayList<>(filters.size());
+        for (final IOFileFilter filter : filters) {
+            final IOFileFilter optimized = optimize(filter);
+            final List<IOFileFilter> flattened = optimized.getClass() == type
+                    ? ((ConditionalFileFilter) optimized).getFileFilters()
+                    : Collections.singletonList(optimized);
+            for (final IOFileFilter operand : flattened) {
+                if (operand.getClass() == dominant.getClass()) {
+                    return dominant;
+                }
+                if (operand.getClass() == neutral.getClass() || seen.put(operand, Boolean.TRUE) != null) {
+                    continue;
+                }
+                operands.add(operand);
+            }
+        }
+        // x AND NOT x, or x OR NOT x
+        for (final IOFileFilter operand : operands) {
+            if (operand.getClass() == NotFileFilter.class && seen.containsKey(((NotFileFilter) operand).getFilter())) {
+                return dominant;
+            }
+        }
+        if (operands.isEmpty()) {
+            return neutral;
+        }
+        if (operands.size() == 1) {
+            return operands.get(0);
+        }
+        // stable, so filters of the same cost keep their order
+        Collections.sort(operands, BY_COST);
+        return and ? new AndFileFilter(operands) : new OrFileFilter(operands);
+    }
+
+    /**
+     * Describes a filter tree, one filter per line, with the cost of each filter.
+     *
+     * @param filter the filter, not null
+     * @return the description
+     */
+    static String explain(final IOFileFilter filter) {
+        final StringBuilder buffer = new StringBuilder();
+        explain(filter, 0, buffer);
+        return buffer.toString();
+    }
+
+    private static void explain(final IOFileFilter filter, final int depth, final StringBuilder buffer) {
+        for (int i = 0; i < depth; i++) {
+            buffer.append("  ");
+        }
+        final Class<?> type = filter.getClass();
+        final List<IOFileFilter> children;
+        if (type == AndFileFilter.class || type == OrFileFilter.class) {
+            children = ((ConditionalFileFilter) filter).getFileFilters();
+        } else if (type == NotFileFilter.class) {
+            children = Collections.singletonList(((NotFileFilter) filter).getFilter());
+        } else {
+            children = Collections.emptyList();
+        }
+        buffer.append(children.isEmpty() ? filter.toString() : type.getSimpleName())
+                .append(" [").append(filter.getCost()).append("]").append(System.lineSeparator());
+        for (final IOFileFilter child : children) {
+            explain(child, depth + 1, buffer);
+        }
+    }
+}
@@ -18,6 +18,9 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
 
 /**
  * This filter accepts <code>File</code>s that are hidden.
@@ -76,4 +79,34 @@ public boolean accept(final File file) {
         return file.isHidden();
     }
 
+    /**
+     * Checks to see if the file is hidden, using the DOS attributes of the file where the platform reads them.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file is hidden
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, HiddenFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        if (attributes instanceof DosFileAttributes) {
+            return ((DosFileAttributes) attributes).isHidden();
+        }
+        return path.toFile().isHidden();
+    }
+
+    /**
+     * Returns {@link FilterCost#METADATA}, as the attributes of the file are read.
+     *
+     * @return {@link FilterCost#METADATA}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.METADATA;
+    }
+
 }
@@ -19,6 +19,8 @@
 import java.io.File;
 import java.io.FileFilter;
 import java.io.FilenameFilter;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * An interface which brings the FileFilter and FilenameFilter
@@ -52,4 +54,37 @@ public interface IOFileFilter extends FileFilter, FilenameFilter {
     @Override
     boolean accept(File dir, String name);
 
+    /**
+     * Checks to see if the file should be accepted by this filter, given attributes of the file that the
+     * caller has already read, such as those passed to a {@link java.nio.file.FileVisitor}.
+     * <p>
+     * The filters in this package answer from the attributes, or from the path alone, wherever they can, so
+     * that checking a file does not read its attributes again. Composite filters pass the same attributes on.
+     * This default implementation calls {@link #accept(File)}.
+     * </p>
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if this file matches the test
+     * @since 2.7
+     */
+    default boolean accept(final Path path, final BasicFileAttributes attributes) {
+        return accept(path.toFile());
+    }
+
+    /**
+     * Gets the rough cost of checking a file with this filter.
+     * <p>
+     * The filters in this package return their actual cost. This default implementation returns
+     * {@link FilterCost#CONTENT}, so that a filter of unknown cost is checked last by
+     * {@link FileFilterUtils#optimize(IOFileFilter)}.
+     * </p>
+     *
+     * @return the cost of this filter
+     * @since 2.7
+     */
+    default FilterCost getCost() {
+        return FilterCost.CONTENT;
+    }
+
 }
@@ -251,6 +251,24 @@ public boolean accept(final File file) {
         return false;
     }
 
+    /**
+     * Gets the magic number, for {@link MagicNumbersFileFilter}; the array is not copied.
+     *
+     * @return the magic number
+     */
+    byte[] getMagicNumbers() {
+        return magicNumbers;
+    }
+
+    /**
+     * Gets the byte offset of the magic number, for {@link MagicNumbersFileFilter}.
+     *
+     * @return the byte offset
+     */
+    long getByteOffset() {
+        return byteOffset;
+    }
+
     /**
      * Returns a String representation of the file filter, which includes the
      * magic number bytes and byte offset.
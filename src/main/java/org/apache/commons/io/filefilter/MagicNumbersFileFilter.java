@@ -0,0 +1,402 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * File filter for matching files containing any of several magic numbers, such as the
+ * signatures of the file types an application can read.
+ * </p>
+ *
+ * <p>
+ * Combining {@link MagicNumberFileFilter}s with an {@link OrFileFilter} opens and reads each
+ * file once per magic number. This filter opens each file once with a {@link FileChannel}
+ * and reads a single header window, from the smallest offset to the end of the furthest
+ * magic number, which is then compared with every magic number. Keep the magic numbers close
+ * together: the whole window is read, however far apart they are.
+ * </p>
+ *
+ * <p>
+ * When the same files are checked repeatedly, for example by a directory scan that runs
+ * periodically, the filter can keep the headers of the most recently read files. A cached
+ * header is used while the last modified time and the size of the file are unchanged.
+ * </p>
+ *
+ * <pre>
+ * MagicNumbersFileFilter archiveFilter = new MagicNumbersFileFilter(1000,
+ *     new MagicNumberFileFilter("PK"),
+ *     new MagicNumberFileFilter(new byte[] {0x1F, (byte) 0x8B}),
+ *     new MagicNumberFileFilter("ustar", 257));
+ * File[] archives = dir.listFiles((FileFilter) archiveFilter);
+ * List&lt;MagicNumberFileFilter&gt; types = archiveFilter.getMatchingFilters(archives[0]);
+ * </pre>
+ *
+ * <p>
+ * If any {@link IOException}s occur while reading a file, the file will be rejected.
+ * </p>
+ *
+ * @since 2.7
+ * @see MagicNumberFileFilter
+ */
+public class MagicNumbersFileFilter extends AbstractFileFilter implements Serializable {
+
+    private static final long serialVersionUID = 3411856427207412735L;
+
+    /** The filters whose magic numbers are matched. */
+    private final MagicNumberFileFilter[] filters;
+    /** The number of headers to cache, 0 for no cache. */
+    private final int cacheSize;
+    /** The file offset of the header window. */
+    private final long windowStart;
+    /** The length of the header window. */
+    private final int windowLength;
+    /** The length a file must have to contain the shortest magic number at its offset. */
+    private final long minimumLength;
+    /** The most recently read headers, or null. */
+    private transient Map<HeaderKey, byte[]> cache;
+
+    /**
+     * Constructs a new filter for the magic numbers of the given filters, without a header cache.
+     *
+     * @param filters the filters whose magic numbers and offsets to look for
+     * @throws IllegalArgumentException if there are no filters, a filter is {@code null},
+     *         or the header window would be longer than {@link Integer#MAX_VALUE} bytes
+     */
+    public MagicNumbersFileFilter(final MagicNumberFileFilter... filters) {
+        this(0, filters);
+    }
+
+    /**
+     * Constructs a new filter for the magic numbers of the given filters, keeping the headers of
+     * up to <code>cacheSize</code> files.
+     *
+     * @param cacheSize the number of headers to cache, 0 for no cache
+     * @param filters the filters whose magic numbers and offsets to look for
+     * @throws IllegalArgumentException if <code>cacheSize</code> is negative, there are no filters,
+     *         a filter is {@code null}, or the header window would be longer than
+     *         {@link Integer#MAX_VALUE} bytes
+     */
+    public MagicNumbersFileFilter(final int cacheSize, final MagicNumberFileFilter... filters) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("The cache size cannot be negative");
+        }
+        if (filters == null || filters.length == 0) {
+            throw new IllegalArgumentException("At least one magic number is required");
+        }
+        long start = Long.MAX_VALUE;
+        long end = 0;
+        long minimum = Long.MAX_VALUE;
+        for (final MagicNumberFileFilter filter : filters) {
+            if (filter == null) {
+                throw new IllegalArgumentException("The filters cannot contain null");
+            }
+            final long offset = filter.getByteOffset();
+            final long filterEnd = offset + filter.getMagicNumbers().length;
+            start = Math.min(start, offset);
+            end = Math.max(end, filterEnd);
+            minimum = Math.min(minimum, filterEnd);
+        }
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The magic numbers are too far apart");
+        }
+        this.filters = filters.clone();
+        this.cacheSize = cacheSize;
+        this.windowStart = start;
+        this.windowLength = (int) (end - start);
+        this.minimumLength = minimum;
+        this.cache = createCache();
+    }
+
+    /**
+     * Accepts the provided file if it contains any of the magic numbers at its offset.
+     *
+     * @param file the file to accept or reject.
+     *
+     * @return {@code true} if the file contains one of the magic numbers, {@code false} otherwise.
+     */
+    @Override
+    public boolean accept(final File file) {
+        return matchesAny(header(file));
+    }
+
+    /**
+     * Accepts the provided file if it contains any of the magic numbers at its offset.
+     * The attributes give the key of the header cache, and reject directories and files
+     * too short for any magic number without opening them.
+     *
+     * @param path the file to accept or reject.
+     * @param attributes the attributes of the file.
+     *
+     * @return {@code true} if the file contains one of the magic numbers, {@code false} otherwise.
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, MagicNumbersFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        return matchesAny(header(path, attributes));
+    }
+
+    /**
+     * Gets the filters whose magic numbers the file contains, reading the file once.
+     * This identifies the type of a file accepted by this filter.
+     *
+     * @param file the file to check.
+     * @return the matching filters in the order given to the constructor, empty if there are
+     *         none or the file could not be read.
+     */
+    public List<MagicNumberFileFilter> getMatchingFilters(final File file) {
+        final byte[] header = header(file);
+        if (header == null) {
+            return Collections.emptyList();
+        }
+        final List<MagicNumberFileFilter> matching = new ArrayList<>();
+        for (final MagicNumberFileFilter filter : filters) {
+            if (matches(header, filter)) {
+                matching.add(filter);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Removes all cached headers.
+     */
+    public void clearCache() {
+        if (cache != null) {
+            synchronized (cache) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * Reads the attributes of a file and then its header.
+     *
+     * @param file the file
+     * @return the header, or null if the file is not a regular file or could not be read
+     */
+    private byte[] header(final File file) {
+        if (file == null) {
+            return null;
+        }
+        final Path path = file.toPath();
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (final IOException ioe) {
+            return null;
+        }
+        return header(path, attributes);
+    }
+
+    /**
+     * Gets the header of a file from the cache or by reading it.
+     *
+     * @param path the file
+     * @param attributes the attributes of the file
+     * @return the header, which is shorter than the window if the file is, or null if the file is
+     *         not a regular file, is too short or could not be read
+     */
+    private byte[] header(final Path path, final BasicFileAttributes attributes) {
+        if (path == null || !attributes.isRegularFile() || attributes.size() < minimumLength) {
+            return null;
+        }
+        if (cache == null) {
+            return read(path);
+        }
+        final HeaderKey key = new HeaderKey(path.toAbsolutePath(), attributes);
+        byte[] header;
+        synchronized (cache) {
+            header = cache.get(key);
+        }
+        if (header == null) {
+            header = read(path);
+            if (header != null) {
+                synchronized (cache) {
+                    cache.put(key, header);
+                }
+            }
+        }
+        return header;
+    }
+
+    /**
+     * Reads the header window of a file with a single channel.
+     *
+     * @param path the file
+     * @return the header, shorter than the window if the file ends within it, or null if the
+     *         file could not be read
+     */
+    private byte[] read(final Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(windowLength);
+            long position = windowStart;
+            while (buffer.hasRemaining()) {
+                final int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+            final byte[] header = buffer.array();
+            if (buffer.position() < header.length) {
+                final byte[] shorter = new byte[buffer.position()];
+                System.arraycopy(header, 0, shorter, 0, shorter.length);
+                return shorter;
+            }
+            return header;
+        } catch (final IOException ioe) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the header contains any of the magic numbers.
+     *
+     * @param header the header, or null
+     * @return whether a magic number is in the header at its offset
+     */
+    private boolean matchesAny(final byte[] header) {
+        if (header != null) {
+            for (final MagicNumberFileFilter filter : filters) {
+                if (matches(header, filter)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the header contains the magic number of a filter.
+     *
+     * @param header the header
+     * @param filter the filter
+     * @return whether the magic number is in the header at its offset
+     */
+    private boolean matches(final byte[] header, final MagicNumberFileFilter filter) {
+        final byte[] magicNumber = filter.getMagicNumbers();
+        final int from = (int) (filter.getByteOffset() - windowStart);
+        if (from + magicNumber.length > header.length) {
+            return false;
+        }
+        for (int i = 0; i < magicNumber.length; i++) {
+            if (header[from + i] != magicNumber[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the header cache, which evicts the least recently used header.
+     *
+     * @return the cache, or null if the cache size is 0
+     */
+    private Map<HeaderKey, byte[]> createCache() {
+        if (cacheSize == 0) {
+            return null;
+        }
+        return new LinkedHashMap<HeaderKey, byte[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<HeaderKey, byte[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Creates an empty cache after deserialization.
+     *
+     * @param in the input stream
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        cache = createCache();
+    }
+
+    /**
+     * Returns a String representation of the file filter, which includes the
+     * magic numbers and their byte offsets.
+     *
+     * @return a String representation of the file filter.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(super.toString());
+        builder.append("(");
+        for (int i = 0; i < filters.length; i++) {
+            if (i > 0) {
+                builder.append(",");
+            }
+            builder.append(filters[i]);
+        }
+        builder.append(")");
+        return builder.toString();
+    }
+
+    /**
+     * The key of a cached header: the file, its last modified time and its size.
+     */
+    private static final class HeaderKey {
+
+        private final Path path;
+        private final long lastModified;
+        private final long size;
+
+        HeaderKey(final Path path, final BasicFileAttributes attributes) {
+            this.path = path;
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.size = attributes.size();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof HeaderKey)) {
+                return false;
+            }
+            final HeaderKey other = (HeaderKey) obj;
+            return lastModified == other.lastModified && size == other.size && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return path.hashCode() * 31 + (int) (lastModified ^ size);
+        }
+    }
+}
@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 
 import org.apache.commons.io.IOCase;
@@ -148,6 +150,28 @@ public boolean accept(final File file) {
         return false;
     }
 
+    /**
+     * Checks to see if the file name matches, without creating a File.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file name matches
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, NameFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        final String name = getName(path);
+        for (final String name2 : this.names) {
+            if (caseSensitivity.checkEquals(name, name2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Checks to see if the file name matches.
      *
@@ -187,4 +211,15 @@ public String toString() {
         return buffer.toString();
     }
 
+    /**
+     * Returns {@link FilterCost#NAME}, as only the name of the file is checked.
+     *
+     * @return {@link FilterCost#NAME}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.NAME;
+    }
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.io.IOCase;
+
+/**
+ * A trie of many prefixes or suffixes, which checks a name against all of them in one pass over
+ * the name, whatever their number.
+ * <p>
+ * A suffix trie is built from the reversed suffixes and walks the name from its end. For a
+ * case-insensitive trie both the patterns and the name are folded, so that characters compare
+ * equal when {@link IOCase#checkStartsWith(String, String)} would consider them equal.
+ * The trie is immutable once built and thread-safe.
+ * </p>
+ *
+ * @since 2.7
+ */
+final class NameTrie {
+
+    /** The sorted characters leading out of each node. */
+    private final char[][] keys;
+    /** The nodes the characters lead to. */
+    private final int[][] children;
+    /** Whether a pattern ends at each node. */
+    private final boolean[] terminal;
+    private final boolean suffix;
+    private final boolean sensitive;
+
+    /**
+     * Builds a trie.
+     *
+     * @param patterns the prefixes or suffixes, null elements are ignored
+     * @param suffix true for suffixes, false for prefixes
+     * @param caseSensitivity how to handle case sensitivity, not null
+     */
+    NameTrie(final String[] patterns, final boolean suffix, final IOCase caseSensitivity) {
+        this.suffix = suffix;
+        this.sensitive = caseSensitivity.isCaseSensitive();
+        final List<TreeMap<Character, Integer>> nodes = new ArrayList<>();
+        final List<Boolean> ends = new ArrayList<>();
+        nodes.add(new TreeMap<Character, Integer>());
+        ends.add(Boolean.FALSE);
+        for (final String pattern : patterns) {
+            if (pattern == null) {
+                continue;
+            }
+            int node = 0;
+            final int length = pattern.length();
+            for (int i = 0; i < length; i++) {
+                final char ch = charAt(pattern, suffix ? length - 1 - i : i);
+                Integer child = nodes.get(node).get(ch);
+                if (child == null) {
+                    child = nodes.size();
+                    nodes.get(node).put(ch, child);
+                    nodes.add(new TreeMap<Character, Integer>());
+                    ends.add(Boolean.FALSE);
+                }
+                node = child;
+            }
+            ends.set(node, Boolean.TRUE);
+        }
+        final int size = nodes.size();
+        keys = new char[size][];
+        children = new int[size][];
+        terminal = new boolean[size];
+        for (int node = 0; node < size; node++) {
+            final TreeMap<Character, Integer> map = nodes.get(node);
+            keys[node] = new char[map.size()];
+            children[node] = new int[map.size()];
+            int i = 0;
+            for (final Map.Entry<Character, Integer> entry : map.entrySet()) {
+                keys[node][i] = entry.getKey();
+                children[node][i++] = entry.getValue();
+            }
+            terminal[node] = ends.get(node);
+        }
+    }
+
+    /**
+     * Checks whether a name starts with one of the prefixes, or ends with one of the suffixes.
+     *
+     * @param name the name, not null
+     * @return true if one of the patterns matches
+     */
+    boolean matches(final String name) {
+        int node = 0;
+        final int length = name.length();
+        for (int i = 0; ; i++) {
+            if (terminal[node]) {
+                return true;
+            }
+            if (i == length) {
+                return false;
+            }
+            final int index = Arrays.binarySearch(keys[node], charAt(name, suffix ? length - 1 - i : i));
+            if (index < 0) {
+                return false;
+            }
+            node = children[node][index];
+        }
+    }
+
+    private char charAt(final String str, final int index) {
+        final char ch = str.charAt(index);
+        // the same folding as WildcardMatcher
+        return sensitive ? ch : Character.toLowerCase(Character.toUpperCase(ch));
+    }
+}
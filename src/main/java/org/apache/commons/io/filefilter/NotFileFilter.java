@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * This filter produces a logical NOT of the filters specified.
@@ -56,6 +58,22 @@ public boolean accept(final File file) {
         return ! filter.accept(file);
     }
 
+    /**
+     * Returns the logical NOT of the underlying filter's return value for the same path and attributes.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the filter returns false
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, NotFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        return ! filter.accept(path, attributes);
+    }
+
     /**
      * Returns the logical NOT of the underlying filter's return value for the same arguments.
      *
@@ -68,6 +86,26 @@ public boolean accept(final File file, final String name) {
         return ! filter.accept(file, name);
     }
 
+    /**
+     * Returns the cost of the underlying filter.
+     *
+     * @return the cost of the underlying filter
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return filter.getCost();
+    }
+
+    /**
+     * Gets the underlying filter.
+     *
+     * @return the filter this filter inverts
+     */
+    IOFileFilter getFilter() {
+        return filter;
+    }
+
     /**
      * Provide a String representation of this file filter.
      *
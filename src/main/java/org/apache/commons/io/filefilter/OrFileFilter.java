@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -127,6 +129,27 @@ public boolean accept(final File file) {
         return false;
     }
 
+    /**
+     * Checks the filters with the path and attributes, as {@link #accept(File)} does.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if any of the filters accepts the file
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, OrFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        for (final IOFileFilter fileFilter : fileFilters) {
+            if (fileFilter.accept(path, attributes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -140,6 +163,23 @@ public boolean accept(final File file, final String name) {
         return false;
     }
 
+    /**
+     * Returns the highest cost of the filters, as all of them may be checked.
+     *
+     * @return the highest cost of the filters
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        FilterCost cost = FilterCost.NAME;
+        for (final IOFileFilter fileFilter : fileFilters) {
+            if (fileFilter.getCost().compareTo(cost) > 0) {
+                cost = fileFilter.getCost();
+            }
+        }
+        return cost;
+    }
+
     /**
      * Provide a String representation of this file filter.
      *
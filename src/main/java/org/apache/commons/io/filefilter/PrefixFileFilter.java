@@ -17,7 +17,11 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 
 import org.apache.commons.io.IOCase;
@@ -35,6 +39,10 @@
  *     System.out.println(files[i]);
  * }
  * </pre>
+ * <p>
+ * The prefixes are combined into a trie when the filter is constructed, so
+ * checking a name costs the same however many prefixes there are.
+ * </p>
  *
  * @since 1.0
  *
@@ -51,6 +59,9 @@ public class PrefixFileFilter extends AbstractFileFilter implements Serializable
     /** Whether the comparison is case sensitive. */
     private final IOCase caseSensitivity;
 
+    /** The prefixes combined into one trie. */
+    private transient NameTrie trie;
+
     /**
      * Constructs a new Prefix file filter for a single prefix.
      *
@@ -76,6 +87,7 @@ public PrefixFileFilter(final String prefix, final IOCase caseSensitivity) {
         }
         this.prefixes = new String[] {prefix};
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.trie = new NameTrie(this.prefixes, false, this.caseSensitivity);
     }
 
     /**
@@ -107,6 +119,7 @@ public PrefixFileFilter(final String[] prefixes, final IOCase caseSensitivity) {
         this.prefixes = new String[prefixes.length];
         System.arraycopy(prefixes, 0, this.prefixes, 0, prefixes.length);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.trie = new NameTrie(this.prefixes, false, this.caseSensitivity);
     }
 
     /**
@@ -136,6 +149,7 @@ public PrefixFileFilter(final List<String> prefixes, final IOCase caseSensitivit
         }
         this.prefixes = prefixes.toArray(new String[prefixes.size()]);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.trie = new NameTrie(this.prefixes, false, this.caseSensitivity);
     }
 
     /**
@@ -146,13 +160,23 @@ public PrefixFileFilter(final List<String> prefixes, final IOCase caseSensitivit
      */
     @Override
     public boolean accept(final File file) {
-        final String name = file.getName();
-        for (final String prefix : this.prefixes) {
-            if (caseSensitivity.checkStartsWith(name, prefix)) {
-                return true;
-            }
+        return trie.matches(file.getName());
+    }
+
+    /**
+     * Checks to see if the file name starts with a prefix, without creating a File.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file name starts with one of our prefixes
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, PrefixFileFilter.class)) {
+            return accept(path.toFile());
         }
-        return false;
+        return trie.matches(getName(path));
     }
 
     /**
@@ -164,12 +188,12 @@ public boolean accept(final File file) {
      */
     @Override
     public boolean accept(final File file, final String name) {
-        for (final String prefix : prefixes) {
-            if (caseSensitivity.checkStartsWith(name, prefix)) {
-                return true;
-            }
-        }
-        return false;
+        return trie.matches(name);
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        trie = new NameTrie(prefixes, false, caseSensitivity);
     }
 
     /**
@@ -194,4 +218,15 @@ public String toString() {
         return buffer.toString();
     }
 
+    /**
+     * Returns {@link FilterCost#NAME}, as only the name of the file is checked.
+     *
+     * @return {@link FilterCost#NAME}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.NAME;
+    }
+
 }
@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.IOCase;
@@ -119,4 +121,31 @@ public boolean accept(final File dir, final String name) {
         return pattern.matcher(name).matches();
     }
 
+    /**
+     * Checks to see if the file name matches the regular expression, without creating a File.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file name matches
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, RegexFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        return pattern.matcher(getName(path)).matches();
+    }
+
+    /**
+     * Returns {@link FilterCost#NAME}, as only the name of the file is checked.
+     *
+     * @return {@link FilterCost#NAME}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.NAME;
+    }
+
 }
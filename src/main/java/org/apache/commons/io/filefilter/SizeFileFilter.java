@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * Filters files based on size, can filter either smaller files or
@@ -93,6 +95,23 @@ public boolean accept(final File file) {
         return acceptLarger != smaller;
     }
 
+    /**
+     * Checks to see if the size of the file is favorable, using its attributes.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file size matches
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, SizeFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        final boolean smaller = attributes.size() < size;
+        return acceptLarger != smaller;
+    }
+
     /**
      * Provide a String representation of this file filter.
      *
@@ -104,4 +123,15 @@ public String toString() {
         return super.toString() + "(" + condition + size + ")";
     }
 
+    /**
+     * Returns {@link FilterCost#METADATA}, as the attributes of the file are read.
+     *
+     * @return {@link FilterCost#METADATA}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.METADATA;
+    }
+
 }
@@ -17,7 +17,11 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 
 import org.apache.commons.io.IOCase;
@@ -36,6 +40,10 @@
  *     System.out.println(files[i]);
  * }
  * </pre>
+ * <p>
+ * The suffixes are combined into a trie when the filter is constructed, so
+ * checking a name costs the same however many suffixes there are.
+ * </p>
  *
  * @since 1.0
  *
@@ -52,6 +60,9 @@ public class SuffixFileFilter extends AbstractFileFilter implements Serializable
     /** Whether the comparison is case sensitive. */
     private final IOCase caseSensitivity;
 
+    /** The suffixes combined into one trie. */
+    private transient NameTrie trie;
+
     /**
      * Constructs a new Suffix file filter for a single extension.
      *
@@ -77,6 +88,7 @@ public SuffixFileFilter(final String suffix, final IOCase caseSensitivity) {
         }
         this.suffixes = new String[] {suffix};
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.trie = new NameTrie(this.suffixes, true, this.caseSensitivity);
     }
 
     /**
@@ -108,6 +120,7 @@ public SuffixFileFilter(final String[] suffixes, final IOCase caseSensitivity) {
         this.suffixes = new String[suffixes.length];
         System.arraycopy(suffixes, 0, this.suffixes, 0, suffixes.length);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.trie = new NameTrie(this.suffixes, true, this.caseSensitivity);
     }
 
     /**
@@ -137,6 +150,7 @@ public SuffixFileFilter(final List<String> suffixes, final IOCase caseSensitivit
         }
         this.suffixes = suffixes.toArray(new String[suffixes.size()]);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.trie = new NameTrie(this.suffixes, true, this.caseSensitivity);
     }
 
     /**
@@ -147,13 +161,23 @@ public SuffixFileFilter(final List<String> suffixes, final IOCase caseSensitivit
      */
     @Override
     public boolean accept(final File file) {
-        final String name = file.getName();
-        for (final String suffix : this.suffixes) {
-            if (caseSensitivity.checkEndsWith(name, suffix)) {
-                return true;
-            }
+        return trie.matches(file.getName());
+    }
+
+    /**
+     * Checks to see if the file name ends with a suffix, without creating a File.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file name ends with one of our suffixes
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, SuffixFileFilter.class)) {
+            return accept(path.toFile());
         }
-        return false;
+        return trie.matches(getName(path));
     }
 
     /**
@@ -165,12 +189,12 @@ public boolean accept(final File file) {
      */
     @Override
     public boolean accept(final File file, final String name) {
-        for (final String suffix : this.suffixes) {
-            if (caseSensitivity.checkEndsWith(name, suffix)) {
-                return true;
-            }
-        }
-        return false;
+        return trie.matches(name);
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        trie = new NameTrie(suffixes, true, caseSensitivity);
     }
 
     /**
@@ -195,4 +219,15 @@ public String toString() {
         return buffer.toString();
     }
 
+    /**
+     * Returns {@link FilterCost#NAME}, as only the name of the file is checked.
+     *
+     * @return {@link FilterCost#NAME}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.NAME;
+    }
+
 }
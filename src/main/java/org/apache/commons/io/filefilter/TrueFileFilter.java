@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * A file filter that always returns true.
@@ -59,6 +61,22 @@ public boolean accept(final File file) {
         return true;
     }
 
+    /**
+     * Returns true.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!AbstractFileFilter.isOwnAccept(this, TrueFileFilter.class)) {
+            return accept(path.toFile());
+        }
+        return true;
+    }
+
     /**
      * Returns true.
      *
@@ -71,4 +89,15 @@ public boolean accept(final File dir, final String name) {
         return true;
     }
 
+    /**
+     * Returns {@link FilterCost#NAME}, as no I/O is done.
+     *
+     * @return {@link FilterCost#NAME}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.NAME;
+    }
+
 }
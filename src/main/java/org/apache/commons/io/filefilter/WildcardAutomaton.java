@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOCase;
+
+/**
+ * Matches a name against many wildcards at once, with a DFA built lazily from the combined
+ * automaton of the wildcards.
+ * <p>
+ * Each position in a wildcard is a state of the combined automaton, and each state of the DFA is the
+ * set of positions the name read so far can be at. DFA states and their transitions are created the
+ * first time a name needs them and cached, so once the names seen have warmed the cache a match costs
+ * one step per character of the name, whatever the number of wildcards. The cache is limited to
+ * {@link #MAX_STATES} states; beyond that, new states are computed for each name without being kept.
+ * </p>
+ * <p>
+ * Case-insensitive wildcards and names are folded as by {@link org.apache.commons.io.WildcardMatcher}.
+ * The automaton is thread-safe; concurrent matches may create the same transition twice, which is harmless.
+ * </p>
+ *
+ * @since 2.7
+ */
+final class WildcardAutomaton {
+
+    /** The maximum number of cached DFA states. */
+    static final int MAX_STATES = 10000;
+
+    private static final byte LITERAL = 0;
+    private static final byte ANY = 1;
+    private static final byte STAR = 2;
+    private static final byte END = 3;
+
+    /** The kind of each position of the wildcards, laid end to end. */
+    private final byte[] kinds;
+    /** The literal character at each position. */
+    private final char[] symbols;
+    /** Whether only '*' remain from each position to the end of its wildcard. */
+    private final boolean[] tailStars;
+    private final boolean sensitive;
+
+    private final ConcurrentMap<Key, State> states = new ConcurrentHashMap<>();
+    private final AtomicInteger stateCount = new AtomicInteger();
+    private final State start;
+
+    /**
+     * Builds an automaton.
+     *
+     * @param wildcards the wildcards, null elements are ignored
+     * @param caseSensitivity how to handle case sensitivity, not null
+     */
+    WildcardAutomaton(final String[] wildcards, final IOCase caseSensitivity) {
+        this.sensitive = caseSensitivity.isCaseSensitive();
+        int size = 0;
+        for (final String wildcard : wildcards) {
+            if (wildcard != null) {
+                size += wildcard.length() + 1;
+            }
+        }
+        kinds = new byte[size];
+        symbols = new char[size];
+        tailStars = new boolean[size];
+        final BitSet starts = new BitSet(size);
+        int pos = 0;
+        for (final String wildcard : wildcards) {
+            if (wildcard == null) {
+                continue;
+            }
+            starts.set(pos);
+            final int first = pos;
+            for (int i = 0; i < wildcard.length(); i++, pos++) {
+                final char ch = wildcard.charAt(i);
+                kinds[pos] = ch == '*' ? STAR : ch == '?' ? ANY : LITERAL;
+                symbols[pos] = fold(ch);
+            }
+            kinds[pos] = END;
+            tailStars[pos] = true;
+            for (int i = pos - 1; i >= first && kinds[i] == STAR; i--) {
+                tailStars[i] = true;
+            }
+            pos++;
+        }
+        start = intern(closure(starts));
+    }
+
+    /**
+     * Checks whether a name matches one of the wildcards.
+     *
+     * @param name the name, null never matches
+     * @return true if the whole name matches one of the wildcards
+     */
+    boolean matches(final String name) {
+        if (name == null) {
+            return false;
+        }
+        State state = start;
+        final int length = name.length();
+        for (int i = 0; i < length; i++) {
+            if (state.acceptsAll) {
+                return true;
+            }
+            if (state.positions.length == 0) {
+                return false;
+            }
+            state = next(state, fold(name.charAt(i)));
+        }
+        return state.accepts;
+    }
+
+    private State next(final State state, final char ch) {
+        State next = ch < state.ascii.length ? state.ascii[ch] : state.others.get(ch);
+        if (next == null) {
+            next = intern(step(state, ch));
+            if (next.cached) {
+                if (ch < state.ascii.length) {
+                    state.ascii[ch] = next;
+                } else {
+                    state.others.put(ch, next);
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Computes the positions reached from a state by a character.
+     */
+    private BitSet step(final State state, final char ch) {
+        final BitSet next = new BitSet(kinds.length);
+        for (final int pos : state.positions) {
+            switch (kinds[pos]) {
+            case STAR:
+                next.set(pos);
+                break;
+            case ANY:
+                next.set(pos + 1);
+                break;
+            case LITERAL:
+                if (symbols[pos] == ch) {
+                    next.set(pos + 1);
+                }
+                break;
+            default:
+                // END consumes nothing
+            }
+        }
+        return closure(next);
+    }
+
+    /**
+     * Adds the positions after each '*', which may match nothing.
+     */
+    private BitSet closure(final BitSet positions) {
+        for (int pos = positions.nextSetBit(0); pos >= 0; pos = positions.nextSetBit(pos + 1)) {
+            if (kinds[pos] == STAR) {
+                positions.set(pos + 1);
+            }
+        }
+        return positions;
+    }
+
+    private State intern(final BitSet positions) {
+        final Key key = new Key(positions.stream().toArray());
+        final State known = states.get(key);
+        if (known != null) {
+            return known;
+        }
+        if (stateCount.get() >= MAX_STATES) {
+            return new State(key.positions, false);
+        }
+        final State created = new State(key.positions, true);
+        final State raced = states.putIfAbsent(key, created);
+        if (raced != null) {
+            return raced;
+        }
+        stateCount.incrementAndGet();
+        return created;
+    }
+
+    private char fold(final char ch) {
+        return sensitive ? ch : Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    /**
+     * A state of the DFA.
+     */
+    private final class State {
+
+        /** The sorted positions of the wildcards. */
+        final int[] positions;
+        final boolean accepts;
+        /** Whether a wildcard has only '*' left, so any rest of the name matches. */
+        final boolean acceptsAll;
+        /** Whether this state and its transitions are kept. */
+        final boolean cached;
+        final State[] ascii = new State[128];
+        final ConcurrentMap<Character, State> others = new ConcurrentHashMap<>();
+
+        State(final int[] positions, final boolean cached) {
+            this.positions = positions;
+            this.cached = cached;
+            boolean end = false;
+            boolean all = false;
+            for (final int pos : positions) {
+                end |= kinds[pos] == END;
+                all |= tailStars[pos] && kinds[pos] == STAR;
+            }
+            this.accepts = end;
+            this.acceptsAll = all;
+        }
+    }
+
+    /**
+     * The positions of a state, as a key of the cache.
+     */
+    private static final class Key {
+
+        final int[] positions;
+        private final int hash;
+
+        Key(final int[] positions) {
+            this.positions = positions;
+            this.hash = Arrays.hashCode(positions);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && Arrays.equals(positions, ((Key) obj).positions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
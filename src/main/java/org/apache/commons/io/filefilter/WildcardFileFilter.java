@@ -17,11 +17,16 @@
 package org.apache.commons.io.filefilter;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOCase;
+import org.apache.commons.io.WildcardMatcher;
 
 /**
  * Filters files using the supplied wildcards.
@@ -35,6 +40,9 @@
  * This is the same as often found on Dos/Unix command lines.
  * The check is case-sensitive by default.
  * See {@link FilenameUtils#wildcardMatchOnSystem(String,String)} for more information.
+ * A single wildcard is compiled once into a {@link WildcardMatcher} when the filter is created;
+ * several wildcards are combined into one automaton, so that checking a name costs about the
+ * same however many wildcards there are.
  * </p>
  * <p>
  * For example:
@@ -57,6 +65,10 @@ public class WildcardFileFilter extends AbstractFileFilter implements Serializab
     private final String[] wildcards;
     /** Whether the comparison is case sensitive. */
     private final IOCase caseSensitivity;
+    /** The compiled wildcard, if there is only one. */
+    private transient WildcardMatcher matcher;
+    /** The combined wildcards, if there are several. */
+    private transient WildcardAutomaton automaton;
 
     /**
      * Construct a new case-sensitive wildcard filter for a single wildcard.
@@ -81,6 +93,7 @@ public WildcardFileFilter(final String wildcard, final IOCase caseSensitivity) {
         }
         this.wildcards = new String[] { wildcard };
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        compile();
     }
 
     /**
@@ -109,6 +122,7 @@ public WildcardFileFilter(final String[] wildcards, final IOCase caseSensitivity
         this.wildcards = new String[wildcards.length];
         System.arraycopy(wildcards, 0, this.wildcards, 0, wildcards.length);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        compile();
     }
 
     /**
@@ -136,6 +150,7 @@ public WildcardFileFilter(final List<String> wildcards, final IOCase caseSensiti
         }
         this.wildcards = wildcards.toArray(new String[wildcards.size()]);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        compile();
     }
 
     //-----------------------------------------------------------------------
@@ -148,12 +163,7 @@ public WildcardFileFilter(final List<String> wildcards, final IOCase caseSensiti
      */
     @Override
     public boolean accept(final File dir, final String name) {
-        for (final String wildcard : wildcards) {
-            if (FilenameUtils.wildcardMatch(name, wildcard, caseSensitivity)) {
-                return true;
-            }
-        }
-        return false;
+        return matches(name);
     }
 
     /**
@@ -164,13 +174,41 @@ public boolean accept(final File dir, final String name) {
      */
     @Override
     public boolean accept(final File file) {
-        final String name = file.getName();
-        for (final String wildcard : wildcards) {
-            if (FilenameUtils.wildcardMatch(name, wildcard, caseSensitivity)) {
-                return true;
-            }
+        return matches(file.getName());
+    }
+
+    /**
+     * Checks to see if the file name matches one of the wildcards, without creating a File.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file name matches one of the wildcards
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, WildcardFileFilter.class)) {
+            return accept(path.toFile());
         }
-        return false;
+        return matches(getName(path));
+    }
+
+    private boolean matches(final String name) {
+        return matcher != null ? matcher.matches(name) : automaton.matches(name);
+    }
+
+    private void compile() {
+        // a null wildcard matches nothing
+        if (wildcards.length == 1 && wildcards[0] != null) {
+            matcher = new WildcardMatcher(wildcards[0], caseSensitivity);
+        } else {
+            automaton = new WildcardAutomaton(wildcards, caseSensitivity);
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        compile();
     }
 
     /**
@@ -195,4 +233,15 @@ public String toString() {
         return buffer.toString();
     }
 
+    /**
+     * Returns {@link FilterCost#NAME}, as only the name of the file is checked.
+     *
+     * @return {@link FilterCost#NAME}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.NAME;
+    }
+
 }
@@ -18,6 +18,8 @@
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 
 import org.apache.commons.io.FilenameUtils;
@@ -140,4 +142,40 @@ public boolean accept(final File file) {
         return false;
     }
 
+    /**
+     * Checks to see if the file name matches one of the wildcards, using the attributes of the file.
+     *
+     * @param path  the path of the file to check
+     * @param attributes  the attributes of the file, already read by the caller
+     * @return true if the file name matches one of the wildcards
+     * @since 2.7
+     */
+    @Override
+    public boolean accept(final Path path, final BasicFileAttributes attributes) {
+        if (!isOwnAccept(this, WildcardFilter.class)) {
+            return accept(path.toFile());
+        }
+        if (attributes.isDirectory()) {
+            return false;
+        }
+        final String name = getName(path);
+        for (final String wildcard : wildcards) {
+            if (FilenameUtils.wildcardMatch(name, wildcard)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@link FilterCost#METADATA}, as the attributes of the file are read.
+     *
+     * @return {@link FilterCost#METADATA}
+     * @since 2.7
+     */
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.METADATA;
+    }
+
 }
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link TailerCheckpointStore} that keeps the checkpoints of any number of tailed files in one local
+ * properties file, keyed by the absolute path of the tailed file.
+ * <p>
+ * Saved checkpoints are kept in memory and written out at most once per flush interval, one second by default.
+ * They are written by a save or by {@link #flushIfDue()} once the interval has passed, and by {@link #flush()}.
+ * A {@link Tailer} calls {@link #flushIfDue()} each time it finds no new lines, and {@link #flush()} when it
+ * stops. The tailers of a {@link TailerGroup} can therefore share one store without each save rewriting the
+ * whole file. A crash loses at most the checkpoints of the last interval and tailer delay, and those files are
+ * read again from an earlier position.
+ * </p>
+ * <p>
+ * Every write goes to a temporary file next to the store, which is forced to the device and then renamed over
+ * the store, so that a crash never leaves a partly written store behind. The store is read once, on the first
+ * load or save.
+ * </p>
+ *
+ * @since 2.7
+ */
+public class FileTailerCheckpointStore implements TailerCheckpointStore {
+
+    /** The default flush interval in milliseconds. */
+    private static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+    private final Path path;
+    private final long flushIntervalNanos;
+    /** Serializes the writes of the store, which are made without holding the lock of the checkpoints. */
+    private final Object writeLock = new Object();
+    private Properties checkpoints;
+    /** Whether checkpoints were saved since the last write. */
+    private boolean dirty;
+    /** When the next save writes the store, in {@link System#nanoTime()} units. */
+    private long nextFlush;
+
+    /**
+     * Creates a store backed by the given file, which need not exist yet, with a flush interval of one second.
+     *
+     * @param file the file to keep the checkpoints in
+     * @throws NullPointerException if the file is null
+     */
+    public FileTailerCheckpointStore(final File file) {
+        this(file, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Creates a store backed by the given file, which need not exist yet.
+     *
+     * @param file the file to keep the checkpoints in
+     * @param flushIntervalMillis the minimum time between writes of the store in milliseconds, 0 to write it on
+     * every save
+     * @throws NullPointerException if the file is null
+     * @throws IllegalArgumentException if the interval is negative
+     */
+    public FileTailerCheckpointStore(final File file, final long flushIntervalMillis) {
+        if (file == null) {
+            throw new NullPointerException("file");
+        }
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("Negative flush interval: " + flushIntervalMillis);
+        }
+        this.path = file.getAbsoluteFile().toPath();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.nextFlush = System.nanoTime();
+    }
+
+    /**
+     * Loads the checkpoint of a file, reading the store on the first call.
+     *
+     * @param file the tailed file
+     * @return the last checkpoint saved for the file, or null if there is none
+     * @throws IOException if the store cannot be read, or holds an invalid checkpoint for the file
+     */
+    @Override
+    public synchronized TailerCheckpoint load(final File file) throws IOException {
+        final String value = checkpoints().getProperty(file.getAbsolutePath());
+        if (value == null) {
+            return null;
+        }
+        // "position" or "position fileKey"
+        final int space = value.indexOf(' ');
+        try {
+            if (space < 0) {
+                return new TailerCheckpoint(null, Long.parseLong(value));
+            }
+            return new TailerCheckpoint(value.substring(space + 1), Long.parseLong(value.substring(0, space)));
+        } catch (final IllegalArgumentException e) {
+            throw new IOException("Invalid checkpoint for " + file + " in " + path + ": " + value, e);
+        }
+    }
+
+    /**
+     * Saves the checkpoint of a file in memory, and writes the store if the flush interval has passed since the
+     * last write.
+     *
+     * @param file the tailed file
+     * @param checkpoint the checkpoint
+     * @throws IOException if the store cannot be read or written
+     */
+    @Override
+    public void save(final File file, final TailerCheckpoint checkpoint) throws IOException {
+        final String value = checkpoint.getFileKey() == null ? Long.toString(checkpoint.getPosition())
+                : checkpoint.getPosition() + " " + checkpoint.getFileKey();
+        synchronized (this) {
+            checkpoints().setProperty(file.getAbsolutePath(), value);
+            dirty = true;
+        }
+        flushIfDue();
+    }
+
+    /**
+     * Writes the checkpoints saved since the last write, if any, and if the flush interval has passed since the
+     * last write.
+     *
+     * @throws IOException if the store cannot be written
+     */
+    @Override
+    public void flushIfDue() throws IOException {
+        if (isDue()) {
+            flush();
+        }
+    }
+
+    /**
+     * Checks whether the store is dirty and the flush interval has passed, and if so starts the next interval,
+     * so that only one thread writes per interval.
+     *
+     * @return whether the store is to be written now
+     */
+    private synchronized boolean isDue() {
+        if (!dirty) {
+            return false;
+        }
+        final long now = System.nanoTime();
+        if (now - nextFlush < 0) {
+            return false;
+        }
+        nextFlush = now + flushIntervalNanos;
+        return true;
+    }
+
+    /**
+     * Writes the checkpoints saved since the last write, if any.
+     *
+     * @throws IOException if the store cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            final Properties snapshot;
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                snapshot = (Properties) checkpoints.clone();
+                dirty = false;
+            }
+            try {
+                write(snapshot);
+            } catch (final IOException e) {
+                synchronized (this) {
+                    dirty = true;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Writes the store through a temporary file that is forced to the device before it is renamed.
+     *
+     * @param properties the checkpoints to write
+     * @throws IOException if the store cannot be written
+     */
+    private void write(final Properties properties) throws IOException {
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final OutputStream out = Channels.newOutputStream(channel);
+            properties.store(out, null);
+            out.flush();
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Properties checkpoints() throws IOException {
+        if (checkpoints == null) {
+            final Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            } catch (final NoSuchFileException e) {
+                // nothing saved yet
+            }
+            checkpoints = properties;
+        }
+        return checkpoints;
+    }
+
+    @Override
+    public String toString() {
+        return "FileTailerCheckpointStore[" + path + "]";
+    }
+}
@@ -24,8 +24,17 @@
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.FileUtils;
 
 /**
  * Simple implementation of the unix "tail -f" functionality.
@@ -111,8 +120,32 @@
  * <p>If you interrupt a tailer, the tailer listener is called with the {@link InterruptedException}.</p>
  *
  * <p>The file is read using the default charset; this can be overridden if necessary</p>
+ *
+ * <h2>5. Batches of lines</h2>
+ * <p>A listener that also implements {@link TailerBatchListener} receives the lines of each read of the file in one
+ * {@link TailerLineBatch}, as re-used byte or character buffers instead of Strings.</p>
+ *
+ * <h2>6. Watching the file</h2>
+ * <p>By default a tailer sleeps for the delay between checks of the file. A tailer created with <code>watch</code>
+ * set to true registers the directory of the file with a {@link WatchService} and checks the file as soon as it is
+ * created or modified, so new lines are seen within milliseconds while an idle tailer does not touch the file;
+ * the delay is only a safety net.</p>
+ *
+ * <h2>7. Tailing many files</h2>
+ * <p>A thread per tailer does not scale to hundreds of files; a {@link TailerGroup} follows them all with a few
+ * threads and one read buffer per thread.</p>
+ *
+ * <h2>8. Rotation and restarts</h2>
+ * <p>The tailer notices that the file was rotated when it gets shorter, or, where the file system provides
+ * {@link BasicFileAttributes#fileKey() file keys}, when the path names a different file, as after a rename
+ * and re-create. Unless the tailer reopens the file between checks, the rest of the renamed file is read from the
+ * still open old file before the new one. A tailer created with a {@link TailerCheckpointStore} saves the file key
+ * and position after each read, and resumes from there when it is restarted.</p>
  * @see TailerListener
  * @see TailerListenerAdapter
+ * @see TailerBatchListener
+ * @see TailerGroup
+ * @see TailerCheckpointStore
  *
  * @since 2.0
  * @since 2.5 Updated behavior and documentation for {@link Thread#interrupt()}
@@ -125,13 +158,56 @@ public class Tailer implements Runnable {
 
     private static final int DEFAULT_BUFSIZE = 4096;
 
+    /** The number of bytes read between checkpoints while catching up with a file. */
+    private static final long CHECKPOINT_BYTES = 1024 * 1024;
+
     // The default charset used for reading files
     private static final Charset DEFAULT_CHARSET = Charset.defaultCharset();
 
     /**
-     * Buffer on top of RandomAccessFile.
+     * The size of the buffer on top of RandomAccessFile.
+     */
+    private final int bufSize;
+
+    /**
+     * The open file, null before it is first opened and while it is closed between checks.
+     */
+    private RandomAccessFile reader;
+
+    /**
+     * Whether the file has been opened once.
+     */
+    private boolean opened;
+
+    /**
+     * The last time the file was checked for changes.
+     */
+    private long last;
+
+    /**
+     * The position within the file.
+     */
+    private long position;
+
+    /**
+     * Whether the last call of readLines stopped before the end of the file to give other files a turn.
+     */
+    private boolean maxBytesReached;
+
+    /**
+     * The key of the open file, see {@link BasicFileAttributes#fileKey()}, null if not supported.
+     */
+    private Object readerKey;
+
+    /**
+     * The position last saved in the checkpoint store, -1 if none.
+     */
+    private long savedPosition = -1;
+
+    /**
+     * The re-used batch of lines for a {@link TailerBatchListener}.
      */
-    private final byte inbuf[];
+    private TailerLineBatch lineBatch;
 
     /**
      * The file which will be tailed.
@@ -163,11 +239,26 @@ public class Tailer implements Runnable {
      */
     private final boolean reOpen;
 
+    /**
+     * Whether to wait for changes with a {@link WatchService} instead of sleeping.
+     */
+    private final boolean watch;
+
+    /**
+     * Where to save the position in the file, null if not saved.
+     */
+    private final TailerCheckpointStore checkpointStore;
+
     /**
      * The tailer will run as long as this value is true.
      */
     private volatile boolean run = true;
 
+    /**
+     * The WatchService while running in watch mode, closed by {@link #stop()} to wake up the tailer.
+     */
+    private volatile WatchService watchService;
+
     /**
      * Creates a Tailer for the given file, starting from the beginning, with the default delay of 1.0s.
      * @param file The file to follow.
@@ -251,17 +342,71 @@ public Tailer(final File file, final TailerListener listener, final long delayMi
     public Tailer(final File file, final Charset charset, final TailerListener listener, final long delayMillis,
                   final boolean end, final boolean reOpen
             , final int bufSize) {
+        this(file, charset, listener, delayMillis, end, reOpen, bufSize, false);
+    }
+
+    /**
+     * Creates a Tailer for the given file, optionally woken up by a {@link WatchService} when the file changes.
+     * <p>
+     * When <code>watch</code> is true, the directory of the file is registered with a {@link WatchService} and
+     * the tailer checks the file as soon as it is created or modified, and otherwise every <code>delayMillis</code>
+     * as a safety net. The delay can then be much longer than when polling. If the directory cannot be watched,
+     * for example because it does not exist or the file system does not support it, the tailer polls.
+     * </p>
+     * @param file the file to follow.
+     * @param charset the Charset to be used for reading the file
+     * @param listener the TailerListener to use.
+     * @param delayMillis the delay between checks of the file for new content in milliseconds, when no
+     * change is reported.
+     * @param end Set to true to tail from the end of the file, false to tail from the beginning of the file.
+     * @param reOpen if true, close and reopen the file between reading chunks
+     * @param bufSize Buffer size
+     * @param watch if true, wait for changes with a WatchService on the directory of the file
+     * @since 2.7
+     */
+    public Tailer(final File file, final Charset charset, final TailerListener listener, final long delayMillis,
+                  final boolean end, final boolean reOpen, final int bufSize, final boolean watch) {
+        this(file, charset, listener, delayMillis, end, reOpen, bufSize, watch, null);
+    }
+
+    /**
+     * Creates a Tailer for the given file, which resumes from the position saved in a checkpoint store.
+     * <p>
+     * The tailer loads the checkpoint of the file when it first opens it. If the file still has the same
+     * {@link BasicFileAttributes#fileKey() file key}, for example the same inode, tailing resumes at the saved
+     * position, whatever the value of <code>end</code>; if the key differs, the file was rotated in the meantime
+     * and is read from its beginning. <code>end</code> only applies to a file without a checkpoint. A new
+     * checkpoint is saved after each read that passed complete lines to the listener, and at least every megabyte
+     * while catching up with a long file.
+     * </p>
+     * @param file the file to follow.
+     * @param charset the Charset to be used for reading the file
+     * @param listener the TailerListener to use.
+     * @param delayMillis the delay between checks of the file for new content in milliseconds, when no
+     * change is reported.
+     * @param end Set to true to tail from the end of the file, false to tail from the beginning of the file.
+     * @param reOpen if true, close and reopen the file between reading chunks
+     * @param bufSize Buffer size
+     * @param watch if true, wait for changes with a WatchService on the directory of the file
+     * @param checkpointStore where to save the position in the file, or null to not save it
+     * @since 2.7
+     */
+    public Tailer(final File file, final Charset charset, final TailerListener listener, final long delayMillis,
+                  final boolean end, final boolean reOpen, final int bufSize, final boolean watch,
+                  final TailerCheckpointStore checkpointStore) {
         this.file = file;
         this.delayMillis = delayMillis;
         this.end = end;
 
-        this.inbuf = new byte[bufSize];
+        this.bufSize = bufSize;
 
         // Save and prepare the listener
         this.listener = listener;
         listener.init(this);
         this.reOpen = reOpen;
         this.charset = charset;
+        this.watch = watch;
+        this.checkpointStore = checkpointStore;
     }
 
     /**
@@ -311,7 +456,53 @@ public static Tailer create(final File file, final TailerListener listener, fina
     public static Tailer create(final File file, final Charset charset, final TailerListener listener,
                                 final long delayMillis, final boolean end, final boolean reOpen
             ,final int bufSize) {
-        final Tailer tailer = new Tailer(file, charset, listener, delayMillis, end, reOpen, bufSize);
+        return create(file, charset, listener, delayMillis, end, reOpen, bufSize, false);
+    }
+
+    /**
+     * Creates and starts a Tailer for the given file, optionally woken up by a {@link WatchService}.
+     *
+     * @param file the file to follow.
+     * @param charset the character set to use for reading the file
+     * @param listener the TailerListener to use.
+     * @param delayMillis the delay between checks of the file for new content in milliseconds, when no
+     * change is reported.
+     * @param end Set to true to tail from the end of the file, false to tail from the beginning of the file.
+     * @param reOpen whether to close/reopen the file between chunks
+     * @param bufSize buffer size.
+     * @param watch whether to wait for changes with a WatchService on the directory of the file
+     * @return The new tailer
+     * @see #Tailer(File, Charset, TailerListener, long, boolean, boolean, int, boolean)
+     * @since 2.7
+     */
+    public static Tailer create(final File file, final Charset charset, final TailerListener listener,
+                                final long delayMillis, final boolean end, final boolean reOpen,
+                                final int bufSize, final boolean watch) {
+        return create(file, charset, listener, delayMillis, end, reOpen, bufSize, watch, null);
+    }
+
+    /**
+     * Creates and starts a Tailer for the given file, which resumes from the position saved in a checkpoint store.
+     *
+     * @param file the file to follow.
+     * @param charset the character set to use for reading the file
+     * @param listener the TailerListener to use.
+     * @param delayMillis the delay between checks of the file for new content in milliseconds, when no
+     * change is reported.
+     * @param end Set to true to tail from the end of the file, false to tail from the beginning of the file.
+     * @param reOpen whether to close/reopen the file between chunks
+     * @param bufSize buffer size.
+     * @param watch whether to wait for changes with a WatchService on the directory of the file
+     * @param checkpointStore where to save the position in the file, or null to not save it
+     * @return The new tailer
+     * @see #Tailer(File, Charset, TailerListener, long, boolean, boolean, int, boolean, TailerCheckpointStore)
+     * @since 2.7
+     */
+    public static Tailer create(final File file, final Charset charset, final TailerListener listener,
+                                final long delayMillis, final boolean end, final boolean reOpen,
+                                final int bufSize, final boolean watch, final TailerCheckpointStore checkpointStore) {
+        final Tailer tailer = new Tailer(file, charset, listener, delayMillis, end, reOpen, bufSize, watch,
+                checkpointStore);
         final Thread thread = new Thread(tailer);
         thread.setDaemon(true);
         thread.start();
@@ -399,123 +590,361 @@ public long getDelay() {
         return delayMillis;
     }
 
+    /**
+     * Gets whether the tailer waits for changes with a {@link WatchService}.
+     *
+     * @return whether the tailer watches the directory of the file.
+     * @since 2.7
+     */
+    public boolean isWatch() {
+        return watch;
+    }
+
     /**
      * Follows changes in the file, calling the TailerListener's handle method for each new line.
      */
     @Override
     public void run() {
-        RandomAccessFile reader = null;
         try {
-            long last = 0; // The last time the file was checked for changes
-            long position = 0; // position within the file
-            // Open the file
-            while (getRun() && reader == null) {
+            if (watch) {
+                watchService = newWatchService();
+            }
+            final byte[] inbuf = new byte[bufSize];
+            // with a checkpoint store, catch up in steps so that the position is saved along the way
+            final long maxBytes = checkpointStore == null ? Long.MAX_VALUE : CHECKPOINT_BYTES;
+            while (getRun()) {
+                if (!check(inbuf, maxBytes)) {
+                    await();
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            listener.handle(e);
+        } catch (final Exception e) {
+            listener.handle(e);
+        } finally {
+            finish();
+            stop();
+        }
+    }
+
+    /**
+     * Checks the file once, reading the new lines, without waiting. The file is opened on the first call, and
+     * closed again before returning if reOpen is set.
+     *
+     * @param inbuf the buffer to read with
+     * @param maxBytes the number of bytes after which to stop reading at the end of a line, so that other files
+     * get their turn
+     * @return true if the file should be checked again right away, because it was rotated or
+     * <code>maxBytes</code> was reached
+     * @throws IOException if an I/O error occurs
+     */
+    boolean check(final byte[] inbuf, final long maxBytes) throws IOException {
+        if (reader == null) {
+            if (opened) {
+                reader = new RandomAccessFile(file, RAF_MODE);
+                final Object key = fileKey();
+                if (key != null && readerKey != null && !key.equals(readerKey)) {
+                    // Replaced while closed between checks, the rest of the old file cannot be read any more
+                    listener.fileRotated();
+                    position = 0;
+                }
+                readerKey = key;
+                reader.seek(position);
+            } else {
+                // Open the file
                 try {
                     reader = new RandomAccessFile(file, RAF_MODE);
                 } catch (final FileNotFoundException e) {
                     listener.fileNotFound();
+                    return false;
                 }
-                if (reader == null) {
-                    Thread.sleep(delayMillis);
-                } else {
-                    // The current position in the file
-                    position = end ? file.length() : 0;
-                    last = file.lastModified();
-                    reader.seek(position);
+                opened = true;
+                readerKey = fileKey();
+                // The current position in the file
+                position = initialPosition();
+                last = file.lastModified();
+                reader.seek(position);
+            }
+        }
+        // IO-279, the modification time must be read before the length, both come from one stat
+        final BasicFileAttributes attributes = attributes();
+        final boolean newer = attributes != null && attributes.lastModifiedTime().toMillis() > last;
+        final long length = attributes != null ? attributes.size() : 0;
+        final Object key = attributes != null ? attributes.fileKey() : null;
+        // Check the file key and length to see if it was rotated: renamed and re-created, or truncated
+        if ((key != null && readerKey != null && !key.equals(readerKey)) || length < position) {
+            // File was rotated
+            listener.fileRotated();
+            // Reopen the reader after rotation ensuring that the old file is closed iff we re-open it
+            // successfully
+            try (RandomAccessFile save = reader) {
+                reader = new RandomAccessFile(file, RAF_MODE);
+                readerKey = fileKey();
+                // At this point, we're sure that the old file is rotated
+                // Finish scanning the old file, which is still open if it was renamed, and then we'll start with
+                // the new one
+                try {
+                    readLines(save, inbuf, Long.MAX_VALUE);
+                }  catch (final IOException ioe) {
+                    listener.handle(ioe);
                 }
+                position = 0;
+                savedPosition = -1;
+                saveCheckpoint();
+            } catch (final FileNotFoundException e) {
+                // in this case we continue to use the previous reader and position values
+                listener.fileNotFound();
+                return false;
             }
-            while (getRun()) {
-                final boolean newer = FileUtils.isFileNewer(file, last); // IO-279, must be done first
-                // Check the file length to see if it was rotated
-                final long length = file.length();
-                if (length < position) {
-                    // File was rotated
-                    listener.fileRotated();
-                    // Reopen the reader after rotation ensuring that the old file is closed iff we re-open it
-                    // successfully
-                    try (RandomAccessFile save = reader) {
-                        reader = new RandomAccessFile(file, RAF_MODE);
-                        // At this point, we're sure that the old file is rotated
-                        // Finish scanning the old file and then we'll start with the new one
-                        try {
-                            readLines(save);
-                        }  catch (final IOException ioe) {
-                            listener.handle(ioe);
-                        }
-                        position = 0;
-                    } catch (final FileNotFoundException e) {
-                        // in this case we continue to use the previous reader and position values
-                        listener.fileNotFound();
-                        Thread.sleep(delayMillis);
+            return true;
+        }
+        // File was not rotated
+        // See if the file needs to be read again
+        maxBytesReached = false;
+        if (length > position) {
+            // The file has more content than it did last time
+            position = readLines(reader, inbuf, maxBytes);
+            last = file.lastModified();
+        } else if (newer) {
+            /*
+             * This can happen if the file is truncated or overwritten with the exact same length of
+             * information. In cases like this, the file position needs to be reset
+             */
+            position = 0;
+            reader.seek(position); // cannot be null here
+
+            // Now we can read new lines
+            position = readLines(reader, inbuf, maxBytes);
+            last = file.lastModified();
+        }
+        saveCheckpoint();
+        if (reOpen) {
+            closeReader();
+        }
+        return maxBytesReached && getRun();
+    }
+
+    /**
+     * Gets the position to start reading from: the saved checkpoint if it is for this very file, otherwise
+     * the start or end of the file.
+     *
+     * @return the position
+     */
+    private long initialPosition() {
+        final long length = file.length();
+        if (checkpointStore != null) {
+            try {
+                final TailerCheckpoint checkpoint = checkpointStore.load(file);
+                if (checkpoint != null) {
+                    savedPosition = checkpoint.getPosition();
+                    if (Objects.equals(checkpoint.getFileKey(), readerKey == null ? null : readerKey.toString())
+                            && checkpoint.getPosition() <= length) {
+                        return checkpoint.getPosition();
                     }
-                    continue;
+                    // Rotated or truncated while not tailed
+                    return 0;
                 }
-                // File was not rotated
-                // See if the file needs to be read again
-                if (length > position) {
-                    // The file has more content than it did last time
-                    position = readLines(reader);
-                    last = file.lastModified();
-                } else if (newer) {
-                    /*
-                     * This can happen if the file is truncated or overwritten with the exact same length of
-                     * information. In cases like this, the file position needs to be reset
-                     */
-                    position = 0;
-                    reader.seek(position); // cannot be null here
+            } catch (final IOException e) {
+                listener.handle(e);
+            }
+        }
+        return end ? length : 0;
+    }
 
-                    // Now we can read new lines
-                    position = readLines(reader);
-                    last = file.lastModified();
-                }
-                if (reOpen && reader != null) {
-                    reader.close();
-                }
-                Thread.sleep(delayMillis);
-                if (getRun() && reOpen) {
-                    reader = new RandomAccessFile(file, RAF_MODE);
-                    reader.seek(position);
+    /**
+     * Saves the position in the checkpoint store if it changed, otherwise lets the store write what it holds.
+     */
+    private void saveCheckpoint() {
+        if (checkpointStore != null) {
+            try {
+                if (position != savedPosition) {
+                    checkpointStore.save(file,
+                            new TailerCheckpoint(readerKey == null ? null : readerKey.toString(), position));
+                    savedPosition = position;
+                } else {
+                    // idle: write a checkpoint the store may still hold in memory
+                    checkpointStore.flushIfDue();
                 }
+            } catch (final IOException e) {
+                listener.handle(e);
             }
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            listener.handle(e);
+        }
+    }
+
+    /**
+     * Reads the attributes of the file.
+     *
+     * @return the attributes, or null if the file does not exist or cannot be read
+     */
+    private BasicFileAttributes attributes() {
+        try {
+            return Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the key of the file, which identifies it whatever its name.
+     *
+     * @return the key, or null if the file does not exist or the file system has no file keys
+     */
+    private Object fileKey() {
+        final BasicFileAttributes attributes = attributes();
+        return attributes != null ? attributes.fileKey() : null;
+    }
+
+    /**
+     * Checks the file once for a {@link TailerGroup}, which has no run loop to report failures: an exception is
+     * passed to the listener and stops the tailer, as in {@link #run()}.
+     *
+     * @param inbuf the buffer to read with
+     * @param maxBytes the number of bytes after which to stop reading at the end of a line
+     * @return true if the file should be checked again right away
+     */
+    boolean checkOrStop(final byte[] inbuf, final long maxBytes) {
+        try {
+            return check(inbuf, maxBytes);
         } catch (final Exception e) {
             listener.handle(e);
-        } finally {
+            stop();
+            return false;
+        }
+    }
+
+    /**
+     * Closes the file, if it is open.
+     */
+    private void closeReader() {
+        if (reader != null) {
             try {
-                if (reader != null) {
-                    reader.close();
-                }
+                reader.close();
+            } catch (final IOException e) {
+                listener.handle(e);
             }
-            catch (final IOException e) {
+            reader = null;
+        }
+    }
+
+    /**
+     * Closes the file, if it is open, and flushes the checkpoint store, once the tailer is done.
+     */
+    void finish() {
+        closeReader();
+        if (checkpointStore != null) {
+            try {
+                checkpointStore.flush();
+            } catch (final IOException e) {
                 listener.handle(e);
             }
-            stop();
+        }
+    }
+
+    /**
+     * Registers the directory of the file with a new WatchService.
+     *
+     * @return the WatchService, or null if the directory cannot be watched
+     */
+    private WatchService newWatchService() {
+        final Path dir = file.getAbsoluteFile().toPath().getParent();
+        if (dir == null) {
+            return null;
+        }
+        WatchService service = null;
+        try {
+            service = dir.getFileSystem().newWatchService();
+            dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            return service;
+        } catch (final IOException | UnsupportedOperationException e) {
+            // no such directory or no support: poll instead
+            if (service != null) {
+                try {
+                    service.close();
+                } catch (final IOException ignored) {
+                    // ignored
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Waits until the file may have changed: for the delay when polling, or until the WatchService reports
+     * the file as created or modified, at most for the delay.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    private void await() throws InterruptedException {
+        final WatchService service = watchService;
+        if (service == null) {
+            Thread.sleep(delayMillis);
+            return;
+        }
+        final Path name = file.toPath().getFileName();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        long remaining = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        try {
+            while (remaining > 0 && getRun()) {
+                WatchKey key = service.poll(remaining, TimeUnit.NANOSECONDS);
+                boolean changed = false;
+                // drain the events queued meanwhile, changes are handled once
+                while (key != null) {
+                    for (final WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) {
+                            changed = true;
+                        }
+                    }
+                    key.reset();
+                    key = service.poll();
+                }
+                if (changed) {
+                    return;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+        } catch (final ClosedWatchServiceException e) {
+            // closed by stop()
         }
     }
 
     /**
      * Allows the tailer to complete its current loop and return.
+     * A tailer waiting for a {@link WatchService} is woken up.
      */
     public void stop() {
         this.run = false;
+        final WatchService service = watchService;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (final IOException e) {
+                listener.handle(e);
+            }
+        }
     }
 
     /**
      * Read new lines.
      *
      * @param reader The file to read
+     * @param inbuf The buffer to read with
+     * @param maxBytes The number of bytes after which to stop at the end of a line
      * @return The new position after the lines have been read
      * @throws java.io.IOException if an I/O error occurs.
      */
-    private long readLines(final RandomAccessFile reader) throws IOException {
+    private long readLines(final RandomAccessFile reader, final byte[] inbuf, final long maxBytes)
+            throws IOException {
+        if (listener instanceof TailerBatchListener) {
+            return readLineBatches(reader, inbuf, maxBytes, (TailerBatchListener) listener);
+        }
         try (ByteArrayOutputStream lineBuf = new ByteArrayOutputStream(64)) {
-            long pos = reader.getFilePointer();
+            final long start = reader.getFilePointer();
+            long pos = start;
             long rePos = pos; // position to re-read
             int num;
             boolean seenCR = false;
-            while (getRun() && ((num = reader.read(inbuf)) != EOF)) {
+            while (getRun() && (pos - start < maxBytes || rePos == start) && ((num = reader.read(inbuf)) != EOF)) {
                 for (int i = 0; i < num; i++) {
                     final byte ch = inbuf[i];
                     switch ( ch ) {
@@ -546,11 +975,84 @@ private long readLines(final RandomAccessFile reader) throws IOException {
 
             reader.seek(rePos); // Ensure we can re-read if necessary
 
-            if (listener instanceof TailerListenerAdapter) {
+            maxBytesReached = pos - start >= maxBytes && rePos != start;
+            if (!maxBytesReached && listener instanceof TailerListenerAdapter) {
                 ((TailerListenerAdapter) listener).endOfFileReached();
             }
 
             return rePos;
         }
     }
+
+    /**
+     * Read new lines without copying them, passing the lines of each read to the listener in one batch.
+     *
+     * @param reader The file to read
+     * @param inbuf The buffer to read with
+     * @param maxBytes The number of bytes after which to stop at the end of a line
+     * @param batchListener The listener
+     * @return The new position after the lines have been read
+     * @throws java.io.IOException if an I/O error occurs.
+     */
+    private long readLineBatches(final RandomAccessFile reader, final byte[] inbuf, final long maxBytes,
+            final TailerBatchListener batchListener) throws IOException {
+        if (lineBatch == null) {
+            lineBatch = new TailerLineBatch(charset);
+        }
+        final TailerLineBatch batch = lineBatch;
+        batch.begin(inbuf);
+        final long start = reader.getFilePointer();
+        long pos = start;
+        long rePos = pos; // position to re-read
+        int num;
+        boolean seenCR = false;
+        while (getRun() && (pos - start < maxBytes || rePos == start) && ((num = reader.read(inbuf)) != EOF)) {
+            batch.clear();
+            int lineStart = 0;
+            int lineEnd = 0; // end of the line content, a pending CR is not included
+            for (int i = 0; i < num; i++) {
+                switch (inbuf[i]) {
+                    case '\n':
+                        seenCR = false; // swallow CR before LF
+                        batch.add(lineStart, lineEnd);
+                        lineStart = lineEnd = i + 1;
+                        rePos = pos + i + 1;
+                        break;
+                    case '\r':
+                        if (seenCR) {
+                            // the previous CR is part of the line
+                            if (i == 0) {
+                                batch.appendCarriageReturn();
+                            } else {
+                                lineEnd = i;
+                            }
+                        }
+                        seenCR = true;
+                        break;
+                    default:
+                        if (seenCR) {
+                            seenCR = false; // swallow final CR
+                            batch.add(lineStart, lineEnd);
+                            lineStart = i;
+                            rePos = pos + i;
+                        }
+                        lineEnd = i + 1;
+                }
+            }
+            if (batch.size() > 0) {
+                batchListener.handle(batch);
+            }
+            batch.endOfRead(lineStart, lineEnd);
+            pos = reader.getFilePointer();
+        }
+
+        reader.seek(rePos); // Ensure we can re-read if necessary
+
+        maxBytesReached = pos - start >= maxBytes && rePos != start;
+        if (!maxBytesReached && listener instanceof TailerListenerAdapter) {
+            ((TailerListenerAdapter) listener).endOfFileReached();
+        }
+
+        return rePos;
+    }
 }
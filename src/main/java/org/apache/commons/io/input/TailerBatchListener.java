@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+/**
+ * A {@link TailerListener} that receives lines in batches, without a String being created for each line.
+ * <p>
+ * When the listener of a {@link Tailer} implements this interface, the lines found by each read of the file
+ * are passed to {@link #handle(TailerLineBatch)} instead of {@link #handle(String)}, which is never called.
+ * The batch and the buffers it returns are re-used, so they must not be kept after the call returns.
+ * </p>
+ * <p>For example, to extend {@link TailerListenerAdapter}:</p>
+ * <pre>
+ *  public class MyTailerListener extends TailerListenerAdapter implements TailerBatchListener {
+ *      public void handle(TailerLineBatch lines) {
+ *          for (int i = 0; i &lt; lines.size(); i++) {
+ *              CharSequence line = lines.chars(i);
+ *              ...
+ *          }
+ *      }
+ *  }</pre>
+ *
+ * @since 2.7
+ */
+public interface TailerBatchListener extends TailerListener {
+
+    /**
+     * Handles the complete lines found by one read of the file.
+     * <p>
+     * <b>Note:</b> this is called from the tailer thread.
+     * @param lines the lines, only valid during this call; never empty.
+     */
+    void handle(TailerLineBatch lines);
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+/**
+ * The position a {@link Tailer} has read a file up to, saved in a {@link TailerCheckpointStore}.
+ * <p>
+ * The file key identifies the file independently of its name, as returned by
+ * {@link java.nio.file.attribute.BasicFileAttributes#fileKey()} in string form, for example the device and
+ * inode on Unix. A checkpoint is only resumed if the file at the path still has the same key, so that a file
+ * rotated while the tailer was not running is read from its beginning.
+ * </p>
+ *
+ * @since 2.7
+ */
+public final class TailerCheckpoint {
+
+    private final String fileKey;
+    private final long position;
+
+    /**
+     * Creates a checkpoint.
+     *
+     * @param fileKey the key of the file, or null if the file system does not provide one
+     * @param position the position in the file, at the start of a line
+     * @throws IllegalArgumentException if the position is negative
+     */
+    public TailerCheckpoint(final String fileKey, final long position) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Negative position: " + position);
+        }
+        this.fileKey = fileKey;
+        this.position = position;
+    }
+
+    /**
+     * Gets the key of the file.
+     *
+     * @return the key, or null if the file system does not provide one
+     */
+    public String getFileKey() {
+        return fileKey;
+    }
+
+    /**
+     * Gets the position in the file.
+     *
+     * @return the position, at the start of a line
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TailerCheckpoint)) {
+            return false;
+        }
+        final TailerCheckpoint other = (TailerCheckpoint) obj;
+        return position == other.position
+                && (fileKey == null ? other.fileKey == null : fileKey.equals(other.fileKey));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (fileKey == null ? 0 : fileKey.hashCode()) + Long.hashCode(position);
+    }
+
+    @Override
+    public String toString() {
+        return "TailerCheckpoint[fileKey=" + fileKey + ", position=" + position + "]";
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Persists how far a {@link Tailer} has read its file, so that a restarted tailer resumes where it stopped
+ * instead of reading the file again or skipping to its end.
+ * <p>
+ * The tailer loads the checkpoint of its file when it first opens it, and saves one each time it has passed
+ * complete lines to its listener, and flushes the store when it stops. A store may be shared by the
+ * tailers of a {@link TailerGroup}, so implementations must be thread-safe.
+ * </p>
+ *
+ * @see FileTailerCheckpointStore
+ * @since 2.7
+ */
+public interface TailerCheckpointStore {
+
+    /**
+     * Loads the checkpoint of a file.
+     *
+     * @param file the tailed file
+     * @return the last checkpoint saved for the file, or null if there is none
+     * @throws IOException if the checkpoint cannot be read
+     */
+    TailerCheckpoint load(File file) throws IOException;
+
+    /**
+     * Saves the checkpoint of a file, replacing the previous one.
+     *
+     * @param file the tailed file
+     * @param checkpoint the checkpoint
+     * @throws IOException if the checkpoint cannot be written
+     */
+    void save(File file, TailerCheckpoint checkpoint) throws IOException;
+
+    /**
+     * Writes out checkpoints that {@link #save(File, TailerCheckpoint)} kept in memory. A tailer calls this when
+     * it stops. The default implementation does nothing, for stores that write on every save.
+     *
+     * @throws IOException if the checkpoints cannot be written
+     */
+    default void flush() throws IOException {
+        // saved checkpoints are already written
+    }
+
+    /**
+     * Writes out checkpoints kept in memory if the store is due to be written. A tailer calls this each time it
+     * finds no new lines, so that a checkpoint saved just before its file went idle is still written in time.
+     * The default implementation does nothing, for stores that write on every save.
+     *
+     * @throws IOException if the checkpoints cannot be written
+     */
+    default void flushIfDue() throws IOException {
+        // saved checkpoints are already written
+    }
+
+}
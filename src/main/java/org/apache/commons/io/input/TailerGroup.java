@@ -0,0 +1,441 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Follows many files with a fixed number of threads, instead of one thread per {@link Tailer}.
+ * <p>
+ * A dispatcher thread decides which files need to be checked: all of them every <code>delayMillis</code>, and,
+ * when the group watches, a file as soon as a {@link WatchService} on its directory reports it as created or
+ * modified, which covers new content and rotation. The files to check wait in one first-in, first-out queue
+ * served by the worker threads. Each worker reads with its own buffer, shared by all the files it serves, so
+ * memory does not grow with the number of files. A turn reads at most sixteen buffers worth of a file, up to the
+ * end of a line, after which the file goes to the back of the queue: a busy file cannot starve the others.
+ * </p>
+ * <p>
+ * The files are tailed by {@link Tailer}s that are never run on a thread of their own. They behave like a tailer
+ * that does not reopen the file between checks: listeners are called in the same way, from a worker thread, but
+ * never concurrently for the same file. Stopping a tailer, for example from its listener, removes it from the
+ * group. A listener may also stop the whole group.
+ * </p>
+ * <pre>
+ *      TailerGroup group = new TailerGroup(2, 5000, true);
+ *      for (File file : files) {
+ *          group.add(file, new MyTailerListener());
+ *      }
+ *      group.start();
+ *      ...
+ *      group.stop();
+ * </pre>
+ *
+ * @see Tailer
+ * @since 2.7
+ */
+public class TailerGroup {
+
+    private static final int DEFAULT_BUFSIZE = 4096;
+
+    /** The number of buffers a turn reads at most. */
+    private static final int BUFFERS_PER_TURN = 16;
+
+    // The default charset used for reading files
+    private static final Charset DEFAULT_CHARSET = Charset.defaultCharset();
+
+    private static final int IDLE = 0;
+    private static final int QUEUED = 1;
+    private static final int RUNNING = 2;
+    /** Running and to be queued again when done. */
+    private static final int RUNNING_SIGNALLED = 3;
+
+    private final int threads;
+    private final long delayMillis;
+    private final boolean watch;
+    private final int bufSize;
+
+    private final List<Member> members = new CopyOnWriteArrayList<>();
+    private final Map<Path, List<Member>> membersByDirectory = new ConcurrentHashMap<>();
+    private final Set<Path> watchedDirectories = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Member> ready = new LinkedBlockingQueue<>();
+    private final List<Thread> groupThreads = new ArrayList<>();
+    private volatile WatchService watchService;
+    private volatile boolean running;
+    private boolean stopped;
+    /** The worker thread that called {@link #stop()} from a listener, and finishes the stop when its loop exits. */
+    private volatile Thread stoppingThread;
+
+    /**
+     * Creates a group with the default buffer size.
+     *
+     * @param threads the number of threads reading files.
+     * @param delayMillis the delay between checks of all files for new content in milliseconds.
+     * @param watch whether to check files as soon as a WatchService on their directory reports changes.
+     */
+    public TailerGroup(final int threads, final long delayMillis, final boolean watch) {
+        this(threads, delayMillis, watch, DEFAULT_BUFSIZE);
+    }
+
+    /**
+     * Creates a group.
+     *
+     * @param threads the number of threads reading files.
+     * @param delayMillis the delay between checks of all files for new content in milliseconds.
+     * @param watch whether to check files as soon as a WatchService on their directory reports changes.
+     * @param bufSize the size of the buffer of each thread.
+     * @throws IllegalArgumentException if the number of threads, the delay or the buffer size is not positive
+     */
+    public TailerGroup(final int threads, final long delayMillis, final boolean watch, final int bufSize) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads must be positive: " + threads);
+        }
+        if (delayMillis <= 0) {
+            throw new IllegalArgumentException("Delay must be positive: " + delayMillis);
+        }
+        if (bufSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufSize);
+        }
+        this.threads = threads;
+        this.delayMillis = delayMillis;
+        this.watch = watch;
+        this.bufSize = bufSize;
+    }
+
+    /**
+     * Adds a file to follow from the beginning, read with the default charset.
+     *
+     * @param file the file to follow.
+     * @param listener the TailerListener to use.
+     * @return the tailer of the file, which can be stopped to remove the file from the group.
+     */
+    public Tailer add(final File file, final TailerListener listener) {
+        return add(file, DEFAULT_CHARSET, listener, false);
+    }
+
+    /**
+     * Adds a file to follow. If the group is running, the file is checked right away.
+     *
+     * @param file the file to follow.
+     * @param charset the Charset to be used for reading the file
+     * @param listener the TailerListener to use.
+     * @param end Set to true to tail from the end of the file, false to tail from the beginning of the file.
+     * @return the tailer of the file, which can be stopped to remove the file from the group.
+     */
+    public Tailer add(final File file, final Charset charset, final TailerListener listener, final boolean end) {
+        return add(file, charset, listener, end, null);
+    }
+
+    /**
+     * Adds a file to follow, which resumes from the position saved in a checkpoint store. If the group is
+     * running, the file is checked right away.
+     *
+     * @param file the file to follow.
+     * @param charset the Charset to be used for reading the file
+     * @param listener the TailerListener to use.
+     * @param end Set to true to tail from the end of a file without checkpoint, false to tail from its beginning.
+     * @param checkpointStore where to save the position in the file, or null to not save it; may be shared by
+     * all the files of the group
+     * @return the tailer of the file, which can be stopped to remove the file from the group.
+     * @see Tailer#Tailer(File, Charset, TailerListener, long, boolean, boolean, int, boolean, TailerCheckpointStore)
+     */
+    public Tailer add(final File file, final Charset charset, final TailerListener listener, final boolean end,
+            final TailerCheckpointStore checkpointStore) {
+        final Tailer tailer = new Tailer(file, charset, listener, delayMillis, end, false, bufSize, false,
+                checkpointStore);
+        final Member member = new Member(tailer);
+        members.add(member);
+        membersByDirectory.computeIfAbsent(member.directory, k -> new CopyOnWriteArrayList<>()).add(member);
+        if (running) {
+            watchDirectory(member.directory);
+            schedule(member);
+        }
+        return tailer;
+    }
+
+    /**
+     * Stops a tailer of this group and removes its file from the group.
+     *
+     * @param tailer the tailer returned by <code>add</code>.
+     */
+    public void remove(final Tailer tailer) {
+        tailer.stop();
+        for (final Member member : members) {
+            if (member.tailer == tailer) {
+                schedule(member);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of files followed by this group.
+     *
+     * @return the number of files.
+     */
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Starts the dispatcher and worker threads, as daemon threads.
+     *
+     * @throws IllegalStateException if the group has already been started.
+     */
+    public synchronized void start() {
+        if (!groupThreads.isEmpty()) {
+            throw new IllegalStateException("Already started");
+        }
+        running = true;
+        if (watch) {
+            try {
+                watchService = new File(".").toPath().getFileSystem().newWatchService();
+            } catch (final IOException | UnsupportedOperationException e) {
+                // poll only
+            }
+        }
+        groupThreads.add(new Thread(this::dispatch, "TailerGroup-dispatcher"));
+        for (int i = 0; i < threads; i++) {
+            groupThreads.add(new Thread(this::work, "TailerGroup-worker-" + i));
+        }
+        for (final Thread thread : groupThreads) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops all tailers of this group and waits for the threads to finish. Does nothing if the group is already
+     * stopped.
+     * <p>
+     * When called by a listener, on a worker thread of the group, this returns without waiting: the worker
+     * finishes the stop, waiting for the other threads and closing the files, once the listener has returned.
+     * </p>
+     *
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    public void stop() throws InterruptedException {
+        final Thread current = Thread.currentThread();
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            running = false;
+            final WatchService service = watchService;
+            if (service != null) {
+                try {
+                    service.close();
+                } catch (final IOException e) {
+                    // closing anyway
+                }
+            }
+            for (final Thread thread : groupThreads) {
+                if (thread != current) {
+                    thread.interrupt();
+                }
+            }
+            if (groupThreads.contains(current)) {
+                // joining this thread would never return
+                stoppingThread = current;
+                return;
+            }
+        }
+        finishStop(current);
+    }
+
+    /**
+     * Waits for the threads of the group other than the current one, then stops and closes all tailers.
+     *
+     * @param current the current thread
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    private void finishStop(final Thread current) throws InterruptedException {
+        for (final Thread thread : groupThreads) {
+            if (thread != current) {
+                thread.join();
+            }
+        }
+        for (final Member member : members) {
+            member.tailer.stop();
+            member.tailer.finish();
+        }
+        members.clear();
+        membersByDirectory.clear();
+        ready.clear();
+    }
+
+    /**
+     * Queues a file to be checked, unless it is already queued. A file being checked is queued again when done.
+     */
+    private void schedule(final Member member) {
+        while (true) {
+            final int state = member.state.get();
+            if (state == IDLE) {
+                if (member.state.compareAndSet(IDLE, QUEUED)) {
+                    ready.add(member);
+                    return;
+                }
+            } else if (state == RUNNING) {
+                if (member.state.compareAndSet(RUNNING, RUNNING_SIGNALLED)) {
+                    return;
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Registers a directory with the WatchService, if not done yet.
+     */
+    private void watchDirectory(final Path directory) {
+        final WatchService service = watchService;
+        if (service != null && !watchedDirectories.contains(directory)) {
+            try {
+                directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                watchedDirectories.add(directory);
+            } catch (final IOException | ClosedWatchServiceException e) {
+                // does not exist yet, polled and retried on the next delay
+            }
+        }
+    }
+
+    /**
+     * Queues the files reported by the WatchService, and all files every delay.
+     */
+    private void dispatch() {
+        final long delayNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        long nextPoll = System.nanoTime();
+        try {
+            while (running) {
+                final long remaining = nextPoll - System.nanoTime();
+                if (remaining <= 0) {
+                    for (final Member member : members) {
+                        watchDirectory(member.directory);
+                        schedule(member);
+                    }
+                    nextPoll = System.nanoTime() + delayNanos;
+                    continue;
+                }
+                final WatchService service = watchService;
+                if (service == null) {
+                    TimeUnit.NANOSECONDS.sleep(remaining);
+                    continue;
+                }
+                WatchKey key = service.poll(remaining, TimeUnit.NANOSECONDS);
+                while (key != null) {
+                    final List<Member> directoryMembers = membersByDirectory.get((Path) key.watchable());
+                    if (directoryMembers != null) {
+                        for (final WatchEvent<?> event : key.pollEvents()) {
+                            for (final Member member : directoryMembers) {
+                                if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                                        || member.name.equals(event.context())) {
+                                    schedule(member);
+                                }
+                            }
+                        }
+                    } else {
+                        key.pollEvents();
+                    }
+                    key.reset();
+                    key = service.poll();
+                }
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * Checks the queued files with the buffer of this thread.
+     */
+    private void work() {
+        final byte[] inbuf = new byte[bufSize];
+        final long maxBytes = (long) bufSize * BUFFERS_PER_TURN;
+        try {
+            while (running) {
+                final Member member = ready.take();
+                member.state.set(RUNNING);
+                final Tailer tailer = member.tailer;
+                boolean again = tailer.getRun() && tailer.checkOrStop(inbuf, maxBytes);
+                if (!tailer.getRun()) {
+                    // stopped by the listener, a failure or remove
+                    tailer.finish();
+                    members.remove(member);
+                    final List<Member> directoryMembers = membersByDirectory.get(member.directory);
+                    if (directoryMembers != null) {
+                        directoryMembers.remove(member);
+                    }
+                    continue;
+                }
+                if (!again && !member.state.compareAndSet(RUNNING, IDLE)) {
+                    // signalled while running
+                    again = true;
+                }
+                if (again) {
+                    member.state.set(QUEUED);
+                    ready.add(member);
+                }
+            }
+        } catch (final InterruptedException e) {
+            // stopped
+        }
+        if (stoppingThread == Thread.currentThread()) {
+            try {
+                finishStop(Thread.currentThread());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * A file of the group.
+     */
+    private static final class Member {
+
+        final Tailer tailer;
+        final Path directory;
+        final Path name;
+        final AtomicInteger state = new AtomicInteger(IDLE);
+
+        Member(final Tailer tailer) {
+            this.tailer = tailer;
+            final Path path = tailer.getFile().getAbsoluteFile().toPath();
+            this.directory = path.getParent();
+            this.name = path.getFileName();
+        }
+    }
+}
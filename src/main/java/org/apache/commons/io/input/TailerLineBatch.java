@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * The lines found by one read of a tailed file, passed to a {@link TailerBatchListener}.
+ * <p>
+ * Lines are not copied out of the read buffer of the {@link Tailer}; only a line that started in an earlier
+ * read is assembled in a separate buffer. {@link #bytes(int)} returns a read-only view of the bytes of a
+ * line and {@link #chars(int)} decodes them into a re-used buffer with a re-used {@link CharsetDecoder}.
+ * Malformed input is replaced, as by {@link String#String(byte[], Charset)}.
+ * </p>
+ * <p>
+ * The batch and everything it returns are only valid during the call to
+ * {@link TailerBatchListener#handle(TailerLineBatch)}, and the result of {@link #bytes(int)} or
+ * {@link #chars(int)} only until the next call of either method. Use <code>chars(i).toString()</code>
+ * to keep a line.
+ * </p>
+ *
+ * @since 2.7
+ */
+public final class TailerLineBatch {
+
+    /** The read buffer of the tailer. */
+    private byte[] inbuf;
+    private ByteBuffer inbufView;
+    private final CharsetDecoder decoder;
+    private CharBuffer charBuffer = CharBuffer.allocate(128);
+
+    /** The start of a line that spans reads. */
+    private byte[] carry = new byte[64];
+    private ByteBuffer carryView = ByteBuffer.wrap(carry).asReadOnlyBuffer();
+    private int carryLength;
+    /** Whether the first line of this batch is in the carry buffer. */
+    private boolean firstInCarry;
+
+    private int[] offsets = new int[16];
+    private int[] lengths = new int[16];
+    private int size;
+
+    /**
+     * Creates a batch.
+     *
+     * @param charset the charset of the file
+     */
+    TailerLineBatch(final Charset charset) {
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Gets the number of lines in this batch.
+     *
+     * @return the number of lines
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the bytes of a line, without its line terminator.
+     *
+     * @param index the index of the line
+     * @return a read-only buffer positioned on the line, valid until the next call of this method
+     * or {@link #chars(int)}
+     * @throws IndexOutOfBoundsException if the index is not less than {@link #size()}
+     */
+    public ByteBuffer bytes(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        final ByteBuffer view = index == 0 && firstInCarry ? carryView : inbufView;
+        view.clear();
+        view.position(offsets[index]);
+        view.limit(offsets[index] + lengths[index]);
+        return view;
+    }
+
+    /**
+     * Gets a line decoded with the charset of the tailer.
+     *
+     * @param index the index of the line
+     * @return the line, valid until the next call of this method or {@link #bytes(int)}
+     * @throws IndexOutOfBoundsException if the index is not less than {@link #size()}
+     */
+    public CharSequence chars(final int index) {
+        final ByteBuffer in = bytes(index);
+        final int estimate = (int) (in.remaining() * (double) decoder.averageCharsPerByte()) + 1;
+        if (charBuffer.capacity() < estimate) {
+            charBuffer = CharBuffer.allocate(Math.max(estimate, charBuffer.capacity() << 1));
+        }
+        while (true) {
+            charBuffer.clear();
+            decoder.reset();
+            CoderResult result = decoder.decode(in, charBuffer, true);
+            if (!result.isOverflow()) {
+                result = decoder.flush(charBuffer);
+            }
+            if (!result.isOverflow()) {
+                break;
+            }
+            // rare, the estimate was too low
+            charBuffer = CharBuffer.allocate(charBuffer.capacity() << 1);
+            in.position(offsets[index]);
+        }
+        charBuffer.flip();
+        return charBuffer;
+    }
+
+    /**
+     * Empties the batch before the next read.
+     */
+    void clear() {
+        size = 0;
+        firstInCarry = false;
+    }
+
+    /**
+     * Prepares for reading the file with the given buffer, discarding the carried start of a line.
+     *
+     * @param buffer the read buffer, which a tailer in a {@link TailerGroup} shares with other files
+     */
+    void begin(final byte[] buffer) {
+        if (buffer != inbuf) {
+            inbuf = buffer;
+            inbufView = ByteBuffer.wrap(buffer).asReadOnlyBuffer();
+        }
+        carryLength = 0;
+    }
+
+    /**
+     * Adds a line that ends in the read buffer. If this is the first line of the batch and earlier reads left the
+     * start of a line, the part in the read buffer is appended to it.
+     *
+     * @param start the start of the line in the read buffer
+     * @param end the end of the line in the read buffer, exclusive
+     */
+    void add(final int start, final int end) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size << 1);
+            lengths = Arrays.copyOf(lengths, size << 1);
+        }
+        if (size == 0 && carryLength > 0) {
+            appendCarry(start, end);
+            firstInCarry = true;
+            offsets[0] = 0;
+            lengths[0] = carryLength;
+        } else {
+            offsets[size] = start;
+            lengths[size] = end - start;
+        }
+        size++;
+    }
+
+    /**
+     * Keeps an incomplete line at the end of the read buffer for the next read.
+     *
+     * @param start the start of the incomplete line in the read buffer
+     * @param end the end of its content in the read buffer, exclusive
+     */
+    void endOfRead(final int start, final int end) {
+        if (firstInCarry) {
+            carryLength = 0;
+        }
+        appendCarry(start, end);
+    }
+
+    /**
+     * Appends a carriage return that turned out to be part of a line that spans reads.
+     */
+    void appendCarriageReturn() {
+        ensureCarry(carryLength + 1);
+        carry[carryLength++] = '\r';
+    }
+
+    private void appendCarry(final int start, final int end) {
+        final int len = end - start;
+        ensureCarry(carryLength + len);
+        System.arraycopy(inbuf, start, carry, carryLength, len);
+        carryLength += len;
+    }
+
+    private void ensureCarry(final int capacity) {
+        if (capacity > carry.length) {
+            carry = Arrays.copyOf(carry, Math.max(capacity, carry.length << 1));
+            carryView = ByteBuffer.wrap(carry).asReadOnlyBuffer();
+        }
+    }
+}
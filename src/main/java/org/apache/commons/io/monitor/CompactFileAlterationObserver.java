@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import java.io.File;
+import java.io.FileFilter;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOCase;
+
+/**
+ * A {@link FileAlterationObserver} that keeps the state of the observed tree in a compact
+ * {@link FileTreeSnapshot} instead of a tree of {@link FileEntry} objects, for trees of millions of files.
+ * <p>
+ * Each check lists the directories as the {@link FileAlterationObserver} does, compares the listings with the
+ * arrays of the previous snapshot and builds the next one, firing the same events in the same order. Only the
+ * attributes compared by {@link FileEntry#refresh(File)} are kept, so custom {@link FileEntry} implementations
+ * are not supported, and directories are always checked on the calling thread: the
+ * {@link #setForkJoinPool(java.util.concurrent.ForkJoinPool) pool} is not used.
+ * </p>
+ *
+ * @see FileTreeSnapshot
+ * @since 2.7
+ */
+public class CompactFileAlterationObserver extends FileAlterationObserver {
+
+    private static final long serialVersionUID = -1823463491262381642L;
+
+    private final IOCase caseSensitivity;
+    private FileTreeSnapshot snapshot;
+
+    /**
+     * Construct an observer for the specified directory.
+     *
+     * @param directory the directory to observe
+     */
+    public CompactFileAlterationObserver(final File directory) {
+        this(directory, null);
+    }
+
+    /**
+     * Construct an observer for the specified directory and file filter.
+     *
+     * @param directory the directory to observe
+     * @param fileFilter The file filter or null if none
+     */
+    public CompactFileAlterationObserver(final File directory, final FileFilter fileFilter) {
+        this(directory, fileFilter, null);
+    }
+
+    /**
+     * Construct an observer for the specified directory, file filter and
+     * file comparator.
+     *
+     * @param directory the directory to observe
+     * @param fileFilter The file filter or null if none
+     * @param caseSensitivity  what case sensitivity to use comparing file names, null means system sensitive
+     */
+    public CompactFileAlterationObserver(final File directory, final FileFilter fileFilter,
+                                         final IOCase caseSensitivity) {
+        super(new FileEntry(directory), fileFilter, caseSensitivity);
+        this.caseSensitivity = caseSensitivity == null ? IOCase.SYSTEM : caseSensitivity;
+    }
+
+    /**
+     * Return the snapshot of the last check. It is not copied.
+     *
+     * @return the snapshot, or null before the observer is initialized
+     */
+    @Override
+    public FileTreeSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    void restoreState(final FileTreeSnapshot restored) {
+        final FileEntry root = getRootEntry();
+        root.setExists(restored.isExists(0));
+        root.setDirectory(restored.isDirectory(0));
+        root.setLastModified(restored.getLastModified(0));
+        root.setLength(restored.getLength(0));
+        snapshot = restored;
+    }
+
+    /**
+     * Initialize the observer, taking the first snapshot.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Override
+    public void initialize() throws Exception {
+        if (takeRestored()) {
+            return;
+        }
+        final FileEntry root = getRootEntry();
+        root.refresh(root.getFile());
+        final FileTreeSnapshot next = new FileTreeSnapshot(16);
+        next.add(root.getName(), root.getFile());
+        check(null, -1, root.getFile(), true, next, 0, false);
+        snapshot = next.trim();
+    }
+
+    /**
+     * Check whether the file and its children have been created, modified or deleted.
+     */
+    @Override
+    public void checkAndNotify() {
+        doStart();
+        final FileEntry root = getRootEntry();
+        final File rootFile = root.getFile();
+        final boolean exists = rootFile.exists();
+        if (exists || root.isExists()) {
+            final FileTreeSnapshot previous = snapshot;
+            final FileTreeSnapshot next = new FileTreeSnapshot(previous == null ? 16 : previous.size() + 16);
+            next.add(root.getName(), root.getLastModified(), root.getLength(),
+                    (byte) ((root.isExists() ? FileTreeSnapshot.EXISTS : 0)
+                            | (root.isDirectory() ? FileTreeSnapshot.DIRECTORY : 0)));
+            check(previous, previous == null ? -1 : 0, rootFile, exists, next, 0, true);
+            snapshot = next.trim();
+        }
+        doStop();
+    }
+
+    /**
+     * Compare a directory with its entry in the previous snapshot, adding its current children to the next
+     * snapshot.
+     *
+     * @param previous the previous snapshot, null if none
+     * @param previousIndex the entry of the directory in the previous snapshot, -1 if it is new
+     * @param directory the directory
+     * @param list whether to list the directory, false if it is not a directory any more
+     * @param next the snapshot being built
+     * @param nextIndex the entry of the directory in the next snapshot
+     * @param notify whether to fire events
+     */
+    private void check(final FileTreeSnapshot previous, final int previousIndex, final File directory,
+            final boolean list, final FileTreeSnapshot next, final int nextIndex, final boolean notify) {
+        final File[] files = list ? listFiles(directory) : FileUtils.EMPTY_FILE_ARRAY;
+        final int previousFirst = previousIndex < 0 ? 0 : previous.firstChild(previousIndex);
+        final int previousCount = previousIndex < 0 ? 0 : previous.childCount(previousIndex);
+
+        // merge the sorted lists: the previous entry (-1 if created) and file (-1 if deleted) of each child
+        final int[] previousEntries = new int[previousCount + files.length];
+        final int[] currentFiles = new int[previousCount + files.length];
+        int ops = 0;
+        int c = 0;
+        for (int p = previousFirst; p < previousFirst + previousCount; p++) {
+            final String name = previous.name(p);
+            while (c < files.length && caseSensitivity.checkCompareTo(name, files[c].getName()) > 0) {
+                previousEntries[ops] = -1;
+                currentFiles[ops++] = c++;
+            }
+            if (c < files.length && caseSensitivity.checkCompareTo(name, files[c].getName()) == 0) {
+                previousEntries[ops] = p;
+                currentFiles[ops++] = c++;
+            } else {
+                previousEntries[ops] = p;
+                currentFiles[ops++] = -1;
+            }
+        }
+        for (; c < files.length; c++) {
+            previousEntries[ops] = -1;
+            currentFiles[ops++] = c;
+        }
+
+        // the children are added next to each other, in the order of the files
+        final int first = next.size();
+        for (int op = 0; op < ops; op++) {
+            if (currentFiles[op] >= 0) {
+                final File file = files[currentFiles[op]];
+                next.add(previousEntries[op] >= 0 ? previous.name(previousEntries[op]) : file.getName(), file);
+            }
+        }
+        next.setChildren(nextIndex, first, files.length);
+
+        for (int op = 0; op < ops; op++) {
+            final int p = previousEntries[op];
+            if (currentFiles[op] < 0) {
+                deleted(previous, p, new File(directory, previous.name(p)), notify);
+                continue;
+            }
+            final File file = files[currentFiles[op]];
+            final int n = first + currentFiles[op];
+            if (p < 0) {
+                if (notify) {
+                    fire(FileAlterationListener::onDirectoryCreate, FileAlterationListener::onFileCreate,
+                            next.directory(n), file);
+                }
+            } else if (notify && next.changed(n, previous, p)) {
+                fire(FileAlterationListener::onDirectoryChange, FileAlterationListener::onFileChange,
+                        next.directory(n), file);
+            }
+            check(previous, p, file, next.directory(n), next, n, notify);
+        }
+    }
+
+    /**
+     * Fire the delete events of the entries below a deleted entry, then of the entry.
+     */
+    private void deleted(final FileTreeSnapshot previous, final int index, final File file, final boolean notify) {
+        final int first = previous.firstChild(index);
+        for (int child = first; child < first + previous.childCount(index); child++) {
+            deleted(previous, child, new File(file, previous.name(child)), notify);
+        }
+        if (notify) {
+            fire(FileAlterationListener::onDirectoryDelete, FileAlterationListener::onFileDelete,
+                    previous.directory(index), file);
+        }
+    }
+
+    private void fire(final Event directoryEvent, final Event fileEvent, final boolean directory,
+            final File file) {
+        for (final FileAlterationListener listener : getListeners()) {
+            (directory ? directoryEvent : fileEvent).fire(listener, file);
+        }
+    }
+
+    /**
+     * A listener method.
+     */
+    private interface Event {
+        void fire(FileAlterationListener listener, File file);
+    }
+}
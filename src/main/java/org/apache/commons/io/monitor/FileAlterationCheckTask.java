@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Compares one directory of a {@link FileAlterationObserver} with its entry in a {@link java.util.concurrent.ForkJoinPool},
+ * forking a task for each directory below it that still exists.
+ * <p>
+ * The events are not fired while the tree is checked but recorded, and fired afterwards by
+ * {@link #notifyListeners()} on the calling thread, in the order the observer fires them when it checks the tree
+ * on one thread: whatever the number of threads, listeners see the same events in the same order.
+ * </p>
+ */
+final class FileAlterationCheckTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 3409627589340328413L;
+
+    private static final int CREATE = 0;
+    private static final int CHANGE = 1;
+    private static final int DELETE = 2;
+
+    private final FileAlterationObserver observer;
+    private final FileEntry parent;
+    private final File directory;
+    /** The events of this directory and the tasks of the directories below it, in the order to fire them. */
+    private final List<Object> results = new ArrayList<>();
+
+    /**
+     * Construct a task checking a directory.
+     *
+     * @param observer the observer to list files and to notify the listeners of
+     * @param parent the entry of the directory, with its previous children
+     * @param directory the directory to list
+     */
+    FileAlterationCheckTask(final FileAlterationObserver observer, final FileEntry parent, final File directory) {
+        this.observer = observer;
+        this.parent = parent;
+        this.directory = directory;
+    }
+
+    /**
+     * Compare the directory with its entry, as {@link FileAlterationObserver} does, and check the directories
+     * below it in parallel. Files are handled here, without a task of their own.
+     */
+    @Override
+    protected void compute() {
+        final Comparator<File> comparator = observer.getComparator();
+        final FileEntry[] previous = parent.getChildren();
+        final File[] files = observer.listFiles(directory);
+        final List<FileAlterationCheckTask> tasks = new ArrayList<>();
+        int c = 0;
+        final FileEntry[] current = files.length > 0 ? new FileEntry[files.length] : FileEntry.EMPTY_ENTRIES;
+        for (final FileEntry entry : previous) {
+            while (c < files.length && comparator.compare(entry.getFile(), files[c]) > 0) {
+                current[c] = observer.createFileEntry(parent, files[c]);
+                created(current[c]);
+                c++;
+            }
+            if (c < files.length && comparator.compare(entry.getFile(), files[c]) == 0) {
+                if (entry.refresh(files[c])) {
+                    results.add(new Event(CHANGE, entry.isDirectory(), files[c]));
+                }
+                if (entry.isDirectory()) {
+                    final FileAlterationCheckTask task = new FileAlterationCheckTask(observer, entry, files[c]);
+                    tasks.add(task);
+                    results.add(task);
+                } else {
+                    // a file has no children to list, but may have been a directory before
+                    for (final FileEntry child : entry.getChildren()) {
+                        deleted(child);
+                    }
+                    entry.setChildren(FileEntry.EMPTY_ENTRIES);
+                }
+                current[c] = entry;
+                c++;
+            } else {
+                deleted(entry);
+            }
+        }
+        for (; c < files.length; c++) {
+            current[c] = observer.createFileEntry(parent, files[c]);
+            created(current[c]);
+        }
+        parent.setChildren(current);
+        invokeAll(tasks);
+        // keep only the tasks with something to fire
+        results.removeIf(result -> result instanceof FileAlterationCheckTask
+                && ((FileAlterationCheckTask) result).results.isEmpty());
+    }
+
+    /**
+     * Record the create events of a new entry and the entries below it.
+     */
+    private void created(final FileEntry entry) {
+        results.add(new Event(CREATE, entry.isDirectory(), entry.getFile()));
+        for (final FileEntry child : entry.getChildren()) {
+            created(child);
+        }
+    }
+
+    /**
+     * Record the delete events of the entries below a deleted entry, then of the entry.
+     */
+    private void deleted(final FileEntry entry) {
+        for (final FileEntry child : entry.getChildren()) {
+            deleted(child);
+        }
+        entry.setChildren(FileEntry.EMPTY_ENTRIES);
+        results.add(new Event(DELETE, entry.isDirectory(), entry.getFile()));
+    }
+
+    /**
+     * Fire the recorded events to the listeners of the observer, once the task is done.
+     */
+    void notifyListeners() {
+        for (final Object result : results) {
+            if (result instanceof Event) {
+                ((Event) result).fire(observer.getListeners());
+            } else {
+                ((FileAlterationCheckTask) result).notifyListeners();
+            }
+        }
+    }
+
+    /**
+     * A recorded event.
+     */
+    private static final class Event {
+
+        private final int type;
+        private final boolean directory;
+        private final File file;
+
+        Event(final int type, final boolean directory, final File file) {
+            this.type = type;
+            this.directory = directory;
+            this.file = file;
+        }
+
+        void fire(final Iterable<FileAlterationListener> listeners) {
+            for (final FileAlterationListener listener : listeners) {
+                switch (type) {
+                case CREATE:
+                    if (directory) {
+                        listener.onDirectoryCreate(file);
+                    } else {
+                        listener.onFileCreate(file);
+                    }
+                    break;
+                case CHANGE:
+                    if (directory) {
+                        listener.onDirectoryChange(file);
+                    } else {
+                        listener.onFileChange(file);
+                    }
+                    break;
+                default:
+                    if (directory) {
+                        listener.onDirectoryDelete(file);
+                    } else {
+                        listener.onFileDelete(file);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+}
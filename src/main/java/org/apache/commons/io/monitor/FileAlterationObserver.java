@@ -23,6 +23,7 @@
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOCase;
@@ -114,6 +115,16 @@
  * method is used to determine if a file or directory has changed since the last
  * check and stores the current state of the {@link File}'s properties.
  *
+ * <h2>Parallel Checks</h2>
+ * By default the tree is checked directory by directory on the calling thread.
+ * For large trees, or file systems with a high latency such as network shares,
+ * {@link #setForkJoinPool(ForkJoinPool)} checks the directories in parallel.
+ * The events are then fired once the whole tree has been checked, still on the
+ * calling thread and in the same order as when checking on one thread:
+ * <pre>
+ *      observer.setForkJoinPool(ForkJoinPool.commonPool());
+ * </pre>
+ *
  * @see FileAlterationListener
  * @see FileAlterationMonitor
  *
@@ -126,6 +137,8 @@ public class FileAlterationObserver implements Serializable {
     private final FileEntry rootEntry;
     private final FileFilter fileFilter;
     private final Comparator<File> comparator;
+    private transient volatile ForkJoinPool forkJoinPool;
+    private transient boolean restored;
 
     /**
      * Construct an observer for the specified directory.
@@ -236,6 +249,30 @@ public FileFilter getFileFilter() {
         return fileFilter;
     }
 
+    /**
+     * Return the pool the directories are checked in.
+     *
+     * @return the pool, or null if the directories are checked on the calling thread
+     * @since 2.7
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * Set the pool to check the directories in, one task per directory.
+     * <p>
+     * The events are fired after the whole tree has been checked, on the
+     * thread calling {@link #checkAndNotify()}, in the same order as when
+     * the directories are checked on that thread.
+     *
+     * @param forkJoinPool the pool, or null to check the directories on the calling thread
+     * @since 2.7
+     */
+    public void setForkJoinPool(final ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
     /**
      * Add a file system listener.
      *
@@ -274,11 +311,65 @@ public Iterable<FileAlterationListener> getListeners() {
      * @throws Exception if an error occurs
      */
     public void initialize() throws Exception {
+        if (takeRestored()) {
+            return;
+        }
         rootEntry.refresh(rootEntry.getFile());
         final FileEntry[] children = doListFiles(rootEntry.getFile(), rootEntry);
         rootEntry.setChildren(children);
     }
 
+    /**
+     * Return the state of the observed files, as of the last check.
+     *
+     * @return a snapshot of the state, which can be saved with {@link FileTreeSnapshot#write(java.io.OutputStream)}
+     * @since 2.7
+     */
+    public FileTreeSnapshot getSnapshot() {
+        return FileTreeSnapshot.of(rootEntry);
+    }
+
+    /**
+     * Restore the state of the observed files from a snapshot, for example one saved by a previous run.
+     * <p>
+     * The next {@link #checkAndNotify()} reports the changes since the snapshot was taken. The next call of
+     * {@link #initialize()}, for example by {@link FileAlterationMonitor#start()}, keeps the restored state
+     * instead of walking the tree. The snapshot should come from an observer of the same directory with the
+     * same file filter, or the files the filters differ on are reported as created or deleted.
+     *
+     * @param snapshot the snapshot
+     * @throws IllegalArgumentException if the snapshot is of a directory with another name
+     * @since 2.7
+     */
+    public void restore(final FileTreeSnapshot snapshot) {
+        if (!snapshot.getName(0).equals(rootEntry.getName())) {
+            throw new IllegalArgumentException("Snapshot of '" + snapshot.getName(0) + "', not of '"
+                    + rootEntry.getName() + "'");
+        }
+        restoreState(snapshot);
+        restored = true;
+    }
+
+    /**
+     * Restore the state from a snapshot.
+     *
+     * @param snapshot the snapshot
+     */
+    void restoreState(final FileTreeSnapshot snapshot) {
+        snapshot.restore(rootEntry);
+    }
+
+    /**
+     * Indicate whether the state was restored since the last initialization, and clear the indication.
+     *
+     * @return whether the state was restored
+     */
+    boolean takeRestored() {
+        final boolean result = restored;
+        restored = false;
+        return result;
+    }
+
     /**
      * Final processing.
      *
@@ -292,26 +383,64 @@ public void destroy() throws Exception {
      * Check whether the file and its children have been created, modified or deleted.
      */
     public void checkAndNotify() {
+        doStart();
+        checkAndNotifyAll();
+        doStop();
+    }
 
-        /* fire onStart() */
+    /**
+     * Fire onStart() to the registered listeners.
+     */
+    void doStart() {
         for (final FileAlterationListener listener : listeners) {
             listener.onStart(this);
         }
+    }
+
+    /**
+     * Fire onStop() to the registered listeners.
+     */
+    void doStop() {
+        for (final FileAlterationListener listener : listeners) {
+            listener.onStop(this);
+        }
+    }
 
-        /* fire directory/file events */
+    /**
+     * Check the whole tree below the root directory, firing directory/file events.
+     */
+    void checkAndNotifyAll() {
         final File rootFile = rootEntry.getFile();
-        if (rootFile.exists()) {
+        final ForkJoinPool pool = forkJoinPool;
+        if (rootFile.exists() && pool != null) {
+            final FileAlterationCheckTask task = new FileAlterationCheckTask(this, rootEntry, rootFile);
+            pool.invoke(task);
+            task.notifyListeners();
+        } else if (rootFile.exists()) {
             checkAndNotify(rootEntry, rootEntry.getChildren(), listFiles(rootFile));
         } else if (rootEntry.isExists()) {
             checkAndNotify(rootEntry, rootEntry.getChildren(), FileUtils.EMPTY_FILE_ARRAY);
         } else {
             // Didn't exist and still doesn't
         }
+    }
 
-        /* fire onStop() */
-        for (final FileAlterationListener listener : listeners) {
-            listener.onStop(this);
-        }
+    /**
+     * Return the entry of the root directory.
+     *
+     * @return the root entry
+     */
+    FileEntry getRootEntry() {
+        return rootEntry;
+    }
+
+    /**
+     * Return the comparator the entries of a directory are sorted with.
+     *
+     * @return the comparator
+     */
+    Comparator<File> getComparator() {
+        return comparator;
     }
 
     /**
@@ -321,7 +450,7 @@ public void checkAndNotify() {
      * @param previous The original list of files
      * @param files  The current list of files
      */
-    private void checkAndNotify(final FileEntry parent, final FileEntry[] previous, final File[] files) {
+    void checkAndNotify(final FileEntry parent, final FileEntry[] previous, final File[] files) {
         int c = 0;
         final FileEntry[] current = files.length > 0 ? new FileEntry[files.length] : FileEntry.EMPTY_ENTRIES;
         for (final FileEntry entry : previous) {
@@ -354,7 +483,7 @@ private void checkAndNotify(final FileEntry parent, final FileEntry[] previous,
      * @param file The file to create an entry for
      * @return A new file entry
      */
-    private FileEntry createFileEntry(final FileEntry parent, final File file) {
+    FileEntry createFileEntry(final FileEntry parent, final File file) {
         final FileEntry entry = parent.newChildInstance(file);
         entry.refresh(file);
         final FileEntry[] children = doListFiles(file, entry);
@@ -382,7 +511,7 @@ private FileEntry[] doListFiles(final File file, final FileEntry entry) {
      *
      * @param entry The file entry
      */
-    private void doCreate(final FileEntry entry) {
+    void doCreate(final FileEntry entry) {
         for (final FileAlterationListener listener : listeners) {
             if (entry.isDirectory()) {
                 listener.onDirectoryCreate(entry.getFile());
@@ -402,7 +531,7 @@ private void doCreate(final FileEntry entry) {
      * @param entry The previous file system entry
      * @param file The current file
      */
-    private void doMatch(final FileEntry entry, final File file) {
+    void doMatch(final FileEntry entry, final File file) {
         if (entry.refresh(file)) {
             for (final FileAlterationListener listener : listeners) {
                 if (entry.isDirectory()) {
@@ -419,7 +548,7 @@ private void doMatch(final FileEntry entry, final File file) {
      *
      * @param entry The file entry
      */
-    private void doDelete(final FileEntry entry) {
+    void doDelete(final FileEntry entry) {
         for (final FileAlterationListener listener : listeners) {
             if (entry.isDirectory()) {
                 listener.onDirectoryDelete(entry.getFile());
@@ -436,7 +565,7 @@ private void doDelete(final FileEntry entry) {
      * @return the directory contents or a zero length array if
      * the empty or the file is not a directory
      */
-    private File[] listFiles(final File file) {
+    File[] listFiles(final File file) {
         File[] children = null;
         if (file.isDirectory()) {
             children = fileFilter == null ? file.listFiles() : file.listFiles(fileFilter);
@@ -0,0 +1,452 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The state of the files below a directory, kept in a few primitive arrays instead of a tree of
+ * {@link FileEntry} objects.
+ * <p>
+ * Each file or directory is an index into parallel arrays holding its name, last modified time, length and
+ * flags. Entry 0 is the root directory. The children of a directory are stored next to each other, sorted by
+ * name, so a directory only holds the index of its first child and the number of its children. Paths are not
+ * stored: the path of an entry is the path of its parent plus its name, and the name strings of unchanged files
+ * are shared from one snapshot to the next.
+ * </p>
+ * <p>
+ * A snapshot takes a small fraction of the memory of the equivalent {@link FileEntry} tree, which holds a
+ * {@link File}, a name, a parent and a children array for each file. It is built by
+ * {@link CompactFileAlterationObserver} and cannot be changed.
+ * </p>
+ * <p>
+ * A snapshot can be saved with {@link #write(OutputStream)} in a compact binary format, column by column, and
+ * loaded again with {@link #read(InputStream)}, so that an observer restarted with
+ * {@link FileAlterationObserver#restore(FileTreeSnapshot)} reports the changes made while it was not running
+ * instead of walking the tree again:
+ * </p>
+ * <pre>
+ *      // on shutdown
+ *      try (OutputStream out = new FileOutputStream(state)) {
+ *          observer.getSnapshot().write(out);
+ *      }
+ *      ...
+ *      // on startup, before initializing the observer
+ *      try (InputStream in = new FileInputStream(state)) {
+ *          observer.restore(FileTreeSnapshot.read(in));
+ *      }
+ * </pre>
+ *
+ * @see CompactFileAlterationObserver
+ * @since 2.7
+ */
+public final class FileTreeSnapshot implements Serializable {
+
+    private static final long serialVersionUID = -3862093016478834297L;
+
+    /** The start of the binary format, "FTS" and the version. */
+    private static final int MAGIC = 0x46545301;
+
+    /** The most entries {@link #read(InputStream)} makes room for before reading them. */
+    private static final int READ_CAPACITY = 1024;
+
+    static final byte EXISTS = 1;
+    static final byte DIRECTORY = 2;
+
+    private String[] names;
+    private long[] lastModified;
+    private long[] lengths;
+    private byte[] flags;
+    private int[] firstChild;
+    private int[] childCount;
+    private int size;
+
+    /**
+     * Construct an empty snapshot.
+     *
+     * @param capacity the number of entries to make room for
+     */
+    FileTreeSnapshot(final int capacity) {
+        final int length = Math.max(capacity, 1);
+        names = new String[length];
+        lastModified = new long[length];
+        lengths = new long[length];
+        flags = new byte[length];
+        firstChild = new int[length];
+        childCount = new int[length];
+    }
+
+    /**
+     * Take a snapshot of a tree of {@link FileEntry} objects.
+     *
+     * @param root the entry of the root directory
+     * @return the snapshot
+     */
+    static FileTreeSnapshot of(final FileEntry root) {
+        final FileTreeSnapshot snapshot = new FileTreeSnapshot(16);
+        snapshot.add(root);
+        snapshot.addChildren(0, root);
+        return snapshot.trim();
+    }
+
+    private void addChildren(final int index, final FileEntry entry) {
+        final FileEntry[] children = entry.getChildren();
+        final int first = size;
+        for (final FileEntry child : children) {
+            add(child);
+        }
+        setChildren(index, first, children.length);
+        for (int i = 0; i < children.length; i++) {
+            addChildren(first + i, children[i]);
+        }
+    }
+
+    private int add(final FileEntry entry) {
+        return add(entry.getName(), entry.getLastModified(), entry.getLength(),
+                (byte) ((entry.isExists() ? EXISTS : 0) | (entry.isDirectory() ? DIRECTORY : 0)));
+    }
+
+    /**
+     * Copy the state of the root entry and the entries below it into a tree of {@link FileEntry} objects,
+     * created with {@link FileEntry#newChildInstance(File)}.
+     *
+     * @param root the entry of the root directory
+     */
+    void restore(final FileEntry root) {
+        restore(root, 0);
+    }
+
+    private void restore(final FileEntry entry, final int index) {
+        entry.setExists((flags[index] & EXISTS) != 0);
+        entry.setDirectory((flags[index] & DIRECTORY) != 0);
+        entry.setLastModified(lastModified[index]);
+        entry.setLength(lengths[index]);
+        final int count = childCount[index];
+        final FileEntry[] children = count > 0 ? new FileEntry[count] : FileEntry.EMPTY_ENTRIES;
+        for (int i = 0; i < count; i++) {
+            final int child = firstChild[index] + i;
+            children[i] = entry.newChildInstance(new File(entry.getFile(), names[child]));
+            restore(children[i], child);
+        }
+        entry.setChildren(children);
+    }
+
+    /**
+     * Write this snapshot in binary form.
+     * <p>
+     * The stream is flushed but not closed.
+     *
+     * @param out the stream to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(final OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            data.writeUTF(names[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            data.writeLong(lastModified[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            data.writeLong(lengths[i]);
+        }
+        data.write(flags, 0, size);
+        for (int i = 0; i < size; i++) {
+            data.writeInt(firstChild[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            data.writeInt(childCount[i]);
+        }
+        data.flush();
+    }
+
+    /**
+     * Read a snapshot written by {@link #write(OutputStream)}.
+     * <p>
+     * The stream is read through a buffer, so it should not hold anything after the snapshot.
+     * It is not closed.
+     *
+     * @param in the stream to read from
+     * @return the snapshot
+     * @throws IOException if an I/O error occurs, or the stream does not hold a valid snapshot
+     */
+    public static FileTreeSnapshot read(final InputStream in) throws IOException {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        final int magic = data.readInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not a snapshot, or an unsupported version: 0x" + Integer.toHexString(magic));
+        }
+        final int size = data.readInt();
+        if (size < 1) {
+            throw new IOException("Invalid snapshot size: " + size);
+        }
+        // the size is not trusted: the arrays grow with the names read, so a corrupt or truncated stream
+        // ends with an EOFException instead of allocating for a size it does not hold
+        final FileTreeSnapshot snapshot = new FileTreeSnapshot(Math.min(size, READ_CAPACITY));
+        for (int i = 0; i < size; i++) {
+            snapshot.add(data.readUTF(), 0, 0, (byte) 0);
+        }
+        for (int i = 0; i < size; i++) {
+            snapshot.lastModified[i] = data.readLong();
+        }
+        for (int i = 0; i < size; i++) {
+            snapshot.lengths[i] = data.readLong();
+        }
+        data.readFully(snapshot.flags, 0, size);
+        for (int i = 0; i < size; i++) {
+            snapshot.firstChild[i] = data.readInt();
+        }
+        for (int i = 0; i < size; i++) {
+            final int count = data.readInt();
+            // children follow their parent, within the snapshot
+            if (count < 0 || (count > 0 && (snapshot.firstChild[i] <= i || snapshot.firstChild[i] > size - count))) {
+                throw new IOException("Invalid children of entry " + i + ": " + snapshot.firstChild[i] + "+" + count);
+            }
+            snapshot.childCount[i] = count;
+        }
+        return snapshot.trim();
+    }
+
+    /**
+     * Return the number of entries, including the root directory.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the name of an entry.
+     *
+     * @param index the index of the entry
+     * @return the name of the file
+     */
+    public String getName(final int index) {
+        checkIndex(index);
+        return names[index];
+    }
+
+    /**
+     * Return the last modified time of an entry.
+     *
+     * @param index the index of the entry
+     * @return the last modified time, 0 if the file does not exist
+     */
+    public long getLastModified(final int index) {
+        checkIndex(index);
+        return lastModified[index];
+    }
+
+    /**
+     * Return the length of an entry.
+     *
+     * @param index the index of the entry
+     * @return the length of the file, 0 for a directory or if the file does not exist
+     */
+    public long getLength(final int index) {
+        checkIndex(index);
+        return lengths[index];
+    }
+
+    /**
+     * Indicate whether an entry existed.
+     *
+     * @param index the index of the entry
+     * @return whether the file existed
+     */
+    public boolean isExists(final int index) {
+        checkIndex(index);
+        return (flags[index] & EXISTS) != 0;
+    }
+
+    /**
+     * Indicate whether an entry is a directory.
+     *
+     * @param index the index of the entry
+     * @return whether the file is a directory
+     */
+    public boolean isDirectory(final int index) {
+        checkIndex(index);
+        return (flags[index] & DIRECTORY) != 0;
+    }
+
+    /**
+     * Return the number of children of an entry.
+     *
+     * @param index the index of the entry
+     * @return the number of children, 0 for a file
+     */
+    public int getChildCount(final int index) {
+        checkIndex(index);
+        return childCount[index];
+    }
+
+    /**
+     * Return the index of a child of an entry.
+     *
+     * @param index the index of the entry
+     * @param child the position of the child among the children, sorted by name
+     * @return the index of the child
+     */
+    public int getChild(final int index, final int child) {
+        checkIndex(index);
+        if (child < 0 || child >= childCount[index]) {
+            throw new IndexOutOfBoundsException("Child: " + child + ", Children: " + childCount[index]);
+        }
+        return firstChild[index] + child;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Add an entry with the current attributes of a file, as {@link FileEntry#refresh(File)} reads them.
+     *
+     * @param name the name of the file, shared with the previous snapshot if unchanged
+     * @param file the file
+     * @return the index of the entry
+     */
+    int add(final String name, final File file) {
+        final boolean exists = file.exists();
+        final boolean directory = exists && file.isDirectory();
+        return add(name, exists ? file.lastModified() : 0, exists && !directory ? file.length() : 0,
+                (byte) ((exists ? EXISTS : 0) | (directory ? DIRECTORY : 0)));
+    }
+
+    /**
+     * Add an entry.
+     *
+     * @param name the name of the file
+     * @param modified the last modified time
+     * @param length the length
+     * @param flag the flags
+     * @return the index of the entry
+     */
+    int add(final String name, final long modified, final long length, final byte flag) {
+        if (size == names.length) {
+            final int capacity = size + (size >> 1) + 1;
+            names = Arrays.copyOf(names, capacity);
+            lastModified = Arrays.copyOf(lastModified, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            childCount = Arrays.copyOf(childCount, capacity);
+        }
+        names[size] = name;
+        lastModified[size] = modified;
+        lengths[size] = length;
+        flags[size] = flag;
+        return size++;
+    }
+
+    /**
+     * Set the children of an entry, which must be the entries added last.
+     *
+     * @param index the index of the entry
+     * @param first the index of the first child
+     * @param count the number of children
+     */
+    void setChildren(final int index, final int first, final int count) {
+        firstChild[index] = first;
+        childCount[index] = count;
+    }
+
+    /**
+     * Return the name of an entry, without checking the index.
+     */
+    String name(final int index) {
+        return names[index];
+    }
+
+    /**
+     * Indicate whether an entry is a directory, without checking the index.
+     */
+    boolean directory(final int index) {
+        return (flags[index] & DIRECTORY) != 0;
+    }
+
+    /**
+     * Return the index of the first child of an entry, without checking the index.
+     */
+    int firstChild(final int index) {
+        return firstChild[index];
+    }
+
+    /**
+     * Return the number of children of an entry, without checking the index.
+     */
+    int childCount(final int index) {
+        return childCount[index];
+    }
+
+    /**
+     * Compare the attributes of an entry with those of an entry of another snapshot, as
+     * {@link FileEntry#refresh(File)} does.
+     *
+     * @param index the index of the entry
+     * @param other the other snapshot
+     * @param otherIndex the index of the entry in the other snapshot
+     * @return whether the file has changed
+     */
+    boolean changed(final int index, final FileTreeSnapshot other, final int otherIndex) {
+        return flags[index] != other.flags[otherIndex]
+                || lastModified[index] != other.lastModified[otherIndex]
+                || lengths[index] != other.lengths[otherIndex];
+    }
+
+    /**
+     * Release the unused capacity, if there is a lot of it.
+     *
+     * @return this snapshot
+     */
+    FileTreeSnapshot trim() {
+        if (names.length - size > (size >> 3) + 16) {
+            names = Arrays.copyOf(names, size);
+            lastModified = Arrays.copyOf(lastModified, size);
+            lengths = Arrays.copyOf(lengths, size);
+            flags = Arrays.copyOf(flags, size);
+            firstChild = Arrays.copyOf(firstChild, size);
+            childCount = Arrays.copyOf(childCount, size);
+        }
+        return this;
+    }
+
+    /**
+     * Provide a String representation of this snapshot.
+     *
+     * @return a String representation of this snapshot
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[root='" + (size > 0 ? names[0] : "") + "', size=" + size + "]";
+    }
+}
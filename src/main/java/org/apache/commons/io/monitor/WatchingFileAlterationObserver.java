@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOCase;
+
+/**
+ * A {@link FileAlterationObserver} that learns of changes from a {@link WatchService} instead of listing and
+ * checking the whole tree on each check.
+ * <p>
+ * {@link #initialize()} takes the same snapshot of the tree as the polling observer and registers every directory in
+ * it with a WatchService. Each {@link #checkAndNotify()} then only drains the pending events and, for each one,
+ * checks the single file or directory it names against its entry, firing the same
+ * {@link FileAlterationListener} events the polling observer would. A check with no pending events touches
+ * neither the file system nor the tree, so a large tree can be observed with a short
+ * {@link FileAlterationMonitor} interval.
+ * </p>
+ * <p>
+ * Directories created later are registered as they are found, and checked once more after registration so that
+ * files created in them before that are not missed. When the WatchService reports that events were lost
+ * ({@link StandardWatchEventKinds#OVERFLOW}), when the root directory cannot be watched, for example because it does
+ * not exist yet, or when the file system does not support watching, a check falls back to a full check of the tree.
+ * </p>
+ *
+ * @see FileAlterationObserver
+ * @since 2.7
+ */
+public class WatchingFileAlterationObserver extends FileAlterationObserver {
+
+    private static final long serialVersionUID = 3635463284920823049L;
+
+    private transient WatchService watchService;
+    /** The directory entries by their registration. */
+    private transient Map<WatchKey, FileEntry> entries;
+    /** The registrations by directory. */
+    private transient Map<File, WatchKey> keys;
+    /** Whether the next check must check the whole tree. */
+    private transient boolean fullCheck;
+
+    /**
+     * Construct an observer for the specified directory.
+     *
+     * @param directory the directory to observe
+     */
+    public WatchingFileAlterationObserver(final File directory) {
+        this(directory, null);
+    }
+
+    /**
+     * Construct an observer for the specified directory and file filter.
+     *
+     * @param directory the directory to observe
+     * @param fileFilter The file filter or null if none
+     */
+    public WatchingFileAlterationObserver(final File directory, final FileFilter fileFilter) {
+        this(directory, fileFilter, null);
+    }
+
+    /**
+     * Construct an observer for the specified directory, file filter and
+     * file comparator.
+     *
+     * @param directory the directory to observe
+     * @param fileFilter The file filter or null if none
+     * @param caseSensitivity  what case sensitivity to use comparing file names, null means system sensitive
+     */
+    public WatchingFileAlterationObserver(final File directory, final FileFilter fileFilter,
+                                          final IOCase caseSensitivity) {
+        super(new FileEntry(directory), fileFilter, caseSensitivity);
+    }
+
+    /**
+     * Initialize the observer and register the directories with a new WatchService.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Override
+    public void initialize() throws Exception {
+        // changes made while a restored state was saved are only found by a full check
+        fullCheck = takeRestored();
+        if (!fullCheck) {
+            super.initialize();
+        }
+        entries = new HashMap<>();
+        keys = new HashMap<>();
+        try {
+            watchService = getDirectory().toPath().getFileSystem().newWatchService();
+        } catch (final UnsupportedOperationException e) {
+            watchService = null;
+            return;
+        }
+        register(getRootEntry());
+    }
+
+    /**
+     * Close the WatchService.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Override
+    public void destroy() throws Exception {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    /**
+     * Check the files and directories the WatchService reported as created, modified or deleted.
+     */
+    @Override
+    public void checkAndNotify() {
+        doStart();
+        if (watchService == null || fullCheck || !keys.containsKey(getRootEntry().getFile())) {
+            // not initialized, not supported, restored or the root is not watched
+            fullCheck = false;
+            checkAndNotifyAll();
+            if (watchService != null) {
+                drainAll(watchService.poll());
+                register(getRootEntry());
+            }
+        } else if (drain()) {
+            checkAndNotifyAll();
+            register(getRootEntry());
+        }
+        doStop();
+    }
+
+    /**
+     * Check the pending events.
+     *
+     * @return true if events were lost and the whole tree must be checked
+     */
+    private boolean drain() {
+        WatchKey key;
+        try {
+            while ((key = watchService.poll()) != null) {
+                final FileEntry directory = entries.get(key);
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        drainAll(key);
+                        return true;
+                    }
+                    if (directory != null) {
+                        check(directory, ((Path) event.context()).toString());
+                    }
+                }
+                if (!key.reset()) {
+                    // deleted, or no longer accessible
+                    unregister(key);
+                }
+            }
+        } catch (final ClosedWatchServiceException e) {
+            watchService = null;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Discard the pending events, before a full check.
+     */
+    private void drainAll(final WatchKey first) {
+        WatchKey key = first;
+        while (key != null) {
+            key.pollEvents();
+            if (!key.reset()) {
+                unregister(key);
+            }
+            key = watchService.poll();
+        }
+    }
+
+    private void unregister(final WatchKey key) {
+        final FileEntry directory = entries.remove(key);
+        if (directory != null) {
+            // unless re-created and registered again
+            keys.remove(directory.getFile(), key);
+        }
+    }
+
+    /**
+     * Check one file of a directory against its entry.
+     *
+     * @param directory the entry of the directory
+     * @param name the name of the file
+     */
+    private void check(final FileEntry directory, final String name) {
+        final File file = new File(directory.getFile(), name);
+        final FileFilter fileFilter = getFileFilter();
+        final boolean accepted = file.exists() && (fileFilter == null || fileFilter.accept(file));
+        final FileEntry[] children = directory.getChildren();
+        final Comparator<File> comparator = getComparator();
+        final int index = Arrays.binarySearch(children, new FileEntry(file),
+                (e1, e2) -> comparator.compare(e1.getFile(), e2.getFile()));
+        if (index >= 0) {
+            final FileEntry entry = children[index];
+            if (accepted) {
+                doMatch(entry, file);
+                if (entry.isDirectory() && !isRegistered(entry)) {
+                    // replaced by a new directory since its last event
+                    register(entry);
+                }
+            } else {
+                checkAndNotify(entry, entry.getChildren(), FileUtils.EMPTY_FILE_ARRAY);
+                doDelete(entry);
+                final FileEntry[] current = new FileEntry[children.length - 1];
+                System.arraycopy(children, 0, current, 0, index);
+                System.arraycopy(children, index + 1, current, index, current.length - index);
+                directory.setChildren(current);
+            }
+        } else if (accepted) {
+            final int insert = -index - 1;
+            final FileEntry entry = createFileEntry(directory, file);
+            final FileEntry[] current = new FileEntry[children.length + 1];
+            System.arraycopy(children, 0, current, 0, insert);
+            current[insert] = entry;
+            System.arraycopy(children, insert, current, insert + 1, children.length - insert);
+            directory.setChildren(current);
+            doCreate(entry);
+            if (entry.isDirectory()) {
+                register(entry);
+                // files created before the registration
+                checkAndNotify(entry, entry.getChildren(), listFiles(file));
+                register(entry);
+            }
+        }
+    }
+
+    private boolean isRegistered(final FileEntry entry) {
+        final WatchKey key = keys.get(entry.getFile());
+        return key != null && key.isValid();
+    }
+
+    /**
+     * Register a directory and the directories below it, unless already registered.
+     *
+     * @param entry the entry of the directory
+     */
+    private void register(final FileEntry entry) {
+        if (watchService == null || (!entry.isDirectory() && entry != getRootEntry())) {
+            return;
+        }
+        if (!isRegistered(entry)) {
+            try {
+                final WatchKey key = entry.getFile().toPath().register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                entries.put(key, entry);
+                keys.put(entry.getFile(), key);
+            } catch (final IOException e) {
+                // deleted meanwhile, or the root does not exist yet: checked fully until it is registered
+                return;
+            } catch (final ClosedWatchServiceException e) {
+                watchService = null;
+                return;
+            }
+        }
+        for (final FileEntry child : entry.getChildren()) {
+            if (child.isDirectory()) {
+                register(child);
+            }
+        }
+    }
+}
@@ -16,20 +16,11 @@
  */
 package org.apache.commons.io.output;
 
-import static org.apache.commons.io.IOUtils.EOF;
-
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.SequenceInputStream;
-import java.io.UnsupportedEncodingException;
-import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-import org.apache.commons.io.input.ClosedInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 
 /**
  * This class implements an output stream in which the data is
@@ -51,26 +42,11 @@
  * the contents don't have to be copied to the new buffer. This class is
  * designed to behave exactly like the original. The only exception is the
  * deprecated toString(int) method that has been ignored.
+ * <p>
+ * All methods are synchronized. Use {@link UnsynchronizedByteArrayOutputStream}
+ * when the stream is confined to one thread.
  */
-public class ByteArrayOutputStream extends OutputStream {
-
-    static final int DEFAULT_SIZE = 1024;
-
-    /** A singleton empty byte array. */
-    private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
-
-    /** The list of buffers, which grows and never reduces. */
-    private final List<byte[]> buffers = new ArrayList<>();
-    /** The index of the current buffer. */
-    private int currentBufferIndex;
-    /** The total count of bytes in all the filled buffers. */
-    private int filledBufferSum;
-    /** The current buffer. */
-    private byte[] currentBuffer;
-    /** The total count of bytes written. */
-    private int count;
-    /** Flag to indicate if the buffers can be reused after reset */
-    private boolean reuseBuffers = true;
+public class ByteArrayOutputStream extends AbstractByteArrayOutputStream {
 
     /**
      * Creates a new byte array output stream. The buffer capacity is
@@ -97,38 +73,6 @@ public ByteArrayOutputStream(final int size) {
         }
     }
 
-    /**
-     * Makes a new buffer available either by allocating
-     * a new one or re-cycling an existing one.
-     *
-     * @param newcount  the size of the buffer if one is created
-     */
-    private void needNewBuffer(final int newcount) {
-        if (currentBufferIndex < buffers.size() - 1) {
-            //Recycling old buffer
-            filledBufferSum += currentBuffer.length;
-
-            currentBufferIndex++;
-            currentBuffer = buffers.get(currentBufferIndex);
-        } else {
-            //Creating new buffer
-            int newBufferSize;
-            if (currentBuffer == null) {
-                newBufferSize = newcount;
-                filledBufferSum = 0;
-            } else {
-                newBufferSize = Math.max(
-                    currentBuffer.length << 1,
-                    newcount - filledBufferSum);
-                filledBufferSum += currentBuffer.length;
-            }
-
-            currentBufferIndex++;
-            currentBuffer = new byte[newBufferSize];
-            buffers.add(currentBuffer);
-        }
-    }
-
     /**
      * Write the bytes to byte array.
      * @param b the bytes to write
@@ -147,19 +91,7 @@ public void write(final byte[] b, final int off, final int len) {
             return;
         }
         synchronized (this) {
-            final int newcount = count + len;
-            int remaining = len;
-            int inBufferPos = count - filledBufferSum;
-            while (remaining > 0) {
-                final int part = Math.min(remaining, currentBuffer.length - inBufferPos);
-                System.arraycopy(b, off + len - remaining, currentBuffer, inBufferPos, part);
-                remaining -= part;
-                if (remaining > 0) {
-                    needNewBuffer(newcount);
-                    inBufferPos = 0;
-                }
-            }
-            count = newcount;
+            writeImpl(b, off, len);
         }
     }
 
@@ -169,13 +101,7 @@ public void write(final byte[] b, final int off, final int len) {
      */
     @Override
     public synchronized void write(final int b) {
-        int inBufferPos = count - filledBufferSum;
-        if (inBufferPos == currentBuffer.length) {
-            needNewBuffer(count + 1);
-            inBufferPos = 0;
-        }
-        currentBuffer[inBufferPos] = (byte) b;
-        count++;
+        writeImpl(b);
     }
 
     /**
@@ -189,61 +115,26 @@ public synchronized void write(final int b) {
      * @throws IOException if an I/O error occurs while reading the input stream
      * @since 1.4
      */
+    @Override
     public synchronized int write(final InputStream in) throws IOException {
-        int readCount = 0;
-        int inBufferPos = count - filledBufferSum;
-        int n = in.read(currentBuffer, inBufferPos, currentBuffer.length - inBufferPos);
-        while (n != EOF) {
-            readCount += n;
-            inBufferPos += n;
-            count += n;
-            if (inBufferPos == currentBuffer.length) {
-                needNewBuffer(currentBuffer.length);
-                inBufferPos = 0;
-            }
-            n = in.read(currentBuffer, inBufferPos, currentBuffer.length - inBufferPos);
-        }
-        return readCount;
+        return writeImpl(in);
     }
 
     /**
      * Return the current size of the byte array.
      * @return the current size of the byte array
      */
+    @Override
     public synchronized int size() {
         return count;
     }
 
-    /**
-     * Closing a {@code ByteArrayOutputStream} has no effect. The methods in
-     * this class can be called after the stream has been closed without
-     * generating an {@code IOException}.
-     *
-     * @throws IOException never (this method should not declare this exception
-     * but it has to now due to backwards compatibility)
-     */
-    @Override
-    public void close() throws IOException {
-        //nop
-    }
-
     /**
      * @see java.io.ByteArrayOutputStream#reset()
      */
+    @Override
     public synchronized void reset() {
-        count = 0;
-        filledBufferSum = 0;
-        currentBufferIndex = 0;
-        if (reuseBuffers) {
-            currentBuffer = buffers.get(currentBufferIndex);
-        } else {
-            //Throw away old buffers
-            currentBuffer = null;
-            final int size = buffers.get(0).length;
-            buffers.clear();
-            needNewBuffer(size);
-            reuseBuffers = true;
-        }
+        resetImpl();
     }
 
     /**
@@ -254,16 +145,26 @@ public synchronized void reset() {
      * @throws IOException if an I/O error occurs, such as if the stream is closed
      * @see java.io.ByteArrayOutputStream#writeTo(OutputStream)
      */
+    @Override
     public synchronized void writeTo(final OutputStream out) throws IOException {
-        int remaining = count;
-        for (final byte[] buf : buffers) {
-            final int c = Math.min(buf.length, remaining);
-            out.write(buf, 0, c);
-            remaining -= c;
-            if (remaining == 0) {
-                break;
-            }
-        }
+        writeToImpl(out);
+    }
+
+    /**
+     * Writes the entire contents of this byte stream to a channel, with
+     * gathering writes over all buffers. The buffers are not copied. A
+     * non-blocking channel may accept only part of the contents: writing stops
+     * as soon as the channel accepts no more bytes.
+     *
+     * @param channel  the channel to write to
+     * @return the number of bytes written, less than {@link #size()} if a
+     * non-blocking channel was full
+     * @throws IOException if an I/O error occurs, such as if the channel is closed
+     * @since 2.7
+     */
+    @Override
+    public synchronized long writeTo(final GatheringByteChannel channel) throws IOException {
+        return writeToImpl(channel);
     }
 
     /**
@@ -333,22 +234,9 @@ public static InputStream toBufferedInputStream(final InputStream input, final i
      * @see #reset()
      * @since 2.5
      */
+    @Override
     public synchronized InputStream toInputStream() {
-        int remaining = count;
-        if (remaining == 0) {
-            return new ClosedInputStream();
-        }
-        final List<ByteArrayInputStream> list = new ArrayList<>(buffers.size());
-        for (final byte[] buf : buffers) {
-            final int c = Math.min(buf.length, remaining);
-            list.add(new ByteArrayInputStream(buf, 0, c));
-            remaining -= c;
-            if (remaining == 0) {
-                break;
-            }
-        }
-        reuseBuffers = false;
-        return new SequenceInputStream(Collections.enumeration(list));
+        return toInputStreamImpl();
     }
 
     /**
@@ -358,63 +246,23 @@ public synchronized InputStream toInputStream() {
      * @return the current contents of this output stream, as a byte array
      * @see java.io.ByteArrayOutputStream#toByteArray()
      */
-    public synchronized byte[] toByteArray() {
-        int remaining = count;
-        if (remaining == 0) {
-            return EMPTY_BYTE_ARRAY;
-        }
-        final byte newbuf[] = new byte[remaining];
-        int pos = 0;
-        for (final byte[] buf : buffers) {
-            final int c = Math.min(buf.length, remaining);
-            System.arraycopy(buf, 0, newbuf, pos, c);
-            pos += c;
-            remaining -= c;
-            if (remaining == 0) {
-                break;
-            }
-        }
-        return newbuf;
-    }
-
-    /**
-     * Gets the current contents of this byte stream as a string
-     * using the platform default charset.
-     * @return the contents of the byte array as a String
-     * @see java.io.ByteArrayOutputStream#toString()
-     * @deprecated 2.5 use {@link #toString(String)} instead
-     */
     @Override
-    @Deprecated
-    public String toString() {
-        // make explicit the use of the default charset
-        return new String(toByteArray(), Charset.defaultCharset());
-    }
-
-    /**
-     * Gets the current contents of this byte stream as a string
-     * using the specified encoding.
-     *
-     * @param enc  the name of the character encoding
-     * @return the string converted from the byte array
-     * @throws UnsupportedEncodingException if the encoding is not supported
-     * @see java.io.ByteArrayOutputStream#toString(String)
-     */
-    public String toString(final String enc) throws UnsupportedEncodingException {
-        return new String(toByteArray(), enc);
+    public synchronized byte[] toByteArray() {
+        return toByteArrayImpl();
     }
 
     /**
-     * Gets the current contents of this byte stream as a string
-     * using the specified encoding.
+     * Gets the current contents of this byte stream as read-only views of
+     * its buffers, in order. Nothing is copied. Like {@link #toInputStream()},
+     * the buffers are not re-used after the next {@link #reset()}, so later
+     * writes never show through the views.
      *
-     * @param charset  the character encoding
-     * @return the string converted from the byte array
-     * @see java.io.ByteArrayOutputStream#toString(String)
-     * @since 2.5
+     * @return the current contents of this output stream, an empty array if there are none
+     * @since 2.7
      */
-    public String toString(final Charset charset) {
-        return new String(toByteArray(), charset);
+    @Override
+    public synchronized ByteBuffer[] toByteBuffers() {
+        return toByteBuffersImpl();
     }
 
 }
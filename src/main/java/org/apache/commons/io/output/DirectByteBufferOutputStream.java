@@ -0,0 +1,428 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.output;
+
+import static org.apache.commons.io.IOUtils.EOF;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.BufferPool;
+import org.apache.commons.io.input.ClosedInputStream;
+
+/**
+ * An output stream that keeps the data written to it off the heap, in direct
+ * {@link ByteBuffer} chunks taken from a {@link DirectByteBufferPool}.
+ * <p>
+ * Like {@link ByteArrayOutputStream} it grows by adding chunks rather than
+ * copying into a larger block, and re-uses its chunks after {@link #reset()}.
+ * Because the chunks are direct, large contents do not put pressure on the
+ * heap, and {@link #writeTo(GatheringByteChannel)} hands them to a channel
+ * in one gathering write without copying. {@link #toInputStream()} reads the
+ * chunks in place.
+ * </p>
+ * <p>
+ * Closing the stream releases its chunks to the pool and empties it; writing
+ * to a closed stream throws an {@code IOException}. Chunks handed out by
+ * {@link #toInputStream()} or {@link #toByteBuffers()} are never released to
+ * the pool, so they stay valid after this stream is reset or closed.
+ * </p>
+ * <p>
+ * This class is not synchronized, like {@link UnsynchronizedByteArrayOutputStream}.
+ * </p>
+ *
+ * @since 2.7
+ */
+public class DirectByteBufferOutputStream extends OutputStream {
+
+    private final DirectByteBufferPool pool;
+    /** The list of chunks, which grows and never reduces until reset or close. */
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    /** The index of the current chunk, -1 before the first write. */
+    private int currentBufferIndex = -1;
+    /** The current chunk, written at its position. */
+    private ByteBuffer currentBuffer;
+    /** The total count of bytes written. */
+    private long count;
+    /** Flag to indicate if the chunks can be reused after reset */
+    private boolean reuseBuffers = true;
+    private boolean closed;
+
+    /**
+     * Creates a stream taking its chunks from the {@link DirectByteBufferPool#getDefault() default pool}.
+     */
+    public DirectByteBufferOutputStream() {
+        this(DirectByteBufferPool.getDefault());
+    }
+
+    /**
+     * Creates a stream taking its chunks from the given pool. No chunk is
+     * acquired until the first byte is written.
+     *
+     * @param pool the pool to acquire chunks from and release them to
+     * @throws NullPointerException if the pool is null
+     */
+    public DirectByteBufferOutputStream(final DirectByteBufferPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("Pool must not be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Makes a new chunk available either by re-cycling an existing one or by
+     * acquiring one from the pool.
+     */
+    private void needNewBuffer() {
+        currentBufferIndex++;
+        if (currentBufferIndex < buffers.size()) {
+            //Recycling old chunk
+            currentBuffer = buffers.get(currentBufferIndex);
+            currentBuffer.clear();
+        } else {
+            currentBuffer = pool.acquire();
+            buffers.add(currentBuffer);
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * Write the bytes to the chunks.
+     * @param b the bytes to write
+     * @param off The start offset
+     * @param len The number of bytes to write
+     * @throws IOException if the stream is closed
+     */
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if ((off < 0)
+                || (off > b.length)
+                || (len < 0)
+                || ((off + len) > b.length)
+                || ((off + len) < 0)) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkOpen();
+        int pos = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (currentBuffer == null || !currentBuffer.hasRemaining()) {
+                needNewBuffer();
+            }
+            final int part = Math.min(remaining, currentBuffer.remaining());
+            currentBuffer.put(b, pos, part);
+            pos += part;
+            remaining -= part;
+        }
+        count += len;
+    }
+
+    /**
+     * Write a byte to the chunks.
+     * @param b the byte to write
+     * @throws IOException if the stream is closed
+     */
+    @Override
+    public void write(final int b) throws IOException {
+        checkOpen();
+        if (currentBuffer == null || !currentBuffer.hasRemaining()) {
+            needNewBuffer();
+        }
+        currentBuffer.put((byte) b);
+        count++;
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to the chunks, advancing its position to its limit.
+     *
+     * @param src the buffer to write
+     * @return the number of bytes written
+     * @throws IOException if the stream is closed
+     */
+    public int write(final ByteBuffer src) throws IOException {
+        checkOpen();
+        final int len = src.remaining();
+        final int limit = src.limit();
+        try {
+            while (src.hasRemaining()) {
+                if (currentBuffer == null || !currentBuffer.hasRemaining()) {
+                    needNewBuffer();
+                }
+                src.limit(src.position() + Math.min(src.remaining(), currentBuffer.remaining()));
+                currentBuffer.put(src);
+                src.limit(limit);
+            }
+        } finally {
+            src.limit(limit);
+        }
+        count += len;
+        return len;
+    }
+
+    /**
+     * Writes the entire contents of the specified input stream to this stream,
+     * through a buffer borrowed from the {@link BufferPool#getDefault() default buffer pool}.
+     *
+     * @param in the input stream to read from
+     * @return total number of bytes read from the input stream
+     *         (and written to this stream)
+     * @throws IOException if an I/O error occurs while reading the input stream, or this stream is closed
+     */
+    public long write(final InputStream in) throws IOException {
+        checkOpen();
+        final BufferPool bufferPool = BufferPool.getDefault();
+        final byte[] buffer = bufferPool.borrowBytes();
+        try {
+            long readCount = 0;
+            int n;
+            while (EOF != (n = in.read(buffer))) {
+                write(buffer, 0, n);
+                readCount += n;
+            }
+            return readCount;
+        } finally {
+            bufferPool.returnBytes(buffer);
+        }
+    }
+
+    /**
+     * Return the number of bytes written since the last reset.
+     * @return the current size
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Discards the contents. The chunks are re-used for later writes, unless
+     * they have been handed out by {@link #toInputStream()}.
+     *
+     * @see java.io.ByteArrayOutputStream#reset()
+     */
+    public void reset() {
+        count = 0;
+        currentBufferIndex = -1;
+        currentBuffer = null;
+        if (!reuseBuffers) {
+            //Leave the old chunks to the input streams reading them
+            buffers.clear();
+            reuseBuffers = true;
+        }
+    }
+
+    /**
+     * Releases the chunks to the pool and empties this stream.
+     */
+    @Override
+    public void close() {
+        if (reuseBuffers) {
+            for (final ByteBuffer buffer : buffers) {
+                pool.release(buffer);
+            }
+        }
+        buffers.clear();
+        reset();
+        closed = true;
+    }
+
+    /**
+     * Creates read-only views of the written part of each chunk.
+     *
+     * @return the views, empty if nothing has been written
+     */
+    private ByteBuffer[] views() {
+        final ByteBuffer[] views = new ByteBuffer[currentBufferIndex + 1];
+        for (int i = 0; i < views.length; i++) {
+            // filled chunks have their position at their capacity
+            final ByteBuffer view = buffers.get(i).asReadOnlyBuffer();
+            view.flip();
+            views[i] = view;
+        }
+        return views;
+    }
+
+    /**
+     * Writes the entire contents of this stream to a channel, with gathering
+     * writes over all chunks. The chunks are not copied. A non-blocking channel
+     * may accept only part of the contents: writing stops as soon as the
+     * channel accepts no more bytes.
+     *
+     * @param channel the channel to write to
+     * @return the number of bytes written, less than {@link #size()} if a
+     * non-blocking channel was full
+     * @throws IOException if an I/O error occurs, such as if the channel is closed
+     */
+    public long writeTo(final GatheringByteChannel channel) throws IOException {
+        return AbstractByteArrayOutputStream.write(channel, views());
+    }
+
+    /**
+     * Writes the entire contents of this stream to an output stream, through
+     * a buffer borrowed from the {@link BufferPool#getDefault() default buffer pool}.
+     *
+     * @param out  the output stream to write to
+     * @throws IOException if an I/O error occurs, such as if the stream is closed
+     * @see java.io.ByteArrayOutputStream#writeTo(OutputStream)
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        final BufferPool bufferPool = BufferPool.getDefault();
+        final byte[] buffer = bufferPool.borrowBytes();
+        try {
+            for (final ByteBuffer view : views()) {
+                while (view.hasRemaining()) {
+                    final int n = Math.min(view.remaining(), buffer.length);
+                    view.get(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+        } finally {
+            bufferPool.returnBytes(buffer);
+        }
+    }
+
+    /**
+     * Gets the current contents of this stream as an input stream that reads
+     * the chunks in place. The chunks are not re-used or released to the pool
+     * afterwards, so later writes do not show through the returned stream.
+     *
+     * @return the current contents of this output stream
+     * @see #reset()
+     */
+    public InputStream toInputStream() {
+        if (count == 0) {
+            return new ClosedInputStream();
+        }
+        reuseBuffers = false;
+        return new ChunkInputStream(views());
+    }
+
+    /**
+     * Gets the current contents of this stream as read-only views of its
+     * chunks, in order. Nothing is copied. Like {@link #toInputStream()}, the
+     * chunks are not re-used or released to the pool afterwards.
+     *
+     * @return the current contents of this output stream, an empty array if there are none
+     */
+    public ByteBuffer[] toByteBuffers() {
+        final ByteBuffer[] views = views();
+        if (views.length > 0) {
+            reuseBuffers = false;
+        }
+        return views;
+    }
+
+    /**
+     * Gets the current contents of this stream as a byte array on the heap.
+     * The result is independent of this stream.
+     *
+     * @return the current contents of this output stream, as a byte array
+     * @throws IllegalStateException if the contents do not fit in an array
+     * @see java.io.ByteArrayOutputStream#toByteArray()
+     */
+    public byte[] toByteArray() {
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Size exceeds maximum array length: " + count);
+        }
+        final byte[] newbuf = new byte[(int) count];
+        int pos = 0;
+        for (final ByteBuffer view : views()) {
+            final int c = view.remaining();
+            view.get(newbuf, pos, c);
+            pos += c;
+        }
+        return newbuf;
+    }
+
+    /**
+     * Reads a sequence of chunk views.
+     */
+    private static final class ChunkInputStream extends InputStream {
+
+        private final ByteBuffer[] chunks;
+        private int index;
+
+        ChunkInputStream(final ByteBuffer[] chunks) {
+            this.chunks = chunks;
+        }
+
+        /**
+         * Gets the chunk to read from, skipping exhausted ones.
+         *
+         * @return the chunk, or null at the end of the stream
+         */
+        private ByteBuffer current() {
+            while (index < chunks.length) {
+                if (chunks[index].hasRemaining()) {
+                    return chunks[index];
+                }
+                chunks[index++] = null;
+            }
+            return null;
+        }
+
+        @Override
+        public int read() {
+            final ByteBuffer chunk = current();
+            return chunk == null ? EOF : chunk.get() & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if ((off < 0) || (len < 0) || (off + len > b.length) || (off + len < 0)) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            final ByteBuffer chunk = current();
+            if (chunk == null) {
+                return EOF;
+            }
+            final int n = Math.min(len, chunk.remaining());
+            chunk.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) {
+            long remaining = n;
+            ByteBuffer chunk;
+            while (remaining > 0 && (chunk = current()) != null) {
+                final int part = (int) Math.min(remaining, chunk.remaining());
+                chunk.position(chunk.position() + part);
+                remaining -= part;
+            }
+            return n > 0 ? n - remaining : 0;
+        }
+
+        @Override
+        public int available() {
+            final ByteBuffer chunk = current();
+            return chunk == null ? 0 : chunk.remaining();
+        }
+    }
+}
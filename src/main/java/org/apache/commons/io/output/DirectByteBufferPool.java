@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.output;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of direct {@link ByteBuffer} chunks of one size, shared by
+ * {@link DirectByteBufferOutputStream}s.
+ * <p>
+ * Allocating direct memory is expensive and it is only freed when the buffer
+ * is garbage collected, so chunks released by a stream are kept for the next
+ * one. At most <code>capacity</code> chunks are kept; chunks released to a
+ * full pool are dropped. The pool is thread-safe.
+ * </p>
+ *
+ * @see org.apache.commons.io.BufferPool
+ * @since 2.7
+ */
+public final class DirectByteBufferPool {
+
+    /**
+     * The chunk size ({@value}) of the default pool.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * The capacity ({@value}) of the default pool.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final DirectByteBufferPool DEFAULT = new DirectByteBufferPool(DEFAULT_CHUNK_SIZE, DEFAULT_CAPACITY);
+
+    /**
+     * Gets the pool used by streams that are not given one, which keeps up to
+     * {@value #DEFAULT_CAPACITY} chunks of {@value #DEFAULT_CHUNK_SIZE} bytes.
+     *
+     * @return the default pool
+     */
+    public static DirectByteBufferPool getDefault() {
+        return DEFAULT;
+    }
+
+    private final int chunkSize;
+    private final BlockingQueue<ByteBuffer> chunks;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a pool.
+     *
+     * @param chunkSize the size of the chunks
+     * @param capacity the maximum number of chunks to keep
+     * @throws IllegalArgumentException if the chunk size or capacity is not positive
+     */
+    public DirectByteBufferPool(final int chunkSize, final int capacity) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.chunkSize = chunkSize;
+        this.chunks = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Gets the size of the chunks of this pool.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Gets the number of chunks currently kept by this pool.
+     *
+     * @return the number of pooled chunks
+     */
+    public int getPooledCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Gets the number of acquires served by a pooled chunk.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of acquires that had to allocate a new chunk.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Acquires a cleared direct chunk of {@link #getChunkSize()} bytes.
+     *
+     * @return a pooled or new chunk
+     */
+    public ByteBuffer acquire() {
+        final ByteBuffer chunk = chunks.poll();
+        if (chunk != null) {
+            hits.increment();
+            return chunk;
+        }
+        misses.increment();
+        return ByteBuffer.allocateDirect(chunkSize);
+    }
+
+    /**
+     * Releases a chunk acquired from this pool. The chunk must not be used afterwards.
+     *
+     * @param chunk the chunk, null, read-only, heap buffers and buffers of another size are ignored
+     */
+    public void release(final ByteBuffer chunk) {
+        if (chunk != null && chunk.isDirect() && !chunk.isReadOnly() && chunk.capacity() == chunkSize) {
+            chunk.clear();
+            chunks.offer(chunk);
+        }
+    }
+
+    /**
+     * Provides a String representation of this pool.
+     *
+     * @return a String representation
+     */
+    @Override
+    public String toString() {
+        return "DirectByteBufferPool[chunkSize=" + chunkSize + ", pooled=" + getPooledCount() + ", hits="
+                + getHits() + ", misses=" + getMisses() + "]";
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.io.output.NullWriter;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests {@link BufferPool}.
+ */
+public class BufferPoolTest {
+
+    private final BufferPool originalDefault = BufferPool.getDefault();
+
+    @After
+    public void restoreDefault() {
+        BufferPool.setDefault(originalDefault);
+    }
+
+    @Test
+    public void testThreadLocal() throws Exception {
+        final BufferPool pool = BufferPool.threadLocal(16);
+        final byte[] bytes1 = pool.borrowBytes();
+        final byte[] bytes2 = pool.borrowBytes();
+        assertEquals(16, bytes1.length);
+        assertNotSame(bytes1, bytes2);
+        assertEquals(0, pool.getHits());
+        assertEquals(2, pool.getMisses());
+        pool.returnBytes(bytes2);
+        pool.returnBytes(bytes1);
+        assertSame(bytes1, pool.borrowBytes());
+        assertSame(bytes2, pool.borrowBytes());
+        assertEquals(2, pool.getHits());
+
+        final char[] chars = pool.borrowChars();
+        assertEquals(16, chars.length);
+        pool.returnChars(chars);
+        assertSame(chars, pool.borrowChars());
+
+        // buffers are not shared between threads
+        pool.returnBytes(bytes1);
+        final byte[][] other = new byte[1][];
+        final Thread thread = new Thread(() -> other[0] = pool.borrowBytes());
+        thread.start();
+        thread.join();
+        assertNotSame(bytes1, other[0]);
+        assertSame(bytes1, pool.borrowBytes());
+    }
+
+    @Test
+    public void testBounded() {
+        final BufferPool pool = BufferPool.bounded(8, 1);
+        final byte[] bytes1 = pool.borrowBytes();
+        final byte[] bytes2 = pool.borrowBytes();
+        pool.returnBytes(bytes1);
+        // full, dropped
+        pool.returnBytes(bytes2);
+        assertSame(bytes1, pool.borrowBytes());
+        assertNotSame(bytes2, pool.borrowBytes());
+        assertEquals(1, pool.getHits());
+        assertEquals(3, pool.getMisses());
+    }
+
+    @Test
+    public void testUnpooled() {
+        final BufferPool pool = BufferPool.unpooled(8);
+        final char[] chars = pool.borrowChars();
+        pool.returnChars(chars);
+        assertNotSame(chars, pool.borrowChars());
+        assertEquals(0, pool.getHits());
+        assertEquals(2, pool.getMisses());
+    }
+
+    @Test
+    public void testReturnIgnoresOtherSizes() {
+        final BufferPool pool = BufferPool.bounded(8, 4);
+        pool.returnBytes(new byte[4]);
+        pool.returnBytes(null);
+        pool.returnChars(new char[16]);
+        assertEquals(8, pool.borrowBytes().length);
+        assertEquals(8, pool.borrowChars().length);
+        assertEquals(0, pool.getHits());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBufferSize() {
+        BufferPool.threadLocal(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        BufferPool.bounded(8, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSetDefaultNull() {
+        BufferPool.setDefault(null);
+    }
+
+    @Test
+    public void testUsedByIOUtils() throws Exception {
+        // small buffers so that the inputs span several reads
+        final BufferPool pool = BufferPool.bounded(3, 2);
+        BufferPool.setDefault(pool);
+        final byte[] data = "0123456789".getBytes("US-ASCII");
+
+        assertEquals(10, IOUtils.copyLarge(new ByteArrayInputStream(data), new NullOutputStream()));
+        assertEquals(10, IOUtils.copyLarge(new StringReader("0123456789"), new NullWriter()));
+        assertEquals(7, IOUtils.skip(new ByteArrayInputStream(data), 7));
+        assertEquals(7, IOUtils.skip(new StringReader("0123456789"), 7));
+        assertTrue(IOUtils.contentEquals(new ByteArrayInputStream(data), new ByteArrayInputStream(data)));
+        // the copies allocate, the skips re-use their buffers, contentEquals needs a second byte buffer
+        assertEquals(3, pool.getMisses());
+        assertEquals(3, pool.getHits());
+    }
+}
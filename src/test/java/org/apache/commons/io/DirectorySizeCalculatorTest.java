@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests {@link DirectorySizeCalculator}.
+ */
+public class DirectorySizeCalculatorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static ForkJoinPool pool;
+
+    private File root;
+    private long expected;
+
+    @BeforeClass
+    public static void setUpPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void tearDownPool() {
+        pool.shutdown();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        root = temporaryFolder.newFolder("root");
+        for (int i = 0; i < 5; i++) {
+            final File dir = new File(root, "dir" + i + "/sub");
+            for (int j = 0; j <= i; j++) {
+                write(new File(dir, "file" + j), 100 * i + j);
+                write(new File(dir.getParentFile(), "file" + j), j + 1);
+            }
+        }
+        new File(root, "empty").mkdir();
+        write(new File(root, "top"), 7);
+        expected = FileUtils.sizeOfDirectory(root);
+    }
+
+    @Test
+    public void testSameAsSizeOfDirectory() {
+        assertEquals(expected, new DirectorySizeCalculator().sizeOf(root));
+        assertEquals(expected, new DirectorySizeCalculator(pool, false).sizeOf(root));
+        assertEquals(expected, new DirectorySizeCalculator(pool, true).sizeOf(root));
+        assertEquals(BigInteger.valueOf(expected), new DirectorySizeCalculator(pool, false).sizeOfAsBigInteger(root));
+        assertEquals(BigInteger.valueOf(expected), new DirectorySizeCalculator().sizeOfAsBigInteger(root));
+    }
+
+    @Test
+    public void testHardLinksCountedOnce() throws IOException {
+        final File target = new File(root, "top");
+        try {
+            Files.createLink(new File(root, "dir3/link").toPath(), target.toPath());
+        } catch (final UnsupportedOperationException e) {
+            assumeTrue(false);
+        }
+        assertEquals(expected + 7, new DirectorySizeCalculator(pool, false).sizeOf(root));
+        assertEquals(expected, new DirectorySizeCalculator(pool, true).sizeOf(root));
+        assertEquals(expected, new DirectorySizeCalculator(null, true).sizeOf(root));
+    }
+
+    @Test
+    public void testSymbolicLinksSkipped() throws IOException {
+        try {
+            Files.createSymbolicLink(new File(root, "linkdir").toPath(), new File(root, "dir4").toPath());
+            Files.createSymbolicLink(new File(root, "linkfile").toPath(), new File(root, "top").toPath());
+        } catch (final UnsupportedOperationException | IOException e) {
+            assumeTrue(false);
+        }
+        assertEquals(expected, FileUtils.sizeOfDirectory(root));
+        assertEquals(expected, new DirectorySizeCalculator(pool, false).sizeOf(root));
+        // a linked start directory is followed
+        assertEquals(FileUtils.sizeOfDirectory(new File(root, "dir4")),
+                new DirectorySizeCalculator().sizeOf(new File(root, "linkdir")));
+    }
+
+    @Test
+    public void testProgress() {
+        final AtomicLong files = new AtomicLong();
+        final AtomicLong bytes = new AtomicLong();
+        final long size = new DirectorySizeCalculator(pool, false) {
+            @Override
+            protected void handleProgress(final long fileCount, final long byteCount) {
+                files.accumulateAndGet(fileCount, Math::max);
+                bytes.accumulateAndGet(byteCount, Math::max);
+            }
+        }.sizeOf(root);
+        assertEquals(expected, size);
+        assertEquals(expected, bytes.get());
+        assertEquals(FileUtils.listFiles(root, null, true).size(), files.get());
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final File empty = temporaryFolder.newFolder("none");
+        assertEquals(0, new DirectorySizeCalculator(pool, true).sizeOf(empty));
+        assertEquals(BigInteger.ZERO, new DirectorySizeCalculator().sizeOfAsBigInteger(empty));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotDirectory() {
+        new DirectorySizeCalculator().sizeOf(new File(root, "top"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissing() {
+        new DirectorySizeCalculator(pool, false).sizeOfAsBigInteger(new File(root, "missing"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNull() {
+        new DirectorySizeCalculator().sizeOf(null);
+    }
+
+    private static void write(final File file, final int length) throws IOException {
+        FileUtils.writeByteArrayToFile(file, new byte[length]);
+        assertTrue(file.isFile());
+    }
+}
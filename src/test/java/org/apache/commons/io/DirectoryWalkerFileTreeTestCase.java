@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.io.filefilter.FileFilterUtils;
+import org.apache.commons.io.filefilter.NameFileFilter;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests {@link DirectoryWalker#walkFileTree(File, Collection)} and its parallel form
+ * against {@link DirectoryWalker#walk(File, Collection)}.
+ */
+public class DirectoryWalkerFileTreeTestCase {
+
+    private static final File javaDir = new File("src/main/java");
+    private static final File ioDir = new File(javaDir, "org/apache/commons/io");
+
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void setUpPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void tearDownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSameEventsAsWalk() throws IOException {
+        assertSameEvents(null, -1);
+        assertSameEvents(null, 2);
+        assertSameEvents(FileFilterUtils.makeDirectoryOnly(FileFilterUtils.trueFileFilter()), -1);
+        assertSameEvents(FileFilterUtils.or(FileFilterUtils.directoryFileFilter(),
+                FileFilterUtils.suffixFileFilter("Utils.java")), -1);
+    }
+
+    @Test
+    public void testParallelSameResults() throws IOException {
+        final EventWalker sequential = new EventWalker(null, -1);
+        final List<String> expected = new ArrayList<>();
+        sequential.walkFileTree(javaDir, expected, null);
+        final EventWalker parallel = new EventWalker(null, -1);
+        final List<String> actual = new ArrayList<>();
+        parallel.walkFileTree(javaDir, actual, pool);
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+        assertEquals("start", actual.get(0));
+        assertEquals("end", actual.get(actual.size() - 1));
+        // a directory ends after everything below it
+        for (int i = 0; i < actual.size(); i++) {
+            final String event = actual.get(i);
+            if (event.startsWith("dirEnd:")) {
+                final String dir = event.substring("dirEnd:".length()) + File.separator;
+                for (int j = i + 1; j < actual.size(); j++) {
+                    final String later = actual.get(j);
+                    assertFalse(later + " after " + event, later.indexOf(':') > 0
+                            && later.substring(later.indexOf(':') + 1).startsWith(dir));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFileFilterDirectoryContents() throws IOException {
+        // a filter that replaces the listing must not be paired with the cached directory flags
+        final List<File> files = new DirectoryWalker<File>() {
+            @Override
+            protected File[] filterDirectoryContents(final File directory, final int depth, final File[] files) {
+                if (files == null) {
+                    return null;
+                }
+                final File[] reversed = new File[files.length];
+                for (int i = 0; i < files.length; i++) {
+                    reversed[i] = files[files.length - 1 - i];
+                }
+                return reversed;
+            }
+
+            @Override
+            protected void handleFile(final File file, final int depth, final Collection<File> results) {
+                assertFalse(file.isDirectory());
+                results.add(file);
+            }
+
+            List<File> find() throws IOException {
+                final List<File> results = new ArrayList<>();
+                walkFileTree(ioDir, results);
+                return results;
+            }
+        }.find();
+        assertTrue(files.contains(new File(ioDir, "DirectoryWalker.java")));
+    }
+
+    @Test
+    public void testRestricted() throws IOException {
+        final EventWalker walker = new EventWalker(null, -1);
+        final List<String> results = new ArrayList<>();
+        walker.walkFileTree(new File(ioDir, "DirectoryWalker.java"), results);
+        assertEquals("restricted:" + new File(ioDir, "DirectoryWalker.java").getPath(), results.get(3));
+    }
+
+    @Test
+    public void testCancel() throws IOException {
+        assertCancel(null);
+        assertCancel(pool);
+    }
+
+    @Test
+    public void testCancelSuppressed() throws IOException {
+        final CancelWalker walker = new CancelWalker("IOUtils.java", true);
+        final List<File> results = new ArrayList<>();
+        walker.walkFileTree(javaDir, results, pool);
+        assertTrue(walker.cancelled);
+        assertTrue(results.contains(new File(ioDir, "IOUtils.java")));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullStart() throws IOException {
+        new EventWalker(null, -1).walkFileTree(null, new ArrayList<String>(), pool);
+    }
+
+    private static void assertSameEvents(final FileFilter filter, final int depthLimit) throws IOException {
+        final List<String> expected = new ArrayList<>();
+        new EventWalker(filter, depthLimit).walk(javaDir, expected);
+        final List<String> actual = new ArrayList<>();
+        new EventWalker(filter, depthLimit).walkFileTree(javaDir, actual);
+        assertEquals(expected, actual);
+    }
+
+    private static void assertCancel(final ForkJoinPool pool) throws IOException {
+        final CancelWalker walker = new CancelWalker("FilenameUtils.java", false);
+        try {
+            walker.walkFileTree(javaDir, new ArrayList<File>(), pool);
+            fail("CancelException not thrown");
+        } catch (final DirectoryWalker.CancelException cancel) {
+            assertEquals("FilenameUtils.java", cancel.getFile().getName());
+            assertEquals(5, cancel.getDepth());
+        }
+    }
+
+    /**
+     * Records every event, so that the order of events can be compared.
+     */
+    private static class EventWalker extends DirectoryWalker<String> {
+
+        EventWalker(final FileFilter filter, final int depthLimit) {
+            super(filter, depthLimit);
+        }
+
+        void walkFileTree(final File start, final List<String> results, final ForkJoinPool pool) throws IOException {
+            super.walkFileTree(start, results, pool);
+        }
+
+        void walkFileTree(final File start, final List<String> results) throws IOException {
+            super.walkFileTree(start, results);
+        }
+
+        void walk(final File start, final List<String> results) throws IOException {
+            super.walk(start, results);
+        }
+
+        @Override
+        protected void handleStart(final File startDirectory, final Collection<String> results) {
+            results.add("start");
+        }
+
+        @Override
+        protected boolean handleDirectory(final File directory, final int depth, final Collection<String> results) {
+            results.add("dir:" + directory.getPath());
+            return true;
+        }
+
+        @Override
+        protected void handleDirectoryStart(final File directory, final int depth,
+                final Collection<String> results) {
+            results.add("dirStart:" + directory.getPath());
+        }
+
+        @Override
+        protected void handleFile(final File file, final int depth, final Collection<String> results) {
+            results.add("file:" + file.getPath() + "@" + depth);
+        }
+
+        @Override
+        protected void handleRestricted(final File directory, final int depth, final Collection<String> results) {
+            results.add("restricted:" + directory.getPath());
+        }
+
+        @Override
+        protected void handleDirectoryEnd(final File directory, final int depth, final Collection<String> results) {
+            results.add("dirEnd:" + directory.getPath());
+        }
+
+        @Override
+        protected void handleEnd(final Collection<String> results) {
+            results.add("end");
+        }
+    }
+
+    /**
+     * Cancels when a named file is found, optionally handling the cancellation.
+     */
+    private static class CancelWalker extends DirectoryWalker<File> {
+
+        private final String cancelName;
+        private final boolean suppress;
+        private volatile boolean cancelled;
+
+        CancelWalker(final String cancelName, final boolean suppress) {
+            super(FileFilterUtils.or(FileFilterUtils.directoryFileFilter(), new NameFileFilter(
+                    new String[] {"FilenameUtils.java", "IOUtils.java", "DirectoryWalker.java"})), -1);
+            this.cancelName = cancelName;
+            this.suppress = suppress;
+        }
+
+        void walkFileTree(final File start, final List<File> results, final ForkJoinPool pool) throws IOException {
+            super.walkFileTree(start, results, pool);
+        }
+
+        @Override
+        protected void handleFile(final File file, final int depth, final Collection<File> results)
+                throws IOException {
+            results.add(file);
+            if (cancelName.equals(file.getName())) {
+                throw new CancelException(file, depth);
+            }
+        }
+
+        @Override
+        protected void handleCancelled(final File startDirectory, final Collection<File> results,
+                final CancelException cancel) throws IOException {
+            if (!suppress) {
+                super.handleCancelled(startDirectory, results, cancel);
+            }
+            cancelled = true;
+        }
+    }
+}
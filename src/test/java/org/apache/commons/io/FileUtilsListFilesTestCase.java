@@ -22,9 +22,13 @@
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
@@ -197,5 +201,82 @@ public void testListFiles() throws Exception {
         }
     }
 
+    @Test
+    public void testIterateSameOrderAsList() throws Exception {
+        final IOFileFilter fileFilter = FileFilterUtils.suffixFileFilter("txt");
+        final IOFileFilter dirFilter = FileFilterUtils.makeCVSAware(null);
+        assertEquals(new ArrayList<>(FileUtils.listFiles(getLocalTestDirectory(), fileFilter, dirFilter)),
+                toList(FileUtils.iterateFiles(getLocalTestDirectory(), fileFilter, dirFilter)));
+        assertEquals(new ArrayList<>(FileUtils.listFilesAndDirs(getLocalTestDirectory(), fileFilter, dirFilter)),
+                toList(FileUtils.iterateFilesAndDirs(getLocalTestDirectory(), fileFilter, dirFilter)));
+        assertEquals(new ArrayList<>(FileUtils.listFiles(getLocalTestDirectory(), fileFilter, null)),
+                toList(FileUtils.iterateFiles(getLocalTestDirectory(), fileFilter, null)));
+    }
+
+    @Test
+    public void testStreamFilesIsLazy() throws Exception {
+        try (Stream<Path> paths = FileUtils.streamFiles(getLocalTestDirectory(),
+                FileFilterUtils.nameFileFilter("late.txt"), FileFilterUtils.trueFileFilter())) {
+            final Iterator<Path> files = paths.iterator();
+            // created after the stream, before its directory is read
+            FileUtils.touch(new File(getLocalTestDirectory(), "subdir1/subsubdir1/late.txt"));
+            assertTrue(files.hasNext());
+            assertEquals("late.txt", files.next().getFileName().toString());
+            assertFalse(files.hasNext());
+        }
+    }
+
+    @Test
+    public void testIterateFilesRemove() throws Exception {
+        final Iterator<File> files = FileUtils.iterateFiles(getLocalTestDirectory(),
+                FileFilterUtils.trueFileFilter(), FileFilterUtils.trueFileFilter());
+        final File first = files.next();
+        files.remove();
+        // the iterator is detached from the file system
+        assertTrue(first.exists());
+    }
+
+    @Test
+    public void testStreamFiles() throws Exception {
+        final IOFileFilter fileFilter = FileFilterUtils.trueFileFilter();
+        final IOFileFilter dirFilter = FileFilterUtils.makeCVSAware(null);
+        final List<Path> expected = new ArrayList<>();
+        for (final File file : FileUtils.listFiles(getLocalTestDirectory(), fileFilter, dirFilter)) {
+            expected.add(file.toPath());
+        }
+        try (Stream<Path> paths = FileUtils.streamFiles(getLocalTestDirectory(), fileFilter, dirFilter)) {
+            assertEquals(expected, paths.collect(Collectors.toList()));
+        }
+        try (Stream<Path> paths = FileUtils.streamFilesAndDirs(getLocalTestDirectory(), fileFilter, dirFilter)) {
+            assertEquals(FileUtils.listFilesAndDirs(getLocalTestDirectory(), fileFilter, dirFilter).size(),
+                    paths.count());
+        }
+    }
+
+    @Test
+    public void testCloseEarly() throws Exception {
+        final FileTreeIterator files = new FileTreeIterator(getLocalTestDirectory(),
+                FileFilterUtils.trueFileFilter(), FileFilterUtils.trueFileFilter(), true);
+        assertEquals(getLocalTestDirectory(), files.next());
+        assertTrue(files.hasNext());
+        files.close();
+        assertFalse(files.hasNext());
+        try (Stream<Path> paths = FileUtils.streamFiles(getLocalTestDirectory(),
+                FileFilterUtils.trueFileFilter(), FileFilterUtils.trueFileFilter())) {
+            assertTrue(paths.findFirst().isPresent());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStreamFilesNotDirectory() throws Exception {
+        FileUtils.streamFiles(new File(getLocalTestDirectory(), "README"), FileFilterUtils.trueFileFilter(), null);
+    }
 
+    private static List<File> toList(final Iterator<File> files) {
+        final List<File> list = new ArrayList<>();
+        while (files.hasNext()) {
+            list.add(files.next());
+        }
+        return list;
+    }
 }
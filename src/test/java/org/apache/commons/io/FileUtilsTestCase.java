@@ -45,6 +45,8 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
@@ -626,6 +628,25 @@ public void testContentEquals() throws Exception {
         assertTrue(FileUtils.contentEquals(file, file2));
     }
 
+    @Test
+    public void testContentEqualsLargeFiles() throws Exception {
+        // large enough to be compared through mapped windows rather than streams
+        final byte[] data = new byte[(int) (FileUtils.ONE_MB * 2 + 17)];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 251);
+        }
+        final File file1 = new File(getTestDirectory(), getName() + ".1");
+        final File file2 = new File(getTestDirectory(), getName() + ".2");
+        FileUtils.writeByteArrayToFile(file1, data);
+        FileUtils.writeByteArrayToFile(file2, data);
+        assertTrue(FileUtils.contentEquals(file1, file2));
+
+        data[data.length - 1]++;
+        FileUtils.writeByteArrayToFile(file2, data);
+        assertFalse(FileUtils.contentEquals(file1, file2));
+        assertFalse(FileUtils.contentEquals(file2, file1));
+    }
+
     @Test
     public void testContentEqualsIgnoreEOL() throws Exception {
         // Non-existent files
@@ -1169,6 +1190,46 @@ public void testCopyFile1() throws Exception {
             testFile1.lastModified() == destination.lastModified());*/
     }
 
+    @Test
+    public void testCopyFileWithOptions() throws Exception {
+        assertTrue(testFile1.setLastModified(1000000002000L));
+        for (final FileCopyOptions.Verification verification : FileCopyOptions.Verification.values()) {
+            final File destination = new File(getTestDirectory(), "copy-" + verification + ".txt");
+            final FileCopyOptions options = FileCopyOptions.DEFAULT.withVerification(verification);
+            FileUtils.copyFile(testFile1, destination, options);
+            assertTrue(verification.toString(), FileUtils.contentEquals(testFile1, destination));
+            assertEquals(verification.toString(), 1000000002000L, destination.lastModified());
+
+            final File destination2 = new File(getTestDirectory(), "copy2-" + verification + ".txt");
+            FileUtils.copyFile(testFile1, destination2, options.withPreserveAttributes(false));
+            assertTrue(verification.toString(), FileUtils.contentEquals(testFile1, destination2));
+            assertTrue(verification.toString(), 1000000002000L != destination2.lastModified());
+        }
+    }
+
+    @Test
+    public void testFileCopyOptions() {
+        final FileCopyOptions options = FileCopyOptions.DEFAULT;
+        assertEquals(FileCopyOptions.Verification.SIZE, options.getVerification());
+        assertTrue(options.isPreserveAttributes());
+        assertSame(options, options.withVerification(FileCopyOptions.Verification.SIZE));
+        assertSame(options, options.withPreserveAttributes(true));
+
+        final FileCopyOptions changed = options.withVerification(FileCopyOptions.Verification.NONE)
+                .withPreserveAttributes(false);
+        assertEquals(FileCopyOptions.Verification.NONE, changed.getVerification());
+        assertFalse(changed.isPreserveAttributes());
+        // the original is unchanged
+        assertEquals(FileCopyOptions.Verification.SIZE, options.getVerification());
+        assertTrue(options.isPreserveAttributes());
+        try {
+            options.withVerification(null);
+            fail("Expected NullPointerException");
+        } catch (final NullPointerException expected) {
+            // expected
+        }
+    }
+
     @Test
     public void testCopyFileToOutputStream() throws Exception {
         final ByteArrayOutputStream destination = new ByteArrayOutputStream();
@@ -1448,6 +1509,54 @@ public void testCopyDirectoryPreserveDates() throws Exception {
         FileUtils.deleteDirectory(target);
     }
 
+    @Test
+    public void testCopyDirectoryParallel() throws Exception {
+        final File grandParentDir = new File(getTestDirectory(), "grandparent");
+        final File parentDir = new File(grandParentDir, "parent");
+        final File childDir = new File(parentDir, "child");
+        createFilesForTestCopyDirectory(grandParentDir, parentDir, childDir);
+        grandParentDir.setLastModified(1000000000000L);
+        final File destDir = new File(getTestDirectory(), "copydest");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            FileUtils.copyDirectory(grandParentDir, destDir, null, true, executor);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(FileUtils.sizeOfDirectory(grandParentDir), FileUtils.sizeOfDirectory(destDir));
+        assertEquals(LIST_WALKER.list(grandParentDir).size(), LIST_WALKER.list(destDir).size());
+        assertTrue(FileUtils.contentEquals(new File(childDir, "grandChild/file5.txt"),
+                new File(destDir, "parent/child/grandChild/file5.txt")));
+        assertEquals(1000000000000L, destDir.lastModified());
+    }
+
+    @Test
+    public void testCopyDirectoryParallelCollectsFailures() throws Exception {
+        final File grandParentDir = new File(getTestDirectory(), "grandparent");
+        final File parentDir = new File(grandParentDir, "parent");
+        final File childDir = new File(parentDir, "child");
+        createFilesForTestCopyDirectory(grandParentDir, parentDir, childDir);
+        final File destDir = new File(getTestDirectory(), "copydest");
+        // directories in the way of two of the files
+        new File(destDir, "file1.txt").mkdirs();
+        new File(destDir, "parent/child/file3.txt").mkdirs();
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            FileUtils.copyDirectory(grandParentDir, destDir, null, false, executor);
+            fail("Expected IOExceptionList");
+        } catch (final IOExceptionList e) {
+            assertEquals(2, e.getCauseList().size());
+        } finally {
+            executor.shutdown();
+        }
+        // everything else was still copied
+        assertTrue(new File(destDir, "parent/file2.txt").isFile());
+        assertTrue(new File(destDir, "parent/child2/grandChild2/file6.txt").isFile());
+        assertTrue(new File(destDir, "parent/child/grandChild/file5.txt").isFile());
+    }
+
     /* Test for IO-141 */
     @Test
     public void testCopyDirectoryToChild() throws Exception {
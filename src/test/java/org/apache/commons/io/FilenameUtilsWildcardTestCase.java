@@ -16,7 +16,6 @@
  */
 package org.apache.commons.io;
 
-import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -119,19 +118,6 @@ public void testMatchCaseSpecified() {
         assertEquals(WINDOWS, FilenameUtils.wildcardMatch("FOOBAR", "Foo*", IOCase.SYSTEM));
     }
 
-    @Test
-    public void testSplitOnTokens() {
-        assertArrayEquals(new String[] { "Ad", "*", "er" }, FilenameUtils.splitOnTokens("Ad*er"));
-        assertArrayEquals(new String[] { "Ad", "?", "er" }, FilenameUtils.splitOnTokens("Ad?er"));
-        assertArrayEquals(new String[] { "Test", "*", "?", "One" }, FilenameUtils.splitOnTokens("Test*?One"));
-        assertArrayEquals(new String[] { "Test", "?", "*", "One" }, FilenameUtils.splitOnTokens("Test?*One"));
-        assertArrayEquals(new String[] { "*" }, FilenameUtils.splitOnTokens("****"));
-        assertArrayEquals(new String[] { "*", "?", "?", "*" }, FilenameUtils.splitOnTokens("*??*"));
-        assertArrayEquals(new String[] { "*", "?", "*", "?", "*" }, FilenameUtils.splitOnTokens("*?**?*"));
-        assertArrayEquals(new String[] { "*", "?", "*", "?", "*" }, FilenameUtils.splitOnTokens("*?***?*"));
-        assertArrayEquals(new String[] { "h", "?", "?", "*" }, FilenameUtils.splitOnTokens("h??*"));
-        assertArrayEquals(new String[] { "" }, FilenameUtils.splitOnTokens(""));
-    }
 
     private void assertMatch(final String text, final String wildcard, final boolean expected) {
         assertEquals(text + " " + wildcard, expected, FilenameUtils.wildcardMatch(text, wildcard));
@@ -193,9 +179,9 @@ public void test_IO_246() {
 
         // Tests for "*?"
         assertMatch("aaa", "aa*?", true);
-        // these ought to work as well, but "*?" does not work properly at present
-//      assertMatch("aaa", "a*?", true);
-//      assertMatch("aaa", "*?", true);
+        assertMatch("aaa", "a*?", true);
+        assertMatch("aaa", "*?", true);
+        assertMatch("",    "*?", false);
 
         // Tests for "?*"
         assertMatch("",    "?*",   false);
@@ -20,12 +20,18 @@
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 
 import org.apache.commons.io.input.NullInputStream;
@@ -36,7 +42,9 @@
 import org.apache.commons.io.testtools.TestUtils;
 import org.apache.commons.io.testtools.YellOnCloseInputStream;
 import org.apache.commons.io.testtools.YellOnFlushAndCloseOutputStream;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * JUnit tests for IOUtils copy methods.
@@ -57,6 +65,9 @@ public class IOUtilsCopyTestCase {
 
     private final byte[] inData = TestUtils.generateTestData(FILE_SIZE);
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     //-----------------------------------------------------------------------
     @SuppressWarnings("resource") // 'in' is deliberately not closed
     @Test
@@ -94,6 +105,47 @@ public void testCopy_inputStreamToOutputStream_IO84() throws Exception {
         assertEquals("copyLarge()", size, IOUtils.copyLarge(in, out));
     }
 
+    @Test
+    public void testCopy_fileInputStreamToFileOutputStream() throws Exception {
+        final File src = temporaryFolder.newFile("src.bin");
+        final File dest = temporaryFolder.newFile("dest.bin");
+        FileUtils.writeByteArrayToFile(src, inData);
+        try (FileInputStream in = new FileInputStream(src); FileOutputStream out = new FileOutputStream(dest)) {
+            // the copy starts at the current position of the stream
+            assertEquals(1, in.skip(1));
+            assertEquals(inData.length - 1, IOUtils.copyLarge(in, out));
+            assertEquals("Input not at EOF", -1, in.read());
+            // output position follows the transferred bytes
+            out.write(42);
+        }
+        final byte[] expected = Arrays.copyOf(Arrays.copyOfRange(inData, 1, inData.length), inData.length);
+        expected[inData.length - 1] = 42;
+        assertTrue("Content differs", Arrays.equals(expected, FileUtils.readFileToByteArray(dest)));
+    }
+
+    @Test
+    public void testCopy_fileChannelToWritableByteChannel() throws Exception {
+        final File src = temporaryFolder.newFile("src.bin");
+        FileUtils.writeByteArrayToFile(src, inData);
+        final ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        try (FileChannel in = FileChannel.open(src.toPath(), StandardOpenOption.READ)) {
+            assertEquals(inData.length, IOUtils.copyLarge(in, Channels.newChannel(baout)));
+            assertEquals(inData.length, in.position());
+        }
+        assertTrue("Content differs", Arrays.equals(inData, baout.toByteArray()));
+    }
+
+    @Test
+    public void testCopy_readableByteChannelToFileChannel() throws Exception {
+        final File dest = temporaryFolder.newFile("dest.bin");
+        try (FileChannel out = FileChannel.open(dest.toPath(), StandardOpenOption.WRITE)) {
+            assertEquals(inData.length,
+                    IOUtils.copyLarge(Channels.newChannel(new ByteArrayInputStream(inData)), out));
+            assertEquals(inData.length, out.position());
+        }
+        assertTrue("Content differs", Arrays.equals(inData, FileUtils.readFileToByteArray(dest)));
+    }
+
     @Test(expected = NullPointerException.class)
     public void testCopy_inputStreamToOutputStream_nullIn() throws Exception {
         final OutputStream out = new ByteArrayOutputStream();
@@ -309,6 +309,57 @@ public synchronized void close() throws IOException {
         assertTrue(IOUtils.contentEqualsIgnoreEOL(r1, r2));
     }
 
+    @Test public void testContentEquals_InputStream_InputStream_Buffers() throws Exception {
+        final byte[] buffer1 = new byte[3];
+        final byte[] buffer2 = new byte[5];
+        // block size is the shorter buffer, so inputs span several blocks
+        assertTrue(IOUtils.contentEquals(new BufferedInputStream(new ByteArrayInputStream("ABCDEFG".getBytes(StandardCharsets.UTF_8))),
+                new ByteArrayInputStream("ABCDEFG".getBytes(StandardCharsets.UTF_8)), buffer1, buffer2));
+        assertTrue(IOUtils.contentEquals(new ByteArrayInputStream("ABCDEF".getBytes(StandardCharsets.UTF_8)),
+                new BufferedInputStream(new ByteArrayInputStream("ABCDEF".getBytes(StandardCharsets.UTF_8))), buffer1, buffer2));
+        assertFalse(IOUtils.contentEquals(new ByteArrayInputStream("ABCDEFG".getBytes(StandardCharsets.UTF_8)),
+                new BufferedInputStream(new ByteArrayInputStream("ABCDEFX".getBytes(StandardCharsets.UTF_8))), buffer1, buffer2));
+        assertFalse(IOUtils.contentEquals(new BufferedInputStream(new ByteArrayInputStream("ABCDEF".getBytes(StandardCharsets.UTF_8))),
+                new BufferedInputStream(new ByteArrayInputStream("ABCDEFG".getBytes(StandardCharsets.UTF_8))), buffer1, buffer2));
+        try {
+            IOUtils.contentEquals(new ByteArrayInputStream(new byte[1]), new ByteArrayInputStream(new byte[1]),
+                    new byte[0], buffer2);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    @Test public void testContentEquals_InputStream_InputStream_KnownLength() throws Exception {
+        final ByteArrayInputStream input1 = new ByteArrayInputStream("ABC".getBytes(StandardCharsets.UTF_8));
+        final ByteArrayInputStream input2 = new ByteArrayInputStream("ABCD".getBytes(StandardCharsets.UTF_8));
+        assertFalse(IOUtils.contentEquals(input1, input2));
+        // rejected on length alone, nothing was consumed
+        assertEquals(3, input1.available());
+        assertEquals(4, input2.available());
+    }
+
+    @Test public void testContentEquals_Reader_Reader_Buffers() throws Exception {
+        final char[] buffer1 = new char[2];
+        final char[] buffer2 = new char[2];
+        assertTrue(IOUtils.contentEquals(new StringReader("ABCDE"), new StringReader("ABCDE"), buffer1, buffer2));
+        assertTrue(IOUtils.contentEquals(new StringReader("ABCD"), new StringReader("ABCD"), buffer1, buffer2));
+        assertFalse(IOUtils.contentEquals(new StringReader("ABCDE"), new StringReader("ABCDX"), buffer1, buffer2));
+        assertFalse(IOUtils.contentEquals(new StringReader("ABCD"), new StringReader("ABCDE"), buffer1, buffer2));
+    }
+
+    @Test public void testContentEqualsIgnoreEOL_Buffers() throws Exception {
+        final char[] buffer1 = new char[1];
+        final char[] buffer2 = new char[2];
+        // "\r\n" split across buffer fills
+        assertTrue(IOUtils.contentEqualsIgnoreEOL(new StringReader("1\r\n2\r\n"), new StringReader("1\n2"), buffer1, buffer2));
+        assertTrue(IOUtils.contentEqualsIgnoreEOL(new StringReader("1\r\r2"), new StringReader("1\n\n2"), buffer1, buffer2));
+        assertFalse(IOUtils.contentEqualsIgnoreEOL(new StringReader("1\r\n"), new StringReader("1\n\r"), buffer1, buffer2));
+        assertFalse(IOUtils.contentEqualsIgnoreEOL(new StringReader(""), new StringReader("\n"), buffer1, buffer2));
+        assertFalse(IOUtils.contentEqualsIgnoreEOL(new StringReader("1\n"), new StringReader("1\n\n"), buffer1, buffer2));
+        assertFalse(IOUtils.contentEqualsIgnoreEOL(new StringReader("12"), new StringReader("1\n2"), buffer1, buffer2));
+    }
+
     @Test public void testCopy_ByteArray_OutputStream() throws Exception {
         final File destination = TestUtils.newFile(getTestDirectory(), "copy8.txt");
         byte[] in;
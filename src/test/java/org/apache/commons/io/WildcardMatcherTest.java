@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link WildcardMatcher}.
+ */
+public class WildcardMatcherTest {
+
+    @Test
+    public void testMatches() {
+        final WildcardMatcher matcher = new WildcardMatcher("*.txt");
+        assertTrue(matcher.matches("c.txt"));
+        assertTrue(matcher.matches(".txt"));
+        assertFalse(matcher.matches("c.TXT"));
+        assertFalse(matcher.matches("c.txt.bak"));
+        assertFalse(matcher.matches(null));
+        assertTrue(new WildcardMatcher("").matches(""));
+        assertFalse(new WildcardMatcher("").matches("a"));
+        assertTrue(new WildcardMatcher("*").matches(""));
+        assertTrue(new WildcardMatcher("a*b*c").matches("aXbYbc"));
+        assertFalse(new WildcardMatcher("a*b*c").matches("aXbYbcd"));
+        assertTrue(new WildcardMatcher("*?").matches("a"));
+        assertFalse(new WildcardMatcher("?*?").matches("a"));
+    }
+
+    @Test
+    public void testInsensitive() {
+        final WildcardMatcher matcher = new WildcardMatcher("*.TxT", IOCase.INSENSITIVE);
+        assertTrue(matcher.matches("c.txt"));
+        assertTrue(matcher.matches("C.TXT"));
+        assertFalse(matcher.isCaseSensitive());
+        assertTrue(new WildcardMatcher("\u03A3*", IOCase.INSENSITIVE).matches("\u03C2x"));
+        assertTrue(new WildcardMatcher("i?", IOCase.INSENSITIVE).matches("\u0130x"));
+        assertEquals(IOCase.SYSTEM.isCaseSensitive(), new WildcardMatcher("a", IOCase.SYSTEM).isCaseSensitive());
+        assertTrue(new WildcardMatcher("a", null).isCaseSensitive());
+    }
+
+    @Test
+    public void testSameAsRegex() {
+        final Random random = new Random(42);
+        final String alphabet = "ab*?";
+        for (int i = 0; i < 20000; i++) {
+            final String pattern = randomString(random, alphabet, 6);
+            final String name = randomString(random, "abAB", 8);
+            final boolean sensitive = random.nextBoolean();
+            final WildcardMatcher matcher = new WildcardMatcher(pattern, sensitive ? IOCase.SENSITIVE
+                    : IOCase.INSENSITIVE);
+            final Pattern regex = Pattern.compile(pattern.replace("?", ".").replace("*", ".*"),
+                    sensitive ? 0 : Pattern.CASE_INSENSITIVE);
+            assertEquals(pattern + " " + name, regex.matcher(name).matches(), matcher.matches(name));
+        }
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new WildcardMatcher("*.java", IOCase.INSENSITIVE));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final WildcardMatcher matcher = (WildcardMatcher) in.readObject();
+            assertEquals("*.java", matcher.getPattern());
+            assertTrue(matcher.matches("A.JAVA"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPattern() {
+        new WildcardMatcher(null);
+    }
+
+    private static String randomString(final Random random, final String alphabet, final int maxLength) {
+        final int length = random.nextInt(maxLength + 1);
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
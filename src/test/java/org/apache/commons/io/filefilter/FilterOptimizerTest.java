@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests {@link FileFilterUtils#optimize(IOFileFilter)} and {@link FileFilterUtils#explain(IOFileFilter)}.
+ */
+public class FilterOptimizerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final IOFileFilter magic = new MagicNumberFileFilter("PK");
+    private final IOFileFilter size = new SizeFileFilter(2);
+    private final IOFileFilter suffix = new SuffixFileFilter(".zip");
+    private final IOFileFilter prefix = new PrefixFileFilter("a");
+
+    @Test
+    public void testCosts() {
+        assertEquals(FilterCost.NAME, suffix.getCost());
+        assertEquals(FilterCost.METADATA, size.getCost());
+        assertEquals(FilterCost.CONTENT, magic.getCost());
+        assertEquals(FilterCost.CONTENT, new DelegateFileFilter((FileFilter) File::isFile).getCost());
+        assertEquals(FilterCost.METADATA, FileFilterUtils.and(suffix, size).getCost());
+        assertEquals(FilterCost.CONTENT, FileFilterUtils.or(suffix, FileFilterUtils.notFileFilter(magic)).getCost());
+        assertEquals(FilterCost.NAME, new AndFileFilter().getCost());
+    }
+
+    @Test
+    public void testReorder() {
+        final IOFileFilter optimized = FileFilterUtils.optimize(FileFilterUtils.and(magic, size, suffix));
+        assertEquals(Arrays.asList(suffix, size, magic), ((AndFileFilter) optimized).getFileFilters());
+    }
+
+    @Test
+    public void testFlattenAndDedupe() {
+        final IOFileFilter filter = FileFilterUtils.and(magic,
+                FileFilterUtils.and(suffix, FileFilterUtils.and(size, suffix)), prefix, magic);
+        final List<IOFileFilter> operands = ((AndFileFilter) FileFilterUtils.optimize(filter)).getFileFilters();
+        assertEquals(Arrays.asList(suffix, prefix, size, magic), operands);
+        // an OR inside an AND is kept, and optimized itself
+        final IOFileFilter mixed = FileFilterUtils.or(magic, FileFilterUtils.and(size, suffix),
+                FileFilterUtils.or(prefix, prefix));
+        final List<IOFileFilter> orOperands = ((OrFileFilter) FileFilterUtils.optimize(mixed)).getFileFilters();
+        assertEquals(3, orOperands.size());
+        assertSame(prefix, orOperands.get(0));
+        assertEquals(Arrays.asList(suffix, size), ((AndFileFilter) orOperands.get(1)).getFileFilters());
+        assertSame(magic, orOperands.get(2));
+    }
+
+    @Test
+    public void testSimplify() {
+        assertSame(suffix, FileFilterUtils.optimize(FileFilterUtils.and(TrueFileFilter.TRUE, suffix)));
+        assertSame(FalseFileFilter.FALSE, FileFilterUtils.optimize(FileFilterUtils.and(magic, FalseFileFilter.FALSE)));
+        assertSame(TrueFileFilter.TRUE, FileFilterUtils.optimize(FileFilterUtils.or(magic, TrueFileFilter.TRUE)));
+        assertSame(suffix, FileFilterUtils.optimize(FileFilterUtils.or(FalseFileFilter.FALSE, suffix)));
+        assertSame(TrueFileFilter.TRUE, FileFilterUtils.optimize(FileFilterUtils.and(TrueFileFilter.TRUE)));
+        assertSame(FalseFileFilter.FALSE, FileFilterUtils.optimize(new AndFileFilter()));
+        assertSame(FalseFileFilter.FALSE, FileFilterUtils.optimize(new OrFileFilter()));
+        assertSame(suffix, FileFilterUtils.optimize(
+                FileFilterUtils.notFileFilter(FileFilterUtils.notFileFilter(suffix))));
+        assertSame(FalseFileFilter.FALSE, FileFilterUtils.optimize(
+                FileFilterUtils.notFileFilter(FileFilterUtils.or(suffix, TrueFileFilter.TRUE))));
+        assertSame(FalseFileFilter.FALSE, FileFilterUtils.optimize(
+                FileFilterUtils.and(suffix, size, FileFilterUtils.notFileFilter(suffix))));
+        assertSame(TrueFileFilter.TRUE, FileFilterUtils.optimize(
+                FileFilterUtils.or(FileFilterUtils.notFileFilter(size), size)));
+        assertSame(magic, FileFilterUtils.optimize(magic));
+    }
+
+    @Test
+    public void testSameResults() throws IOException {
+        final File zip = temporaryFolder.newFile("a.zip");
+        FileUtils.writeStringToFile(zip, "PK..", "US-ASCII");
+        final File text = temporaryFolder.newFile("b.zip");
+        FileUtils.writeStringToFile(text, "text", "US-ASCII");
+        final File small = temporaryFolder.newFile("a.txt");
+        final IOFileFilter[] filters = {
+            FileFilterUtils.and(magic, size, suffix),
+            FileFilterUtils.or(magic, FileFilterUtils.and(size, FileFilterUtils.notFileFilter(prefix))),
+            FileFilterUtils.notFileFilter(FileFilterUtils.or(magic, FileFilterUtils.or(prefix, suffix))),
+            FileFilterUtils.and(FileFilterUtils.or(prefix, magic), FileFilterUtils.notFileFilter(size)),
+        };
+        for (final IOFileFilter filter : filters) {
+            final IOFileFilter optimized = FileFilterUtils.optimize(filter);
+            for (final File file : new File[] {zip, text, small}) {
+                assertEquals(filter + " " + file, filter.accept(file), optimized.accept(file));
+                assertEquals(filter + " " + file, filter.accept(file.getParentFile(), file.getName()),
+                        optimized.accept(file.getParentFile(), file.getName()));
+            }
+        }
+    }
+
+    @Test
+    public void testOriginalUnchanged() {
+        final AndFileFilter filter = new AndFileFilter(magic, suffix);
+        FileFilterUtils.optimize(filter);
+        assertEquals(Arrays.asList(magic, suffix), filter.getFileFilters());
+    }
+
+    @Test
+    public void testExplain() {
+        final String plan = FileFilterUtils.explain(FileFilterUtils.optimize(
+                FileFilterUtils.and(size, FileFilterUtils.notFileFilter(magic), suffix)));
+        final String nl = System.lineSeparator();
+        assertEquals("AndFileFilter [CONTENT]" + nl
+                + "  SuffixFileFilter(.zip) [NAME]" + nl
+                + "  SizeFileFilter(>=2) [METADATA]" + nl
+                + "  NotFileFilter [CONTENT]" + nl
+                + "    MagicNumberFileFilter(PK,0) [CONTENT]" + nl, plan);
+        assertTrue(FileFilterUtils.explain(suffix).startsWith("SuffixFileFilter(.zip) [NAME]"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOptimizeNull() {
+        FileFilterUtils.optimize(null);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests {@link MagicNumbersFileFilter}.
+ */
+public class MagicNumbersFileFilterTest {
+
+    private static final MagicNumberFileFilter ZIP = new MagicNumberFileFilter("PK");
+    private static final MagicNumberFileFilter GZIP = new MagicNumberFileFilter(new byte[] {0x1F, (byte) 0x8B});
+    private static final MagicNumberFileFilter TAR = new MagicNumberFileFilter("ustar", 257);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testMatchesLikeOrFilter() throws IOException {
+        final File zip = write("a.zip", header("PK", 0, 10));
+        final File gzip = write("a.gz", new byte[] {0x1F, (byte) 0x8B, 8});
+        final File tar = write("a.tar", header("ustar", 257, 512));
+        final File text = write("a.txt", header("text", 0, 600));
+        final File shortFile = write("short", new byte[] {'P'});
+        final File empty = write("empty", new byte[0]);
+        final File dir = temporaryFolder.newFolder("PK");
+
+        final IOFileFilter or = new OrFileFilter(Arrays.<IOFileFilter>asList(ZIP, GZIP, TAR));
+        final MagicNumbersFileFilter filter = new MagicNumbersFileFilter(ZIP, GZIP, TAR);
+        for (final File file : new File[] {zip, gzip, tar, text, shortFile, empty, dir}) {
+            final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            assertEquals(file.getName(), or.accept(file), filter.accept(file));
+            assertEquals(file.getName(), or.accept(file), filter.accept(file.toPath(), attributes));
+        }
+        assertTrue(filter.accept(zip));
+        assertTrue(filter.accept(tar));
+        assertFalse(filter.accept(text));
+        assertFalse(filter.accept((File) null));
+        assertFalse(filter.accept(new File(temporaryFolder.getRoot(), "missing")));
+    }
+
+    @Test
+    public void testMatchingFilters() throws IOException {
+        final byte[] both = header("ustar", 257, 300);
+        both[0] = 'P';
+        both[1] = 'K';
+        final File file = write("both", both);
+        final MagicNumbersFileFilter filter = new MagicNumbersFileFilter(ZIP, GZIP, TAR);
+        assertEquals(Arrays.asList(ZIP, TAR), filter.getMatchingFilters(file));
+        assertEquals(Collections.emptyList(), filter.getMatchingFilters(temporaryFolder.newFolder("dir")));
+        assertEquals(Collections.emptyList(), filter.getMatchingFilters(null));
+    }
+
+    @Test
+    public void testWindowNotAtStart() throws IOException {
+        final MagicNumbersFileFilter filter = new MagicNumbersFileFilter(TAR,
+                new MagicNumberFileFilter("ustar  ", 257));
+        final File gnu = write("gnu.tar", header("ustar  ", 257, 264));
+        final File posix = write("posix.tar", header("ustar", 257, 262));
+        assertEquals(Arrays.asList(TAR), filter.getMatchingFilters(posix));
+        assertEquals(2, filter.getMatchingFilters(gnu).size());
+    }
+
+    @Test
+    public void testCache() throws IOException {
+        final File file = write("cached", header("PK", 0, 10));
+        final long lastModified = file.lastModified();
+        final MagicNumbersFileFilter cached = new MagicNumbersFileFilter(1, ZIP);
+        final MagicNumbersFileFilter uncached = new MagicNumbersFileFilter(ZIP);
+        assertTrue(cached.accept(file));
+
+        // same size and time: the cached header is used
+        Files.write(file.toPath(), header("XX", 0, 10));
+        assertTrue(file.setLastModified(lastModified));
+        assertTrue(cached.accept(file));
+        assertFalse(uncached.accept(file));
+
+        // another file evicts the header
+        assertFalse(cached.accept(write("other", header("XX", 0, 10))));
+        assertFalse(cached.accept(file));
+
+        // a new size invalidates the header
+        Files.write(file.toPath(), header("PK", 0, 11));
+        assertTrue(file.setLastModified(lastModified));
+        assertTrue(cached.accept(file));
+
+        Files.write(file.toPath(), header("XX", 0, 11));
+        assertTrue(file.setLastModified(lastModified));
+        cached.clearCache();
+        assertFalse(cached.accept(file));
+    }
+
+    @Test
+    public void testSerializable() throws Exception {
+        final File file = write("a.zip", header("PK", 0, 10));
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new MagicNumbersFileFilter(10, ZIP, GZIP));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final MagicNumbersFileFilter filter = (MagicNumbersFileFilter) in.readObject();
+            assertTrue(filter.accept(file));
+            assertTrue(filter.accept(file));
+        }
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("MagicNumbersFileFilter(MagicNumberFileFilter(PK,0),MagicNumberFileFilter(ustar,257))",
+                new MagicNumbersFileFilter(ZIP, TAR).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoFilters() {
+        new MagicNumbersFileFilter();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullFilter() {
+        new MagicNumbersFileFilter(ZIP, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCacheSize() {
+        new MagicNumbersFileFilter(-1, ZIP);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooFarApart() {
+        new MagicNumbersFileFilter(ZIP, new MagicNumberFileFilter("PK", Integer.MAX_VALUE));
+    }
+
+    private static byte[] header(final String magicNumber, final int offset, final int length) {
+        final byte[] header = new byte[length];
+        final byte[] bytes = magicNumber.getBytes();
+        System.arraycopy(bytes, 0, header, offset, bytes.length);
+        return header;
+    }
+
+    private File write(final String name, final byte[] content) throws IOException {
+        final File file = new File(temporaryFolder.getRoot(), name);
+        Files.write(file.toPath(), content);
+        return file;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOCase;
+import org.junit.Test;
+
+/**
+ * Tests the combined matching of {@link SuffixFileFilter}, {@link PrefixFileFilter} and
+ * {@link WildcardFileFilter} with many patterns against checking each pattern in turn.
+ */
+public class MultiPatternFileFilterTest {
+
+    private static final IOCase[] CASES = {IOCase.SENSITIVE, IOCase.INSENSITIVE, IOCase.SYSTEM};
+
+    private final Random random = new Random(7);
+
+    @Test
+    public void testSuffixes() {
+        for (final IOCase ioCase : CASES) {
+            final String[] suffixes = randomStrings("abAB.", 200, 0, 4);
+            final SuffixFileFilter filter = new SuffixFileFilter(suffixes, ioCase);
+            for (int i = 0; i < 2000; i++) {
+                final String name = randomString("abAB.", 0, 8);
+                boolean expected = false;
+                for (final String suffix : suffixes) {
+                    expected |= ioCase.checkEndsWith(name, suffix);
+                }
+                assertEquals(name, expected, filter.accept(new File(name)));
+                assertEquals(name, expected, filter.accept(null, name));
+            }
+        }
+    }
+
+    @Test
+    public void testPrefixes() {
+        for (final IOCase ioCase : CASES) {
+            final String[] prefixes = randomStrings("abAB.", 200, 1, 4);
+            final PrefixFileFilter filter = new PrefixFileFilter(prefixes, ioCase);
+            for (int i = 0; i < 2000; i++) {
+                final String name = randomString("abAB.", 0, 8);
+                boolean expected = false;
+                for (final String prefix : prefixes) {
+                    expected |= ioCase.checkStartsWith(name, prefix);
+                }
+                assertEquals(name, expected, filter.accept(new File(name)));
+                assertEquals(name, expected, filter.accept(null, name));
+            }
+        }
+    }
+
+    @Test
+    public void testWildcards() {
+        for (final IOCase ioCase : CASES) {
+            final String[] wildcards = randomStrings("abAB*?", 100, 0, 5);
+            final WildcardFileFilter filter = new WildcardFileFilter(wildcards, ioCase);
+            for (int i = 0; i < 5000; i++) {
+                final String name = randomString("abAB", 0, 8);
+                boolean expected = false;
+                for (final String wildcard : wildcards) {
+                    expected |= FilenameUtils.wildcardMatch(name, wildcard, ioCase);
+                }
+                assertEquals(name, expected, filter.accept(new File(name)));
+            }
+        }
+    }
+
+    @Test
+    public void testWildcardStatesNotCachedBeyondLimit() {
+        // '?' after '*' needs many distinct states for long names
+        final WildcardAutomaton automaton = new WildcardAutomaton(
+                new String[] {"*a??????????????", "*b?????????????"}, IOCase.SENSITIVE);
+        for (int i = 0; i < 3000; i++) {
+            final String name = randomString("abc", 10, 30);
+            final boolean expected = FilenameUtils.wildcardMatch(name, "*a??????????????")
+                    || FilenameUtils.wildcardMatch(name, "*b?????????????");
+            assertEquals(name, expected, automaton.matches(name));
+        }
+    }
+
+    @Test
+    public void testEmptyAndNullPatterns() {
+        assertTrue(new SuffixFileFilter(new String[] {"x", ""}).accept(new File("abc")));
+        assertTrue(new PrefixFileFilter(new String[] {null, ""}).accept(new File("abc")));
+        assertFalse(new PrefixFileFilter(new String[0]).accept(new File("abc")));
+        assertFalse(new WildcardFileFilter(new String[0]).accept(new File("abc")));
+        assertFalse(new WildcardFileFilter(new String[] {null, "x*"}).accept(new File("abc")));
+        assertTrue(new WildcardFileFilter(new String[] {null, "a*"}).accept(new File("abc")));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final String[] patterns = {".java", ".txt"};
+        assertTrue(roundTrip(new SuffixFileFilter(patterns, IOCase.INSENSITIVE)).accept(new File("A.TXT")));
+        assertTrue(roundTrip(new PrefixFileFilter(patterns, IOCase.INSENSITIVE)).accept(new File(".JAVA.x")));
+        assertTrue(roundTrip(new WildcardFileFilter(new String[] {"*.c", "*.h"})).accept(new File("a.h")));
+        assertTrue(roundTrip(new WildcardFileFilter("*.c")).accept(new File("a.c")));
+    }
+
+    private static IOFileFilter roundTrip(final IOFileFilter filter) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(filter);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (IOFileFilter) in.readObject();
+        }
+    }
+
+    private String[] randomStrings(final String alphabet, final int count, final int minLength, final int maxLength) {
+        final String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            strings[i] = randomString(alphabet, minLength, maxLength);
+        }
+        return strings;
+    }
+
+    private String randomString(final String alphabet, final int minLength, final int maxLength) {
+        final int length = minLength + random.nextInt(maxLength - minLength + 1);
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.filefilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.DirectoryWalker;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOCase;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests {@link IOFileFilter#accept(Path, BasicFileAttributes)} against {@link IOFileFilter#accept(File)}.
+ */
+public class PathAttributesFileFilterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<File> files = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        final File root = temporaryFolder.getRoot();
+        files.add(temporaryFolder.newFile("empty.txt"));
+        files.add(temporaryFolder.newFile(".hidden"));
+        final File full = temporaryFolder.newFile("Full.TXT");
+        FileUtils.writeStringToFile(full, "some content", "US-ASCII");
+        files.add(full);
+        files.add(temporaryFolder.newFolder("emptyDir"));
+        final File dir = temporaryFolder.newFolder("dir.txt");
+        FileUtils.touch(new File(dir, "child"));
+        files.add(dir);
+        files.add(root);
+        assertTrue(full.setLastModified(full.lastModified() - 100000));
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testSameAsFile() throws IOException {
+        final long cutoff = System.currentTimeMillis() - 50000;
+        final IOFileFilter[] filters = {
+            new AgeFileFilter(cutoff), new AgeFileFilter(cutoff, false),
+            new SizeFileFilter(5), new SizeFileFilter(5, false),
+            EmptyFileFilter.EMPTY, EmptyFileFilter.NOT_EMPTY,
+            HiddenFileFilter.HIDDEN, HiddenFileFilter.VISIBLE,
+            FileFileFilter.FILE, DirectoryFileFilter.DIRECTORY,
+            new NameFileFilter("Full.TXT"), new NameFileFilter("full.txt", IOCase.INSENSITIVE),
+            new PrefixFileFilter("dir"), new SuffixFileFilter(".txt", IOCase.INSENSITIVE),
+            new WildcardFileFilter("*.txt"), new WildcardFileFilter(new String[] {"*.TXT", "e*"}),
+            new RegexFileFilter(".*Dir"), new WildcardFilter("*.txt"),
+            TrueFileFilter.TRUE, FalseFileFilter.FALSE,
+            FileFilterUtils.and(FileFileFilter.FILE, new SuffixFileFilter(".txt")), new AndFileFilter(),
+            FileFilterUtils.or(DirectoryFileFilter.DIRECTORY, EmptyFileFilter.EMPTY),
+            CanReadFileFilter.CAN_READ,
+        };
+        for (final IOFileFilter filter : filters) {
+            for (final File file : files) {
+                final Path path = file.toPath();
+                final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                assertEquals(filter + " " + file, filter.accept(file), filter.accept(path, attributes));
+            }
+        }
+    }
+
+    @Test
+    public void testWalksPassAttributes() throws IOException {
+        // the attributes are used, so the File methods are never called
+        final IOFileFilter filter = FileFilterUtils.and(new SuffixFileFilter(".txt", IOCase.INSENSITIVE),
+                new NonEmptyAttributesFilter(), FileFilterUtils.notFileFilter(new DirectoryAttributesFilter()));
+        final List<String> names = new ArrayList<>();
+        try (Stream<Path> paths = FileUtils.streamFiles(temporaryFolder.getRoot(), filter,
+                new DirectoryAttributesFilter())) {
+            paths.forEach(path -> names.add(path.getFileName().toString()));
+        }
+        assertEquals(1, names.size());
+        assertEquals("Full.TXT", names.get(0));
+        assertEquals(1, walk(new DirectoryAttributesFilter(), filter).size());
+    }
+
+    @Test
+    public void testSubclassOverrideHonored() throws IOException {
+        final SizeFileFilter filter = new SizeFileFilter(1) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean accept(final File file) {
+                return super.accept(file) && !file.getName().equals("Full.TXT");
+            }
+        };
+        final File full = new File(temporaryFolder.getRoot(), "Full.TXT");
+        assertFalse(filter.accept(full.toPath(), Files.readAttributes(full.toPath(), BasicFileAttributes.class)));
+        // Full.TXT is the only file of at least one byte
+        assertEquals(Arrays.asList("Full.TXT"), streamNames(new SizeFileFilter(1)));
+        assertEquals(Collections.emptyList(), streamNames(filter));
+        assertEquals(1, walk(TrueFileFilter.INSTANCE, new SizeFileFilter(1)).size());
+        assertEquals(0, walk(TrueFileFilter.INSTANCE, FileFilterUtils.and(FileFileFilter.FILE, filter)).size());
+    }
+
+    private List<String> streamNames(final IOFileFilter fileFilter) {
+        try (Stream<Path> paths = FileUtils.streamFiles(temporaryFolder.getRoot(), fileFilter,
+                TrueFileFilter.INSTANCE)) {
+            return paths.map(path -> path.getFileName().toString()).collect(Collectors.toList());
+        }
+    }
+
+    private List<File> walk(final IOFileFilter dirFilter, final IOFileFilter fileFilter) throws IOException {
+        final List<File> walked = new ArrayList<>();
+        new DirectoryWalker<File>(dirFilter, fileFilter, -1) {
+            void walk() throws IOException {
+                walkFileTree(temporaryFolder.getRoot(), walked);
+            }
+
+            @Override
+            protected void handleFile(final File file, final int depth, final Collection<File> results) {
+                results.add(file);
+            }
+        }.walk();
+        return walked;
+    }
+
+    /**
+     * Accepts non-empty files by their attributes only.
+     */
+    private static final class NonEmptyAttributesFilter implements IOFileFilter {
+        @Override
+        public boolean accept(final File file) {
+            fail("File checked for size: " + file);
+            return false;
+        }
+
+        @Override
+        public boolean accept(final File dir, final String name) {
+            return accept(new File(dir, name));
+        }
+
+        @Override
+        public boolean accept(final Path path, final BasicFileAttributes attributes) {
+            return attributes.size() > 0;
+        }
+    }
+
+    /**
+     * Accepts directories by their attributes only.
+     */
+    private static final class DirectoryAttributesFilter implements IOFileFilter {
+        @Override
+        public boolean accept(final File file) {
+            fail("File checked for type: " + file);
+            return false;
+        }
+
+        @Override
+        public boolean accept(final File dir, final String name) {
+            return accept(new File(dir, name));
+        }
+
+        @Override
+        public boolean accept(final Path path, final BasicFileAttributes attributes) {
+            return attributes.isDirectory();
+        }
+    }
+}
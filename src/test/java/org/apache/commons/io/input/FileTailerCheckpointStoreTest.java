@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link FileTailerCheckpointStore}.
+ */
+public class FileTailerCheckpointStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final File storeFile = new File(temporaryFolder.getRoot(), "checkpoints.properties");
+        final File a = new File(temporaryFolder.getRoot(), "a.log");
+        final File b = new File(temporaryFolder.getRoot(), "b.log");
+        final FileTailerCheckpointStore store = new FileTailerCheckpointStore(storeFile);
+        assertNull(store.load(a));
+        store.save(a, new TailerCheckpoint("(dev=803,ino=42)", 1234));
+        store.save(b, new TailerCheckpoint(null, 5));
+        store.save(a, new TailerCheckpoint("(dev=803,ino=42)", 2345));
+        assertEquals(new TailerCheckpoint("(dev=803,ino=42)", 2345), store.load(a));
+        store.flush();
+
+        // persisted
+        final FileTailerCheckpointStore reloaded = new FileTailerCheckpointStore(storeFile);
+        assertEquals(new TailerCheckpoint("(dev=803,ino=42)", 2345), reloaded.load(a));
+        assertEquals(new TailerCheckpoint(null, 5), reloaded.load(b));
+    }
+
+    @Test
+    public void testFlushInterval() throws IOException {
+        final File storeFile = new File(temporaryFolder.getRoot(), "checkpoints.properties");
+        final File a = new File(temporaryFolder.getRoot(), "a.log");
+        final FileTailerCheckpointStore store = new FileTailerCheckpointStore(storeFile, 3600000);
+        store.save(a, new TailerCheckpoint(null, 1));
+        store.save(a, new TailerCheckpoint(null, 2));
+        // only the first save was written
+        assertEquals(new TailerCheckpoint(null, 1), new FileTailerCheckpointStore(storeFile).load(a));
+        store.flush();
+        assertEquals(new TailerCheckpoint(null, 2), new FileTailerCheckpointStore(storeFile).load(a));
+        assertFalse(new File(temporaryFolder.getRoot(), "checkpoints.properties.tmp").exists());
+
+        final FileTailerCheckpointStore writeThrough = new FileTailerCheckpointStore(storeFile, 0);
+        writeThrough.save(a, new TailerCheckpoint(null, 3));
+        writeThrough.save(a, new TailerCheckpoint(null, 4));
+        assertEquals(new TailerCheckpoint(null, 4), new FileTailerCheckpointStore(storeFile).load(a));
+    }
+
+    @Test
+    public void testFlushIfDue() throws Exception {
+        final File storeFile = new File(temporaryFolder.getRoot(), "checkpoints.properties");
+        final File a = new File(temporaryFolder.getRoot(), "a.log");
+        final FileTailerCheckpointStore store = new FileTailerCheckpointStore(storeFile, 200);
+        store.save(a, new TailerCheckpoint(null, 1));
+        store.save(a, new TailerCheckpoint(null, 2));
+        store.flushIfDue();
+        // inside the interval
+        assertEquals(new TailerCheckpoint(null, 1), new FileTailerCheckpointStore(storeFile).load(a));
+        Thread.sleep(300);
+        // no more saves, only an idle check past the interval
+        store.flushIfDue();
+        assertEquals(new TailerCheckpoint(null, 2), new FileTailerCheckpointStore(storeFile).load(a));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeFlushInterval() {
+        new FileTailerCheckpointStore(new File(temporaryFolder.getRoot(), "checkpoints.properties"), -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativePosition() {
+        new TailerCheckpoint("key", -1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullFile() {
+        new FileTailerCheckpointStore(null);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link TailerGroup}.
+ */
+public class TailerGroupTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TailerGroup group;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (group != null) {
+            group.stop();
+        }
+    }
+
+    @Test
+    public void testManyFilesFewThreads() throws Exception {
+        final int files = 50;
+        group = new TailerGroup(2, 50, true, 64);
+        final List<File> tailed = new ArrayList<>();
+        final List<CollectingListener> listeners = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            final File file = temporaryFolder.newFile("tailer-group-" + i + ".txt");
+            tailed.add(file);
+            final CollectingListener listener = new CollectingListener();
+            listeners.add(listener);
+            group.add(file, listener);
+        }
+        assertEquals(files, group.size());
+        group.start();
+        for (int i = 0; i < files; i++) {
+            append(tailed.get(i), "first " + i + "\nsecond " + i + "\n");
+        }
+        for (int i = 0; i < files; i++) {
+            final CollectingListener listener = listeners.get(i);
+            awaitLines(listener, 2);
+            assertEquals(1, listener.initialised);
+            assertEquals("first " + i, listener.lines.get(0));
+            assertEquals("second " + i, listener.lines.get(1));
+        }
+    }
+
+    @Test
+    public void testBusyFileDoesNotStarveOthers() throws Exception {
+        final File big = temporaryFolder.newFile("big.txt");
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        append(big, content.toString());
+        final File small = temporaryFolder.newFile("small.txt");
+        append(small, "small\n");
+
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        group = new TailerGroup(1, 50, false, 64);
+        group.add(big, new TailerListenerAdapter() {
+            @Override
+            public void handle(final String line) {
+                if (line.equals("line 19999")) {
+                    order.add("big");
+                }
+            }
+        });
+        group.add(small, new TailerListenerAdapter() {
+            @Override
+            public void handle(final String line) {
+                order.add(line);
+            }
+        });
+        group.start();
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (order.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("small", order.get(0));
+        assertEquals("big", order.get(1));
+    }
+
+    @Test
+    public void testStoppedTailerIsRemoved() throws Exception {
+        final File file = temporaryFolder.newFile("stopped.txt");
+        final File other = temporaryFolder.newFile("other.txt");
+        group = new TailerGroup(1, 50, false);
+        group.add(file, new TailerListenerAdapter() {
+            private Tailer tailer;
+
+            @Override
+            public void init(final Tailer tailer) {
+                this.tailer = tailer;
+            }
+
+            @Override
+            public void handle(final String line) {
+                tailer.stop();
+            }
+        });
+        final Tailer removed = group.add(other, new TailerListenerAdapter());
+        group.start();
+        assertEquals(2, group.size());
+        append(file, "stop\n");
+        group.remove(removed);
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (group.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, group.size());
+    }
+
+    @Test
+    public void testStopFromListener() throws Exception {
+        final File file = temporaryFolder.newFile("stop-group.txt");
+        final File other = temporaryFolder.newFile("other.txt");
+        final AtomicBoolean returned = new AtomicBoolean();
+        group = new TailerGroup(2, 50, false);
+        group.add(file, new TailerListenerAdapter() {
+            @Override
+            public void handle(final String line) {
+                try {
+                    group.stop();
+                    returned.set(true);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        group.add(other, new TailerListenerAdapter());
+        group.start();
+        append(file, "stop\n");
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (group.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(returned.get());
+        assertEquals(0, group.size());
+        // already stopped
+        group.stop();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStartTwice() {
+        group = new TailerGroup(1, 50, false);
+        group.start();
+        group.start();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoThreads() {
+        new TailerGroup(0, 50, false);
+    }
+
+    private static void append(final File file, final String text) throws IOException {
+        try (OutputStream out = new FileOutputStream(file, true)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void awaitLines(final CollectingListener listener, final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (listener.lines.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue("Expected " + count + " lines: " + listener.lines, listener.lines.size() >= count);
+    }
+
+    private static class CollectingListener extends TailerListenerAdapter {
+
+        final List<String> lines = Collections.synchronizedList(new ArrayList<String>());
+
+        volatile int initialised;
+
+        @Override
+        public void init(final Tailer tailer) {
+            initialised++;
+        }
+
+        @Override
+        public void handle(final String line) {
+            lines.add(line);
+        }
+    }
+}
@@ -35,9 +35,14 @@
 import java.io.OutputStreamWriter;
 import java.io.RandomAccessFile;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Executor;
@@ -47,6 +52,7 @@
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.testtools.TestUtils;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -428,6 +434,187 @@ public void testIO335() throws Exception { // test CR behaviour
         assertEquals("line 4", "CRCR\r", lines.get(3));
     }
 
+    @Test
+    public void testBatchListener() throws Exception {
+        final File file = new File(getTestDirectory(), "tailer-batch.txt");
+        createFile(file, 0);
+        // CR handling as in testIO335, a line spanning reads and a multi-byte character
+        final String content = "CRLF\r\nLF\nCR\rCRCR\r\rlong line \u00e9\u00e9\u00e9\ntrail";
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            out.write(content);
+        }
+        final String[] expected = { "CRLF", "LF", "CR", "CRCR\r", "long line \u00e9\u00e9\u00e9" };
+        for (final int bufSize : new int[] { 1, 2, 3, 7, 4096 }) {
+            final TestTailerBatchListener listener = new TestTailerBatchListener();
+            tailer = new Tailer(file, StandardCharsets.UTF_8, listener, 50, false, false, bufSize);
+            final Thread thread = new Thread(tailer);
+            thread.start();
+            TestUtils.sleep(500);
+            tailer.stop();
+            thread.join();
+            assertNull("Unexpected exception", listener.exception);
+            assertEquals("bufSize " + bufSize, Arrays.asList(expected), listener.getLines());
+            assertEquals("bufSize " + bufSize, Arrays.asList(expected), listener.bytes);
+            if (bufSize == 4096) {
+                assertEquals("one read, one batch", 1, listener.batches);
+            }
+        }
+    }
+
+    @Test
+    public void testWatch() throws Exception {
+        final File file = new File(getTestDirectory(), "tailer-watch.txt");
+        // a long safety net delay, the lines must be seen because of the WatchService
+        final long delayMillis = 60000;
+        final TestTailerListener listener = new TestTailerListener();
+        tailer = new Tailer(file, StandardCharsets.UTF_8, listener, delayMillis, false, false, 4096, true);
+        assertTrue(tailer.isWatch());
+        final Thread thread = new Thread(tailer);
+        thread.setDaemon(true);
+        thread.start();
+        TestUtils.sleep(100);
+
+        // created after the tailer started
+        write(file, "line1", "line2");
+        awaitLines(listener, 2);
+        write(file, "line3");
+        awaitLines(listener, 3);
+        assertEquals(Arrays.asList("line1", "line2", "line3"), listener.getLines());
+        assertTrue("fileNotFound should be called", listener.notFound > 0);
+        assertNull("Should not generate Exception", listener.exception);
+    }
+
+    @Test
+    public void testWatchFallsBackToPolling() throws Exception {
+        // the directory does not exist, so it cannot be watched
+        final File file = new File(new File(getTestDirectory(), "later"), "tailer-watch.txt");
+        final TestTailerListener listener = new TestTailerListener();
+        tailer = Tailer.create(file, StandardCharsets.UTF_8, listener, 50, false, false, 4096, true);
+        TestUtils.sleep(100);
+        assertTrue(file.getParentFile().mkdir());
+        write(file, "line1");
+        awaitLines(listener, 1);
+        assertEquals("line1", listener.getLines().get(0));
+    }
+
+    @Test
+    public void testRotationByRenameDrainsOldFile() throws Exception {
+        final File file = new File(getTestDirectory(), "tailer-rename.txt");
+        write(file, "old1", "old2");
+        Assume.assumeNotNull(Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey());
+        final TestTailerListener listener = new TestTailerListener();
+        tailer = Tailer.create(file, listener, 50, false, false, 4096);
+        awaitLines(listener, 2);
+
+        // rename, still written by its writer, and re-create longer so the length does not shrink
+        final File renamed = new File(getTestDirectory(), "tailer-rename.txt.1");
+        assertTrue(file.renameTo(renamed));
+        write(renamed, "old3");
+        write(file, "new1-is-longer", "new2");
+        awaitLines(listener, 5);
+        assertEquals(Arrays.asList("old1", "old2", "old3", "new1-is-longer", "new2"), listener.getLines());
+        assertEquals("fileRotated should be called", 1, listener.rotated);
+        assertNull("Should not generate Exception", listener.exception);
+    }
+
+    @Test
+    public void testCheckpointResume() throws Exception {
+        final File file = new File(getTestDirectory(), "tailer-checkpoint.txt");
+        final TailerCheckpointStore store =
+                new FileTailerCheckpointStore(new File(getTestDirectory(), "checkpoints.properties"));
+        write(file, "line1", "line2");
+        TestTailerListener listener = new TestTailerListener();
+        tailer = Tailer.create(file, StandardCharsets.UTF_8, listener, 50, false, false, 4096, false, store);
+        awaitLines(listener, 2);
+        tailer.stop();
+        TestUtils.sleep(200);
+
+        // lines written while stopped are seen, the earlier ones are not read again, even from the end
+        write(file, "line3");
+        listener = new TestTailerListener();
+        tailer = Tailer.create(file, StandardCharsets.UTF_8, listener, 50, true, false, 4096, false,
+                new FileTailerCheckpointStore(new File(getTestDirectory(), "checkpoints.properties")));
+        awaitLines(listener, 1);
+        TestUtils.sleep(200);
+        assertEquals(Arrays.asList("line3"), listener.getLines());
+        assertNull("Should not generate Exception", listener.exception);
+    }
+
+    @Test
+    public void testCheckpointWrittenWhenIdle() throws Exception {
+        final File file = new File(getTestDirectory(), "tailer-checkpoint.txt");
+        final File storeFile = new File(getTestDirectory(), "checkpoints.properties");
+        write(file, "line1");
+        final TestTailerListener listener = new TestTailerListener();
+        tailer = Tailer.create(file, StandardCharsets.UTF_8, listener, 50, false, false, 4096, false,
+                new FileTailerCheckpointStore(storeFile, 300));
+        awaitLines(listener, 1);
+        // saved inside the interval of the first write
+        write(file, "line2");
+        awaitLines(listener, 2);
+        // the tailer stays idle past the interval and is not stopped
+        TestUtils.sleep(600);
+        assertEquals(file.length(), new FileTailerCheckpointStore(storeFile).load(file).getPosition());
+    }
+
+    @Test
+    public void testCheckpointOfRotatedFile() throws Exception {
+        final File file = new File(getTestDirectory(), "tailer-checkpoint.txt");
+        final TailerCheckpointStore store =
+                new FileTailerCheckpointStore(new File(getTestDirectory(), "checkpoints.properties"));
+        write(file, "line1", "line2");
+        Assume.assumeNotNull(Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey());
+        TestTailerListener listener = new TestTailerListener();
+        tailer = Tailer.create(file, StandardCharsets.UTF_8, listener, 50, false, false, 4096, false, store);
+        awaitLines(listener, 2);
+        tailer.stop();
+        TestUtils.sleep(200);
+
+        // replaced by a longer file while stopped, which is read from its beginning
+        final File rotated = new File(getTestDirectory(), "tailer-checkpoint.txt.1");
+        write(rotated, "new1", "new2", "new3");
+        Files.move(rotated.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        listener = new TestTailerListener();
+        tailer = Tailer.create(file, StandardCharsets.UTF_8, listener, 50, false, false, 4096, false, store);
+        awaitLines(listener, 3);
+        assertEquals(Arrays.asList("new1", "new2", "new3"), listener.getLines());
+    }
+
+    private void awaitLines(final TestTailerListener listener, final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (listener.getLines().size() < count) {
+            assertTrue("Timed out waiting for " + count + " lines: " + listener.getLines(),
+                    System.currentTimeMillis() < deadline);
+            TestUtils.sleep(10);
+        }
+    }
+
+    /**
+     * Test {@link TailerBatchListener} implementation.
+     */
+    private static class TestTailerBatchListener extends TestTailerListener implements TailerBatchListener {
+
+        final List<String> bytes = new ArrayList<>();
+
+        volatile int batches = 0;
+
+        @Override
+        public void handle(final String line) {
+            fail("Lines should be passed in batches");
+        }
+
+        @Override
+        public void handle(final TailerLineBatch batch) {
+            batches++;
+            for (int i = 0; i < batch.size(); i++) {
+                final ByteBuffer buffer = batch.bytes(i);
+                assertTrue(buffer.isReadOnly());
+                bytes.add(StandardCharsets.UTF_8.decode(buffer).toString());
+                getLines().add(batch.chars(i).toString());
+            }
+        }
+    }
+
     /**
      * Test {@link TailerListener} implementation.
      */
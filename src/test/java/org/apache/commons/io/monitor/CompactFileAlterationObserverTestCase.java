@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.junit.Test;
+
+/**
+ * {@link CompactFileAlterationObserver} Test Case, running the {@link FileAlterationObserver} tests on a
+ * {@link FileTreeSnapshot}.
+ */
+public class CompactFileAlterationObserverTestCase extends FileAlterationObserverTestCase {
+
+    @Override
+    protected void createObserver(final File file, final FileFilter fileFilter) {
+        observer = new CompactFileAlterationObserver(file, fileFilter);
+        observer.addListener(listener);
+        observer.addListener(new FileAlterationListenerAdaptor());
+        try {
+            observer.initialize();
+        } catch (final Exception e) {
+            fail("Observer init() threw " + e);
+        }
+    }
+
+    /**
+     * Test the layout of the snapshot.
+     * @throws Exception
+     */
+    @Test
+    public void testSnapshot() throws Exception {
+        final File testDirA = new File(testDir, "test-dir-A");
+        testDirA.mkdir();
+        touch(new File(testDirA, "A-file2.java"));
+        touch(new File(testDirA, "A-file1.java"));
+        touch(new File(testDir, "file.java"));
+        createObserver(testDir, null);
+
+        final FileTreeSnapshot snapshot = ((CompactFileAlterationObserver) observer).getSnapshot();
+        assertEquals(5, snapshot.size());
+        assertEquals(2, snapshot.getChildCount(0));
+        final int file = snapshot.getChild(0, 0);
+        assertEquals("file.java", snapshot.getName(file));
+        assertFalse(snapshot.isDirectory(file));
+        assertTrue(snapshot.isExists(file));
+        assertEquals(new File(testDir, "file.java").length(), snapshot.getLength(file));
+        final int dir = snapshot.getChild(0, 1);
+        assertEquals("test-dir-A", snapshot.getName(dir));
+        assertTrue(snapshot.isDirectory(dir));
+        assertEquals(2, snapshot.getChildCount(dir));
+        assertEquals("A-file1.java", snapshot.getName(snapshot.getChild(dir, 0)));
+        assertEquals("A-file2.java", snapshot.getName(snapshot.getChild(dir, 1)));
+        assertEquals(0, snapshot.getChildCount(snapshot.getChild(dir, 0)));
+    }
+
+    /**
+     * Test a snapshot written and read back.
+     * @throws Exception
+     */
+    @Test
+    public void testWriteRead() throws Exception {
+        touch(new File(new File(testDir, "test-dir-A"), "A-file1.java"));
+        touch(new File(testDir, "file.java"));
+        createObserver(testDir, null);
+        final FileTreeSnapshot snapshot = observer.getSnapshot();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.write(out);
+        final FileTreeSnapshot read = FileTreeSnapshot.read(out.toInputStream());
+        assertEquals(snapshot.size(), read.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(snapshot.getName(i), read.getName(i));
+            assertEquals(snapshot.getLastModified(i), read.getLastModified(i));
+            assertEquals(snapshot.getLength(i), read.getLength(i));
+            assertEquals(snapshot.isDirectory(i), read.isDirectory(i));
+            assertEquals(snapshot.isExists(i), read.isExists(i));
+            assertEquals(snapshot.getChildCount(i), read.getChildCount(i));
+            if (snapshot.getChildCount(i) > 0) {
+                assertEquals(snapshot.getChild(i, 0), read.getChild(i, 0));
+            }
+        }
+
+        // the same snapshot from the FileEntry tree
+        final FileAlterationObserver entries = new FileAlterationObserver(testDir);
+        entries.initialize();
+        final ByteArrayOutputStream entriesOut = new ByteArrayOutputStream();
+        entries.getSnapshot().write(entriesOut);
+        assertArrayEquals(out.toByteArray(), entriesOut.toByteArray());
+    }
+
+    /**
+     * Test reading something else than a snapshot.
+     */
+    @Test
+    public void testReadInvalid() throws Exception {
+        assertReadFails(new byte[] {'n', 'o', 'p', 'e', 0, 0, 0, 1});
+
+        // a truncated snapshot claiming the largest size
+        createObserver(testDir, null);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        observer.getSnapshot().write(out);
+        final byte[] truncated = Arrays.copyOf(out.toByteArray(), 16);
+        truncated[4] = 0x7F;
+        truncated[5] = (byte) 0xFF;
+        truncated[6] = (byte) 0xFF;
+        truncated[7] = (byte) 0xFF;
+        assertReadFails(truncated);
+    }
+
+    private static void assertReadFails(final byte[] bytes) {
+        try {
+            FileTreeSnapshot.read(new ByteArrayInputStream(bytes));
+            fail("Expected IOException");
+        } catch (final IOException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Test that the events are fired in the same order as by the {@link FileEntry} tree.
+     * @throws Exception
+     */
+    @Test
+    public void testSameOrderAsFileEntries() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            final File dir = new File(testDir, "dir-" + i);
+            for (int j = 0; j < 4; j++) {
+                touch(new File(new File(dir, "sub-" + j), "file-" + j + ".java"));
+            }
+        }
+        final FileAlterationObserver entries = new FileAlterationObserver(testDir);
+        final List<String> entryEvents = record(entries);
+        final FileAlterationObserver compact = new CompactFileAlterationObserver(testDir);
+        final List<String> compactEvents = record(compact);
+        entries.initialize();
+        compact.initialize();
+
+        for (int i = 0; i < 4; i += 2) {
+            final File dir = new File(testDir, "dir-" + i);
+            FileUtils.deleteDirectory(new File(dir, "sub-1"));
+            touch(new File(new File(dir, "sub-2"), "file-2.java"));
+            touch(new File(new File(new File(dir, "sub-new"), "nested"), "new.java"));
+        }
+        entries.checkAndNotify();
+        compact.checkAndNotify();
+        assertTrue(entryEvents.size() > 10);
+        assertEquals(entryEvents, compactEvents);
+    }
+
+    private static List<String> record(final FileAlterationObserver observer) {
+        final List<String> events = new ArrayList<>();
+        observer.addListener(new FileAlterationListenerAdaptor() {
+            @Override
+            public void onDirectoryCreate(final File directory) {
+                events.add("dir create " + directory);
+            }
+
+            @Override
+            public void onDirectoryChange(final File directory) {
+                events.add("dir change " + directory);
+            }
+
+            @Override
+            public void onDirectoryDelete(final File directory) {
+                events.add("dir delete " + directory);
+            }
+
+            @Override
+            public void onFileCreate(final File file) {
+                events.add("file create " + file);
+            }
+
+            @Override
+            public void onFileChange(final File file) {
+                events.add("file change " + file);
+            }
+
+            @Override
+            public void onFileDelete(final File file) {
+                events.add("file delete " + file);
+            }
+        });
+        return events;
+    }
+}
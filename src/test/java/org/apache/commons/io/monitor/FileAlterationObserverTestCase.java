@@ -27,6 +27,7 @@
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.CanReadFileFilter;
 import org.apache.commons.io.filefilter.FileFilterUtils;
+import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.junit.Test;
 
 /**
@@ -375,6 +376,45 @@ public void testObserveSingleFile() throws Exception {
         assertFalse("E deleted", listener.getDeletedFiles().contains(testDirAFile3));
     }
 
+    /**
+     * Test restoring a saved snapshot reports the changes made meanwhile.
+     * @throws Exception
+     */
+    @Test
+    public void testRestore() throws Exception {
+        final File testDirA = new File(testDir, "test-dir-A");
+        testDirA.mkdir();
+        final File testDirAFile1 = touch(new File(testDirA, "A-file1.java"));
+        File testDirAFile2 = touch(new File(testDirA, "A-file2.java"));
+        checkAndNotify();
+        checkCollectionSizes("A", 1, 0, 0, 2, 0, 0);
+        final ByteArrayOutputStream saved = new ByteArrayOutputStream();
+        observer.getSnapshot().write(saved);
+        observer.destroy();
+
+        // while not observed
+        FileUtils.deleteQuietly(testDirAFile1);
+        testDirAFile2 = touch(testDirAFile2);
+        final File testDirAFile3 = touch(new File(testDirA, "A-file3.java"));
+        final File testDirB = new File(testDir, "test-dir-B");
+        testDirB.mkdir();
+
+        observer.restore(FileTreeSnapshot.read(saved.toInputStream()));
+        observer.initialize();
+        checkAndNotify();
+        assertEquals("B created dirs", 1, listener.getCreatedDirectories().size());
+        assertTrue("B testDirB", listener.getCreatedDirectories().contains(testDirB));
+        assertEquals("B created", 1, listener.getCreatedFiles().size());
+        assertTrue("B testDirAFile3", listener.getCreatedFiles().contains(testDirAFile3));
+        assertEquals("B changed", 1, listener.getChangedFiles().size());
+        assertTrue("B testDirAFile2", listener.getChangedFiles().contains(testDirAFile2));
+        assertEquals("B deleted", 1, listener.getDeletedFiles().size());
+        assertTrue("B testDirAFile1", listener.getDeletedFiles().contains(testDirAFile1));
+
+        checkAndNotify();
+        checkCollectionsEmpty("C");
+    }
+
     /**
      * Call {@link FileAlterationObserver#checkAndNotify()}.
      *
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * {@link FileAlterationObserver} Test Case, checking the directories in a {@link ForkJoinPool}.
+ */
+public class ParallelFileAlterationObserverTestCase extends FileAlterationObserverTestCase {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Override
+    protected void createObserver(final File file, final FileFilter fileFilter) {
+        observer = new FileAlterationObserver(file, fileFilter);
+        observer.setForkJoinPool(pool);
+        observer.addListener(listener);
+        observer.addListener(new FileAlterationListenerAdaptor());
+        try {
+            observer.initialize();
+        } catch (final Exception e) {
+            fail("Observer init() threw " + e);
+        }
+    }
+
+    /**
+     * Test that the events are fired in the same order as when checking on one thread.
+     * @throws Exception
+     */
+    @Test
+    public void testSameOrderAsSequential() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            final File dir = new File(testDir, "dir-" + i);
+            for (int j = 0; j < 8; j++) {
+                touch(new File(new File(dir, "sub-" + j), "file-" + j + ".java"));
+            }
+        }
+        final FileAlterationObserver sequential = new FileAlterationObserver(testDir);
+        final List<String> sequentialEvents = record(sequential);
+        final FileAlterationObserver parallel = new FileAlterationObserver(testDir);
+        parallel.setForkJoinPool(pool);
+        final List<String> parallelEvents = record(parallel);
+        sequential.initialize();
+        parallel.initialize();
+
+        for (int i = 0; i < 8; i += 2) {
+            final File dir = new File(testDir, "dir-" + i);
+            FileUtils.deleteDirectory(new File(dir, "sub-1"));
+            touch(new File(new File(dir, "sub-2"), "file-2.java"));
+            touch(new File(new File(dir, "sub-new"), "new.java"));
+        }
+        sequential.checkAndNotify();
+        parallel.checkAndNotify();
+        assertTrue(sequentialEvents.size() > 20);
+        assertEquals(sequentialEvents, parallelEvents);
+    }
+
+    /**
+     * Test that a directory replaced by a file, which gets no task of its own, reports the deleted children.
+     * @throws Exception
+     */
+    @Test
+    public void testDirectoryReplacedByFile() throws Exception {
+        final File dir = new File(testDir, "replaced");
+        touch(new File(dir, "a.java"));
+        touch(new File(dir, "b.java"));
+        final FileAlterationObserver sequential = new FileAlterationObserver(testDir);
+        final List<String> sequentialEvents = record(sequential);
+        final FileAlterationObserver parallel = new FileAlterationObserver(testDir);
+        parallel.setForkJoinPool(pool);
+        final List<String> parallelEvents = record(parallel);
+        sequential.initialize();
+        parallel.initialize();
+
+        FileUtils.deleteDirectory(dir);
+        touch(dir);
+        sequential.checkAndNotify();
+        parallel.checkAndNotify();
+        assertTrue(sequentialEvents.contains("file delete " + new File(dir, "a.java")));
+        assertEquals(sequentialEvents, parallelEvents);
+    }
+
+    private static List<String> record(final FileAlterationObserver observer) {
+        final List<String> events = new ArrayList<>();
+        observer.addListener(new FileAlterationListenerAdaptor() {
+            @Override
+            public void onDirectoryCreate(final File directory) {
+                events.add("dir create " + directory);
+            }
+
+            @Override
+            public void onDirectoryChange(final File directory) {
+                events.add("dir change " + directory);
+            }
+
+            @Override
+            public void onDirectoryDelete(final File directory) {
+                events.add("dir delete " + directory);
+            }
+
+            @Override
+            public void onFileCreate(final File file) {
+                events.add("file create " + file);
+            }
+
+            @Override
+            public void onFileChange(final File file) {
+                events.add("file change " + file);
+            }
+
+            @Override
+            public void onFileDelete(final File file) {
+                events.add("file delete " + file);
+            }
+        });
+        return events;
+    }
+}
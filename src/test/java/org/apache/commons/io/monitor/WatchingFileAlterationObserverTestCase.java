@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.monitor;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileFilter;
+
+import org.apache.commons.io.testtools.TestUtils;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link WatchingFileAlterationObserver} Test Case, running the {@link FileAlterationObserver} tests with events
+ * from a WatchService.
+ */
+public class WatchingFileAlterationObserverTestCase extends FileAlterationObserverTestCase {
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        // other platforms have a polling WatchService, too slow for these tests
+        Assume.assumeTrue(System.getProperty("os.name").startsWith("Linux"));
+        super.setUp();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (observer != null) {
+            observer.destroy();
+        }
+    }
+
+    @Override
+    protected void createObserver(final File file, final FileFilter fileFilter) {
+        if (observer != null) {
+            try {
+                observer.destroy();
+            } catch (final Exception e) {
+                fail("Observer destroy() threw " + e);
+            }
+        }
+        observer = new WatchingFileAlterationObserver(file, fileFilter);
+        observer.addListener(listener);
+        observer.addListener(new FileAlterationListenerAdaptor());
+        try {
+            observer.initialize();
+        } catch (final Exception e) {
+            fail("Observer init() threw " + e);
+        }
+    }
+
+    @Override
+    protected void checkAndNotify() throws Exception {
+        // let the WatchService deliver the events
+        TestUtils.sleep(pauseTime * 2);
+        super.checkAndNotify();
+    }
+
+    /**
+     * Test that directories created below a new directory are watched.
+     * @throws Exception
+     */
+    @Test
+    public void testNestedDirectoryCreate() throws Exception {
+        checkAndNotify();
+        checkCollectionsEmpty("A");
+        final File testDirZ = new File(testDir, "x/y/z");
+        assertTrue(testDirZ.mkdirs());
+        File testDirZFile1 = touch(new File(testDirZ, "Z-file1.java"));
+        checkAndNotify();
+        checkCollectionSizes("B", 3, 0, 0, 1, 0, 0);
+        assertTrue("B testDirZFile1", listener.getCreatedFiles().contains(testDirZFile1));
+
+        checkAndNotify();
+        checkCollectionsEmpty("C");
+
+        testDirZFile1 = touch(testDirZFile1);
+        final File testDirZFile2 = touch(new File(testDirZ, "Z-file2.java"));
+        checkAndNotify();
+        checkCollectionSizes("D", 0, 0, 0, 1, 1, 0);
+        assertTrue("D testDirZFile1", listener.getChangedFiles().contains(testDirZFile1));
+        assertTrue("D testDirZFile2", listener.getCreatedFiles().contains(testDirZFile2));
+    }
+}
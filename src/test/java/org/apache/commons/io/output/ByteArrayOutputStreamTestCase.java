@@ -18,20 +18,57 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
 import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
 
 /**
- * Basic unit tests for the alternative ByteArrayOutputStream implementation.
+ * Basic unit tests for the alternative ByteArrayOutputStream implementations.
  */
+@RunWith(value=Parameterized.class)
 public class ByteArrayOutputStreamTestCase {
 
+    @Parameters(name = "{0}")
+    public static Iterable<Object[]> data() {
+        return Arrays.asList(new Object[][] { { "ByteArrayOutputStream" }, { "UnsynchronizedByteArrayOutputStream" } });
+    }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final boolean unsynchronized;
+
+    public ByteArrayOutputStreamTestCase(final String name) {
+        this.unsynchronized = name.startsWith("Unsynchronized");
+    }
+
+    private AbstractByteArrayOutputStream newStream() {
+        return unsynchronized ? new UnsynchronizedByteArrayOutputStream() : new ByteArrayOutputStream();
+    }
+
+    private AbstractByteArrayOutputStream newStream(final int size) {
+        return unsynchronized ? new UnsynchronizedByteArrayOutputStream(size) : new ByteArrayOutputStream(size);
+    }
+
     private static final byte[] DATA;
 
     static {
@@ -41,7 +78,7 @@ public class ByteArrayOutputStreamTestCase {
         }
     }
 
-    private int writeData(final ByteArrayOutputStream baout,
+    private int writeData(final AbstractByteArrayOutputStream baout,
                 final java.io.ByteArrayOutputStream ref,
                 final int count) {
         if (count > DATA.length) {
@@ -58,7 +95,7 @@ private int writeData(final ByteArrayOutputStream baout,
         }
     }
 
-    private int writeData(final ByteArrayOutputStream baout,
+    private int writeData(final AbstractByteArrayOutputStream baout,
                 final java.io.ByteArrayOutputStream ref,
                 final int[] instructions) {
         int written = 0;
@@ -87,7 +124,7 @@ private void checkByteArrays(final byte[] expected, final byte[] actual) {
     }
 
     private void checkStreams(
-            final ByteArrayOutputStream actual,
+            final AbstractByteArrayOutputStream actual,
             final java.io.ByteArrayOutputStream expected) {
         assertEquals("Sizes are not equal", expected.size(), actual.size());
         final byte[] buf = actual.toByteArray();
@@ -97,7 +134,7 @@ private void checkStreams(
 
     @Test
     public void testToInputStream() throws IOException {
-        final ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        final AbstractByteArrayOutputStream baout = newStream();
         final java.io.ByteArrayOutputStream ref = new java.io.ByteArrayOutputStream();
 
         //Write 8224 bytes
@@ -130,7 +167,7 @@ public void testToInputStream() throws IOException {
     @Test
     public void testToInputStreamWithReset() throws IOException {
         //Make sure reset() do not destroy InputStream returned from toInputStream()
-        final ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        final AbstractByteArrayOutputStream baout = newStream();
         final java.io.ByteArrayOutputStream ref = new java.io.ByteArrayOutputStream();
 
         //Write 8224 bytes
@@ -168,7 +205,7 @@ public void testStream() throws Exception {
 
         //The ByteArrayOutputStream is initialized with 32 bytes to match
         //the original more closely for this test.
-        final ByteArrayOutputStream baout = new ByteArrayOutputStream(32);
+        final AbstractByteArrayOutputStream baout = newStream(32);
         final java.io.ByteArrayOutputStream ref = new java.io.ByteArrayOutputStream();
 
         //First three writes
@@ -198,7 +235,7 @@ public void testStream() throws Exception {
 
         //Write the commons Byte[]OutputStream to a java.io.Byte[]OutputStream
         //and vice-versa to test the writeTo() method.
-        final ByteArrayOutputStream baout1 = new ByteArrayOutputStream(32);
+        final AbstractByteArrayOutputStream baout1 = newStream(32);
         ref.writeTo(baout1);
         final java.io.ByteArrayOutputStream ref1 = new java.io.ByteArrayOutputStream();
         baout.writeTo(ref1);
@@ -211,13 +248,124 @@ public void testStream() throws Exception {
 
         //Make sure that empty ByteArrayOutputStreams really don't create garbage
         //on toByteArray()
-        final ByteArrayOutputStream baos1 = new ByteArrayOutputStream();
-        final ByteArrayOutputStream baos2 = new ByteArrayOutputStream();
+        final AbstractByteArrayOutputStream baos1 = newStream();
+        final AbstractByteArrayOutputStream baos2 = newStream();
         assertSame(baos1.toByteArray(), baos2.toByteArray());
         baos1.close();
         baos2.close();
         baout.close();
         baout1.close();
     }
-}
 
+    @Test
+    public void testToBufferedInputStream() throws IOException {
+        final byte[] data = new byte[5000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        final InputStream in = unsynchronized
+                ? UnsynchronizedByteArrayOutputStream.toBufferedInputStream(new ByteArrayInputStream(data), 16)
+                : ByteArrayOutputStream.toBufferedInputStream(new ByteArrayInputStream(data), 16);
+        checkByteArrays(data, IOUtils.toByteArray(in));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWriteOutOfBounds() {
+        newStream().write(DATA, 60, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeInitialSize() {
+        newStream(-1);
+    }
+
+    @Test
+    public void testWriteToGatheringByteChannel() throws IOException {
+        final AbstractByteArrayOutputStream baout = newStream(32);
+        final java.io.ByteArrayOutputStream ref = new java.io.ByteArrayOutputStream();
+        writeData(baout, ref, new int[] { 4, 10, 22, 64, 64 });
+
+        final Path file = temporaryFolder.newFile().toPath();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            assertEquals(164, baout.writeTo(channel));
+        }
+        checkByteArrays(ref.toByteArray(), Files.readAllBytes(file));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            assertEquals(0, newStream().writeTo(channel));
+        }
+        assertEquals(0, Files.size(file));
+    }
+
+    @Test
+    public void testWriteToFullNonBlockingChannel() throws IOException {
+        final AbstractByteArrayOutputStream baout = newStream(32);
+        final java.io.ByteArrayOutputStream ref = new java.io.ByteArrayOutputStream();
+        writeData(baout, ref, new int[] { 4, 10, 22, 64, 64 });
+        final java.io.ByteArrayOutputStream sink = new java.io.ByteArrayOutputStream();
+        final int[] calls = new int[1];
+        // accepts 50 bytes, then nothing, like a non-blocking channel with a full send buffer
+        final GatheringByteChannel channel = new GatheringByteChannel() {
+            @Override
+            public long write(final ByteBuffer[] srcs, final int offset, final int length) {
+                calls[0]++;
+                long written = 0;
+                for (int i = offset; i < offset + length; i++) {
+                    while (srcs[i].hasRemaining() && sink.size() < 50) {
+                        sink.write(srcs[i].get());
+                        written++;
+                    }
+                }
+                return written;
+            }
+
+            @Override
+            public long write(final ByteBuffer[] srcs) {
+                return write(srcs, 0, srcs.length);
+            }
+
+            @Override
+            public int write(final ByteBuffer src) {
+                return (int) write(new ByteBuffer[] { src });
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+                // nop
+            }
+        };
+        assertEquals(50, baout.writeTo(channel));
+        assertEquals(2, calls[0]);
+        checkByteArrays(Arrays.copyOf(ref.toByteArray(), 50), sink.toByteArray());
+    }
+
+    @Test
+    public void testToByteBuffers() throws IOException {
+        final AbstractByteArrayOutputStream baout = newStream(32);
+        final java.io.ByteArrayOutputStream ref = new java.io.ByteArrayOutputStream();
+        assertEquals(0, baout.toByteBuffers().length);
+        writeData(baout, ref, new int[] { 4, 10, 22, 64 });
+
+        final ByteBuffer[] buffers = baout.toByteBuffers();
+        assertEquals(3, buffers.length);
+        final java.io.ByteArrayOutputStream copy = new java.io.ByteArrayOutputStream();
+        for (final ByteBuffer buffer : buffers) {
+            assertTrue(buffer.isReadOnly());
+            Channels.newChannel(copy).write(buffer);
+        }
+        checkByteArrays(ref.toByteArray(), copy.toByteArray());
+
+        //The views must not see data written after a reset
+        baout.reset();
+        writeData(baout, new java.io.ByteArrayOutputStream(), new int[] { 64, 64 });
+        buffers[0].rewind();
+        assertEquals(0, buffers[0].get());
+        assertEquals(1, buffers[0].get());
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.io.output;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+/**
+ * Tests {@link DirectByteBufferOutputStream} and {@link DirectByteBufferPool}.
+ */
+public class DirectByteBufferOutputStreamTest {
+
+    private static final byte[] DATA = new byte[100];
+
+    static {
+        for (int i = 0; i < DATA.length; i++) {
+            DATA[i] = (byte) i;
+        }
+    }
+
+    /**
+     * A channel that accepts at most a few bytes per call and counts its calls.
+     * Like a full non-blocking channel, it accepts nothing once it holds
+     * {@code capacity} bytes.
+     */
+    private static final class TrickleChannel implements GatheringByteChannel {
+
+        final java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+        int calls;
+        int capacity = Integer.MAX_VALUE;
+
+        @Override
+        public long write(final ByteBuffer[] srcs, final int offset, final int length) {
+            calls++;
+            int budget = Math.min(25, capacity - out.size());
+            long written = 0;
+            for (int i = offset; i < offset + length && budget > 0; i++) {
+                while (srcs[i].hasRemaining() && budget > 0) {
+                    out.write(srcs[i].get());
+                    budget--;
+                    written++;
+                }
+            }
+            return written;
+        }
+
+        @Override
+        public long write(final ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(final ByteBuffer src) {
+            return (int) write(new ByteBuffer[] { src });
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // nop
+        }
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final DirectByteBufferPool pool = new DirectByteBufferPool(16, 8);
+        try (final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream(pool)) {
+            assertEquals(0, out.size());
+            assertEquals(0, out.toByteArray().length);
+            assertEquals(0, pool.getMisses());
+
+            out.write(DATA[0]);
+            out.write(DATA, 1, 49);
+            assertEquals(25, out.write(ByteBuffer.wrap(DATA, 50, 25)));
+            assertEquals(25, out.write(new ByteArrayInputStream(DATA, 75, 25)));
+            assertEquals(100, out.size());
+            assertEquals(7, pool.getMisses());
+
+            assertArrayEquals(DATA, out.toByteArray());
+            final java.io.ByteArrayOutputStream ref = new java.io.ByteArrayOutputStream();
+            out.writeTo(ref);
+            assertArrayEquals(DATA, ref.toByteArray());
+            assertArrayEquals(DATA, IOUtils.toByteArray(out.toInputStream()));
+        }
+    }
+
+    @Test
+    public void testWriteToGatheringChannel() throws IOException {
+        try (final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream(new DirectByteBufferPool(16, 8))) {
+            out.write(DATA);
+            final TrickleChannel channel = new TrickleChannel();
+            assertEquals(100, out.writeTo(channel));
+            assertArrayEquals(DATA, channel.out.toByteArray());
+            assertEquals(4, channel.calls);
+            // the contents are not consumed
+            assertEquals(100, out.size());
+            assertArrayEquals(DATA, out.toByteArray());
+        }
+    }
+
+    @Test
+    public void testWriteToFullNonBlockingChannel() throws IOException {
+        try (final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream(new DirectByteBufferPool(16, 8))) {
+            out.write(DATA);
+            final TrickleChannel channel = new TrickleChannel();
+            channel.capacity = 60;
+            // stops at the first write that accepts nothing, instead of spinning
+            assertEquals(60, out.writeTo(channel));
+            assertEquals(4, channel.calls);
+            assertArrayEquals(Arrays.copyOf(DATA, 60), channel.out.toByteArray());
+        }
+    }
+
+    @Test
+    public void testResetReusesChunks() throws IOException {
+        final DirectByteBufferPool pool = new DirectByteBufferPool(16, 8);
+        final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream(pool);
+        out.write(DATA, 0, 40);
+        out.reset();
+        assertEquals(0, out.size());
+        out.write(DATA, 40, 40);
+        assertEquals(3, pool.getMisses());
+        assertArrayEquals(IOUtils.toByteArray(new ByteArrayInputStream(DATA, 40, 40)), out.toByteArray());
+
+        out.close();
+        assertEquals(3, pool.getPooledCount());
+        assertEquals(0, out.size());
+        try {
+            out.write(1);
+            fail("Expected IOException");
+        } catch (final IOException expected) {
+            // closed
+        }
+
+        // a new stream takes the released chunks
+        final DirectByteBufferOutputStream out2 = new DirectByteBufferOutputStream(pool);
+        out2.write(DATA, 0, 48);
+        assertEquals(3, pool.getHits());
+        assertEquals(3, pool.getMisses());
+        out2.close();
+    }
+
+    @Test
+    public void testToInputStreamSurvivesResetAndClose() throws IOException {
+        final DirectByteBufferPool pool = new DirectByteBufferPool(16, 8);
+        final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream(pool);
+        out.write(DATA, 0, 50);
+        final InputStream in = out.toInputStream();
+        assertEquals(16, in.available());
+        assertEquals(10, in.skip(10));
+
+        // handed out chunks are neither overwritten nor released
+        out.reset();
+        out.write(new byte[50]);
+        out.close();
+        assertEquals(4, pool.getPooledCount());
+        assertEquals(8, pool.getMisses());
+
+        final byte[] expected = new byte[40];
+        System.arraycopy(DATA, 10, expected, 0, 40);
+        assertArrayEquals(expected, IOUtils.toByteArray(in));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testToByteBuffers() throws IOException {
+        final DirectByteBufferPool pool = new DirectByteBufferPool(16, 8);
+        final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream(pool);
+        assertEquals(0, out.toByteBuffers().length);
+        out.write(DATA, 0, 40);
+        final ByteBuffer[] buffers = out.toByteBuffers();
+        assertEquals(3, buffers.length);
+        assertEquals(16, buffers[0].remaining());
+        assertEquals(8, buffers[2].remaining());
+        assertTrue(buffers[1].isReadOnly());
+        assertEquals(16, buffers[1].get());
+
+        // handed out chunks are not released
+        out.close();
+        assertEquals(0, pool.getPooledCount());
+    }
+
+    @Test
+    public void testPool() {
+        final DirectByteBufferPool pool = new DirectByteBufferPool(8, 1);
+        final ByteBuffer chunk = pool.acquire();
+        assertTrue(chunk.isDirect());
+        assertEquals(8, chunk.capacity());
+        chunk.put((byte) 1);
+        pool.release(chunk);
+        // full, dropped
+        pool.release(ByteBuffer.allocateDirect(8));
+        // ignored
+        pool.release(ByteBuffer.allocate(8));
+        pool.release(ByteBuffer.allocateDirect(4));
+        pool.release(null);
+        assertEquals(1, pool.getPooledCount());
+        final ByteBuffer again = pool.acquire();
+        assertSame(chunk, again);
+        assertEquals(0, again.position());
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPoolInvalidChunkSize() {
+        new DirectByteBufferPool(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPoolInvalidCapacity() {
+        new DirectByteBufferPool(1, 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWriteOutOfBounds() throws IOException {
+        try (final DirectByteBufferOutputStream out = new DirectByteBufferOutputStream()) {
+            out.write(DATA, 90, 20);
+        }
+    }
+}